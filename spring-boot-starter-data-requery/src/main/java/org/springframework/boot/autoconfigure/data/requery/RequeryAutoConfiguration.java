@@ -33,6 +33,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.requery.core.RequeryTransactionManager;
 import org.springframework.data.requery.listeners.LogbackListener;
+import org.springframework.data.requery.listeners.StatementHintsListener;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.util.Assert;
@@ -97,6 +98,7 @@ public class RequeryAutoConfiguration {
             .setBatchUpdateSize(properties.getBatchUpdateSize())
             .setEntityCache(new WeakEntityCache())
             .addStatementListener(new LogbackListener<>())
+            .addStatementListener(new StatementHintsListener())
             .setTransactionIsolation(TransactionIsolation.SERIALIZABLE)
             .build();
     }
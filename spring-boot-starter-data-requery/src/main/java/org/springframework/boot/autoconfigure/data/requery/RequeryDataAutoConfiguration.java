@@ -18,18 +18,29 @@ package org.springframework.boot.autoconfigure.data.requery;
 
 import io.requery.sql.EntityDataStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.requery.RequeryProperties.QueryExecutorRejectionPolicy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.requery.core.RequeryOperations;
 import org.springframework.data.requery.core.RequeryTemplate;
 import org.springframework.data.requery.mapping.RequeryMappingContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * org.springframework.boot.autoconfigure.data.requery.RequeryAutoConfiguration
@@ -40,22 +51,74 @@ import javax.sql.DataSource;
 @Configuration
 @ConditionalOnBean({ DataSource.class, EntityDataStore.class })
 @AutoConfigureAfter(RequeryAutoConfiguration.class)
+@EnableConfigurationProperties(RequeryProperties.class)
 public class RequeryDataAutoConfiguration {
 
+    public static final String QUERY_EXECUTOR_BEAN_NAME = "requeryQueryExecutor";
+
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnBean(EntityDataStore.class)
     public RequeryOperations requeryOperations(@Nonnull final EntityDataStore<Object> entityDataStore,
-                                               @Nonnull final RequeryMappingContext mappingContext) {
+                                               @Nonnull final RequeryMappingContext mappingContext,
+                                               @Nonnull final RequeryProperties properties,
+                                               @Qualifier(QUERY_EXECUTOR_BEAN_NAME) final ObjectProvider<Executor> queryExecutor) {
 
         log.info("Create RequeryOperations ...");
         try {
-            return new RequeryTemplate(entityDataStore, mappingContext);
+            RequeryTemplate template = new RequeryTemplate(entityDataStore, mappingContext);
+            template.setInListChunkSize(properties.getInListChunkSize());
+            template.setStreamFetchSize(properties.getStreamFetchSize());
+            if (properties.getInListBindingMode() != null) {
+                template.setInListBindingMode(properties.getInListBindingMode());
+            }
+            if (properties.getBatchUpdateSize() != null) {
+                template.setBatchUpdateSize(properties.getBatchUpdateSize());
+            }
+            if (properties.getQueryTimeout() != null) {
+                template.setQueryTimeout(properties.getQueryTimeout());
+            }
+            if (properties.getMaxRows() != null) {
+                template.setMaxRows(properties.getMaxRows());
+            }
+            template.setQueryExecutor(queryExecutor.getIfAvailable());
+            return template;
         } catch (Exception ex) {
             throw new IllegalStateException(ex);
         }
     }
 
+    /**
+     * CompletableFuture 를 반환하는 repository method 를 수행할 executor. connection pool 크기 이하로 지정해야 합니다.
+     * 작업이 무한정 쌓이지 않도록 queue 크기를 제한하고, queue 가 가득 차면 지정한 rejection policy 를 따릅니다.
+     */
+    @Bean(name = QUERY_EXECUTOR_BEAN_NAME)
+    @ConditionalOnMissingBean(name = QUERY_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "spring.data.requery", name = "query-executor-pool-size")
+    public Executor requeryQueryExecutor(@Nonnull final RequeryProperties properties) {
+        int poolSize = properties.getQueryExecutorPoolSize();
+        Assert.isTrue(poolSize > 0, "spring.data.requery.query-executor-pool-size must be greater than 0.");
+        int queueCapacity = properties.getQueryExecutorQueueCapacity();
+        Assert.isTrue(queueCapacity > 0, "spring.data.requery.query-executor-queue-capacity must be greater than 0.");
+        log.info("Create requery query executor. poolSize={}, queueCapacity={}, rejectionPolicy={}",
+                 poolSize, queueCapacity, properties.getQueryExecutorRejectionPolicy());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(getRejectedExecutionHandler(properties.getQueryExecutorRejectionPolicy()));
+        executor.setThreadNamePrefix("requery-query-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler getRejectedExecutionHandler(@Nullable final QueryExecutorRejectionPolicy policy) {
+        return (policy == QueryExecutorRejectionPolicy.ABORT)
+               ? new ThreadPoolExecutor.AbortPolicy()
+               : new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public RequeryMappingContext mappingContext(@Nonnull final ApplicationContext applicationContext) {
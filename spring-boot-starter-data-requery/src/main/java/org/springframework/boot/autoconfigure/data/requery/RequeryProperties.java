@@ -20,6 +20,7 @@ import io.requery.sql.TableCreationMode;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.data.requery.core.InListBindingMode;
 
 /**
  * Spring Boot AutoConfiguration 사용 시 Requery와 관련된 환경설정 값을 읽어옵니다.
@@ -46,9 +47,63 @@ public class RequeryProperties {
      */
     private Integer statementCacheSize = 0;
 
+    /**
+     * Max number of values in a single IN clause (0 or less means no chunking)
+     */
+    private Integer inListChunkSize = 1000;
+
+    /**
+     * How derived In/NotIn queries bind value lists (EXACT, PADDED, ARRAY)
+     */
+    private InListBindingMode inListBindingMode = InListBindingMode.EXACT;
+
+    /**
+     * JDBC fetch size for stream queries (0 means JDBC driver default)
+     */
+    private Integer streamFetchSize = 1000;
+
+    /**
+     * Query timeout in seconds applied to repository methods (0 means no timeout)
+     */
+    private Integer queryTimeout = 0;
+
+    /**
+     * Max rows fetched by repository methods (0 means no limit)
+     */
+    private Integer maxRows = 0;
+
+    /**
+     * Thread count of the executor running CompletableFuture repository methods and parallel IN-list chunks.
+     * Size it to the connection pool. (not set means no executor, methods run on the caller thread)
+     */
+    private Integer queryExecutorPoolSize;
+
+    /**
+     * Queue capacity of the query executor. Tasks beyond it are handled by queryExecutorRejectionPolicy.
+     */
+    private Integer queryExecutorQueueCapacity = 1000;
+
+    /**
+     * How the query executor handles tasks when its queue is full (CALLER_RUNS, ABORT)
+     */
+    private QueryExecutorRejectionPolicy queryExecutorRejectionPolicy = QueryExecutorRejectionPolicy.CALLER_RUNS;
+
     /**
      * Table creation mode
      */
     private TableCreationMode tableCreationMode; // = TableCreationMode.CREATE_NOT_EXISTS;
 
+    /**
+     * query executor 의 queue 가 가득 찼을 때의 처리 방식
+     */
+    public enum QueryExecutorRejectionPolicy {
+        /**
+         * 호출한 thread 에서 직접 수행합니다. (호출하는 쪽의 속도를 늦춰 부하를 조절합니다)
+         */
+        CALLER_RUNS,
+        /**
+         * {@link java.util.concurrent.RejectedExecutionException} 을 던집니다.
+         */
+        ABORT
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.data.requery;
+
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.data.requery.RequeryProperties.QueryExecutorRejectionPolicy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RequeryDataAutoConfigurationTest
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class RequeryDataAutoConfigurationTest {
+
+    private final RequeryDataAutoConfiguration configuration = new RequeryDataAutoConfiguration();
+
+    @Test
+    public void queryExecutorHasBoundedQueueAndCallerRunsPolicy() {
+        RequeryProperties properties = new RequeryProperties();
+        properties.setQueryExecutorPoolSize(2);
+        properties.setQueryExecutorQueueCapacity(5);
+
+        ThreadPoolExecutor executor = createThreadPoolExecutor(properties);
+        try {
+            assertThat(executor.getMaximumPoolSize()).isEqualTo(2);
+            assertThat(executor.getQueue().remainingCapacity()).isEqualTo(5);
+            assertThat(executor.getRejectedExecutionHandler()).isInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void queryExecutorWithAbortPolicy() {
+        RequeryProperties properties = new RequeryProperties();
+        properties.setQueryExecutorPoolSize(2);
+        properties.setQueryExecutorRejectionPolicy(QueryExecutorRejectionPolicy.ABORT);
+
+        ThreadPoolExecutor executor = createThreadPoolExecutor(properties);
+        try {
+            assertThat(executor.getQueue().remainingCapacity()).isEqualTo(1000);
+            assertThat(executor.getRejectedExecutionHandler()).isInstanceOf(ThreadPoolExecutor.AbortPolicy.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ThreadPoolExecutor createThreadPoolExecutor(RequeryProperties properties) {
+        ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) configuration.requeryQueryExecutor(properties);
+        taskExecutor.initialize();
+        return taskExecutor.getThreadPoolExecutor();
+    }
+}
@@ -0,0 +1,99 @@
+package org.springframework.data.requery.benchmark.simple;
+
+import io.requery.sql.EntityDataStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.requery.benchmark.RequerySetupUtils;
+import org.springframework.data.requery.benchmark.model.FullLog;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.RequeryTemplate;
+import org.springframework.data.requery.mapping.RequeryMappingContext;
+import org.springframework.data.requery.repository.RequeryRepository;
+import org.springframework.data.requery.repository.support.RequeryRepositoryFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.requery.benchmark.model.FullLogHelper.randomFullLogs;
+
+/*
+Benchmark                                                 Mode  Cnt   Score   Error  Units
+RequeryQueryDispatchBenchmark.findBySystemIdMissing       avgt   10     (미측정)       us/op
+RequeryQueryDispatchBenchmark.findFirstBySystemId         avgt   10     (미측정)       us/op
+RequeryQueryDispatchBenchmark.existsBySystemId            avgt   10     (미측정)       us/op
+RequeryQueryDispatchBenchmark.countBySystemId             avgt   10     (미측정)       us/op
+RequeryQueryDispatchBenchmark.findSliceBySystemIdMissing  avgt   10     (미측정)       us/op
+
+측정 결과를 아직 기록하지 않았습니다. 다음 명령으로 측정한 뒤 위 표를 갱신합니다.
+./gradlew -Pbenchmark -PjmhInclude=RequeryQueryDispatchBenchmark :spring-data-requery-benchmark:jmh
+ */
+/**
+ * Derived query method 호출 시의 고정 비용 (query 생성, 실행 전략 결정, 결과 변환) 측정
+ * (조회 대상이 없거나 적은 경우이므로 database 수행 시간보다 dispatch 비용의 비중이 큽니다)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RequeryQueryDispatchBenchmark {
+
+    private static final String MISSING_SYSTEM_ID = "not-exists-system-id";
+
+    private FullLogRepository repository;
+    private String systemId;
+
+    @Setup
+    public void setup() {
+        EntityDataStore<Object> dataStore = RequerySetupUtils.dataStore;
+        RequeryOperations operations = new RequeryTemplate(dataStore, new RequeryMappingContext());
+
+        repository = new RequeryRepositoryFactory(operations).getRepository(FullLogRepository.class);
+
+        List<FullLog> fullLogs = randomFullLogs(10);
+        dataStore.insert(fullLogs);
+        systemId = fullLogs.get(0).getSystemId();
+    }
+
+    @Benchmark
+    public List<FullLog> findBySystemIdMissing() {
+        return repository.findBySystemId(MISSING_SYSTEM_ID);
+    }
+
+    @Benchmark
+    public FullLog findFirstBySystemId() {
+        return repository.findFirstBySystemId(systemId);
+    }
+
+    @Benchmark
+    public boolean existsBySystemId() {
+        return repository.existsBySystemId(systemId);
+    }
+
+    @Benchmark
+    public long countBySystemId() {
+        return repository.countBySystemId(systemId);
+    }
+
+    @Benchmark
+    public Slice<FullLog> findSliceBySystemIdMissing() {
+        return repository.findSliceBySystemId(MISSING_SYSTEM_ID, PageRequest.of(0, 10));
+    }
+
+    public interface FullLogRepository extends RequeryRepository<FullLog, Long> {
+
+        List<FullLog> findBySystemId(String systemId);
+
+        FullLog findFirstBySystemId(String systemId);
+
+        boolean existsBySystemId(String systemId);
+
+        long countBySystemId(String systemId);
+
+        Slice<FullLog> findSliceBySystemId(String systemId, Pageable pageable);
+    }
+}
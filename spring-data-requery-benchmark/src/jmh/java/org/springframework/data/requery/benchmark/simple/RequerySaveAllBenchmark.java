@@ -0,0 +1,71 @@
+package org.springframework.data.requery.benchmark.simple;
+
+import io.requery.sql.EntityDataStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.requery.benchmark.RequerySetupUtils;
+import org.springframework.data.requery.benchmark.model.FullLog;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.RequeryTemplate;
+import org.springframework.data.requery.mapping.RequeryMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.data.requery.benchmark.model.FullLogHelper.randomFullLogs;
+
+/*
+Benchmark                               Mode  Cnt   Score   Error  Units
+RequerySaveAllBenchmark.upsertAll1_000  avgt   10     (미측정)       ms/op
+RequerySaveAllBenchmark.saveAll1_000    avgt   10     (미측정)       ms/op
+
+측정 결과를 아직 기록하지 않았습니다. 다음 명령으로 측정한 뒤 위 표를 갱신합니다.
+./gradlew -Pbenchmark -PjmhInclude=RequerySaveAllBenchmark :spring-data-requery-benchmark:jmh
+ */
+/**
+ * entity 별 upsert 와 isNew 기준으로 나누어 batch 로 저장하는 saveAll 의 비교
+ * (신규 entity 와 기존 entity 가 반씩 섞인 경우)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Threads(Threads.MAX)
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RequerySaveAllBenchmark {
+
+    private EntityDataStore<Object> dataStore;
+    private RequeryOperations operations;
+
+    @Setup
+    public void setup() {
+        dataStore = RequerySetupUtils.dataStore;
+        operations = new RequeryTemplate(dataStore, new RequeryMappingContext());
+    }
+
+    @State(Scope.Thread)
+    public static class FullLog1_000 {
+        private List<FullLog> fullLogs;
+
+        @Setup(Level.Invocation)
+        public void setup(RequerySaveAllBenchmark benchmark) {
+            List<FullLog> insertedFullLogs = randomFullLogs(500);
+            benchmark.dataStore.insert(insertedFullLogs);
+            insertedFullLogs.forEach(fullLog -> fullLog.setLogLevel(fullLog.getLogLevel() + 1));
+
+            fullLogs = new ArrayList<>(insertedFullLogs);
+            fullLogs.addAll(randomFullLogs(500));
+        }
+    }
+
+    @Benchmark
+    public void upsertAll1_000(FullLog1_000 fullLog1_000) {
+        dataStore.upsert(fullLog1_000.fullLogs);
+    }
+
+    @Benchmark
+    public void saveAll1_000(FullLog1_000 fullLog1_000) {
+        operations.saveAll(fullLog1_000.fullLogs, fullLog -> fullLog.getId() == null);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Query method 의 결과 entity 들의 association 을 association 별로 한 번의 IN 질의로 미리 로드합니다.
+ * <pre>
+ * &#64;FetchAssociations({ "manager", "roles" })
+ * List&lt;User&gt; findByLastname(String lastname);
+ * </pre>
+ * 지정하지 않은 association 은 기존처럼 접근 시에 entity 별로 로드됩니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchAssociations {
+
+    /**
+     * 미리 로드할 association 속성명 목록
+     */
+    String[] value() default {};
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.data.requery.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link Query} 에 지정한 질의가 INSERT, UPDATE, DELETE 처럼 데이터를 변경하는 질의임을 나타냅니다.
+ * method 의 반환 수형이 int, long 이면 변경된 row 수를, int[] 이면 문장별 변경된 row 수를 반환합니다.
+ * <p>
+ * 인자가 parameter 값 목록 ({@code Iterable}) 하나뿐이라면 요소마다 질의를 수행하는 대신 하나의 JDBC batch 로 수행합니다.
+ * 요소는 {@code ?} 순서의 값 배열 ({@code Object[]}, {@code List}), named parameter 이름별 값 ({@code Map}),
+ * 또는 parameter 가 하나인 질의의 값입니다. (단 {@code in ?} 처럼 IN 절에 사용하는 인자는 값 목록으로 binding 합니다)
+ * <pre>
+ * &#64;Modifying
+ * &#64;Query("update SD_User u set u.active = ? where u.id = ?")
+ * int[] updateActiveStates(List&lt;Object[]&gt; activeStateAndIds);
+ * </pre>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Modifying {
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Repository method 를 수행할 때 JDBC {@link java.sql.Statement} 에 적용할 설정을 지정합니다.
+ * 0 인 항목은 {@link org.springframework.data.requery.core.RequeryOperations#getStatementHints()} 의 전역 설정을 사용합니다.
+ * <pre>
+ * &#64;QueryHints(timeout = 10, maxRows = 10000, fetchSize = 500)
+ * List&lt;Order&gt; findByCreatedAtBetween(Date from, Date to);
+ * </pre>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryHints {
+
+    /**
+     * 질의 timeout (초)
+     */
+    int timeout() default 0;
+
+    /**
+     * 조회할 최대 row 수
+     */
+    int maxRows() default 0;
+
+    /**
+     * JDBC fetch size
+     */
+    int fetchSize() default 0;
+
+}
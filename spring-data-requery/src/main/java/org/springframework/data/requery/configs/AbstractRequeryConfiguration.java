@@ -31,6 +31,7 @@ import org.springframework.data.requery.core.RequeryOperations;
 import org.springframework.data.requery.core.RequeryTemplate;
 import org.springframework.data.requery.core.RequeryTransactionManager;
 import org.springframework.data.requery.listeners.LogbackListener;
+import org.springframework.data.requery.listeners.StatementHintsListener;
 import org.springframework.data.requery.mapping.RequeryMappingContext;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.Assert;
@@ -80,6 +81,7 @@ public abstract class AbstractRequeryConfiguration {
         return new ConfigurationBuilder(dataSource, entityModel)
             .setEntityCache(new EmptyEntityCache())
             .addStatementListener(new LogbackListener<>())
+            .addStatementListener(new StatementHintsListener())
             .build();
     }
 
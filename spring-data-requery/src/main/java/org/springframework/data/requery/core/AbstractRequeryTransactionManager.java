@@ -31,9 +31,11 @@ abstract class AbstractRequeryTransactionManager implements PlatformTransactionM
         increaseTransactionCount();
         log.trace("GetTransaction... transaction count={}, definition={}", transactionCount.get(), definition);
 
-        if (!definition.isReadOnly() && !entityDataStore.transaction().active()) {
+        // read-only transaction 도 시작해야 Stream, Cursor 조회 동안 같은 Connection 을 유지할 수 있습니다.
+        if (requiresTransaction(definition) && !entityDataStore.transaction().active()) {
             log.debug("Begin Requery transaction. definition={}", definition);
             entityDataStore.transaction().begin();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
         }
         TransactionSynchronizationManager.setCurrentTransactionReadOnly(definition.isReadOnly());
 
@@ -47,16 +49,18 @@ abstract class AbstractRequeryTransactionManager implements PlatformTransactionM
 
     @Override
     public void commit(TransactionStatus status) throws TransactionException {
-        if (entityDataStore.transaction().active()) {
-            decreaseTransactionCount();
-            log.debug("Commit ... transaction count={}, status={}", transactionCount.get(), getTransactionStatusDescription(status));
-            if (transactionCount.get() <= 0) {
+        decreaseTransactionCount();
+        log.debug("Commit ... transaction count={}, status={}", transactionCount.get(), getTransactionStatusDescription(status));
+
+        if (transactionCount.get() <= 0) {
+            removeTransactionCount();
+            if (entityDataStore.transaction().active()) {
                 log.info("Commit Requery transaction. status={}", getTransactionStatusDescription(status));
-                removeTransactionCount();
                 try {
                     entityDataStore.transaction().commit();
                 } finally {
                     entityDataStore.transaction().close();
+                    TransactionSynchronizationManager.setActualTransactionActive(false);
                 }
             }
         }
@@ -72,10 +76,26 @@ abstract class AbstractRequeryTransactionManager implements PlatformTransactionM
                 entityDataStore.transaction().rollback();
             } finally {
                 entityDataStore.transaction().close();
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        } else {
+            decreaseTransactionCount();
+            if (transactionCount.get() <= 0) {
+                removeTransactionCount();
             }
         }
     }
 
+    /**
+     * {@code SUPPORTS}, {@code NOT_SUPPORTED}, {@code NEVER} 가 아니라면 read-only 여부와 관계없이 transaction 을 시작합니다.
+     */
+    private static boolean requiresTransaction(final TransactionDefinition definition) {
+        int propagation = definition.getPropagationBehavior();
+        return propagation != TransactionDefinition.PROPAGATION_SUPPORTS &&
+               propagation != TransactionDefinition.PROPAGATION_NOT_SUPPORTED &&
+               propagation != TransactionDefinition.PROPAGATION_NEVER;
+    }
+
     private String getTransactionStatusDescription(TransactionStatus status) {
         return "isCompleted=" + status.isCompleted()
                + ", isNewTransaction=" + status.isNewTransaction()
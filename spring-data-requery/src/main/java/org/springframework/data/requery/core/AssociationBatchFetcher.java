@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import io.requery.meta.Attribute;
+import io.requery.meta.EntityModel;
+import io.requery.meta.Type;
+import io.requery.proxy.EntityProxy;
+import io.requery.proxy.Initializer;
+import io.requery.proxy.PropertyState;
+import io.requery.query.BaseResult;
+import io.requery.query.NamedExpression;
+import io.requery.query.Tuple;
+import io.requery.util.CloseableIterator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.requery.NotSupportedException;
+import org.springframework.data.requery.utils.AssociationMetadata;
+import org.springframework.data.requery.utils.Iterables;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 조회된 entity 들의 association 을 association 별로 IN 질의 한 번 ({@link RequeryOperations#getInListChunkSize()} 단위) 으로 로드하여
+ * entity 마다 association 을 따로 로드하는 N+1 조회를 막습니다.
+ * <ul>
+ * <li>ManyToOne, OneToOne (FK 보유): FK 값들로 {@code SELECT * FROM target WHERE key IN (...)}</li>
+ * <li>OneToMany, OneToOne (mappedBy): key 값들로 {@code SELECT * FROM target WHERE fk IN (...)}</li>
+ * <li>ManyToMany: junction table 에서 (owner_fk, element_fk) 를 조회한 후, element_fk 값들로 target 을 조회</li>
+ * </ul>
+ * 로드한 값은 {@link PropertyState#LOADED} 상태로 entity 에 설정되므로, 이후 접근 시 추가 질의가 발생하지 않습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class AssociationBatchFetcher {
+
+    private final RequeryOperations operations;
+    private final EntityModel entityModel;
+
+    AssociationBatchFetcher(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+        this.entityModel = operations.getEntityModel();
+    }
+
+    /**
+     * entity 들의 association 을 로드합니다.
+     *
+     * @param entities     association 을 로드할 entity 들 (같은 수형이어야 합니다)
+     * @param associations association 속성명 목록
+     * @return entity 목록
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    <E> List<E> fetch(@Nonnull final Iterable<E> entities, @Nonnull final String... associations) {
+        List<E> list = Iterables.toList(entities);
+        if (list.isEmpty() || associations.length == 0) {
+            return list;
+        }
+
+        Type<E> type = entityModel.typeOf((Class<E>) list.get(0).getClass());
+
+        for (String association : associations) {
+            Attribute<E, ?> attribute = findAssociation(type, association);
+            AssociationMetadata metadata = AssociationMetadata.of(entityModel, type, attribute);
+
+            switch (metadata.getKind()) {
+                case MANY_TO_MANY:
+                    fetchManyToMany(type, list, attribute, metadata);
+                    break;
+                case MAPPED:
+                    fetchMapped(type, list, attribute, metadata);
+                    break;
+                case REFERENCED:
+                default:
+                    fetchReferenced(type, list, attribute, metadata.getTarget());
+                    break;
+            }
+            log.debug("Fetch association in batch. type={}, association={}, size={}", type.getName(), association, list.size());
+        }
+        return list;
+    }
+
+    /**
+     * FK 가 source 에 있는 association (ManyToOne, OneToOne)
+     */
+    @SuppressWarnings("unchecked")
+    private <E> void fetchReferenced(final Type<E> source,
+                                     final List<E> entities,
+                                     final Attribute<E, ?> attribute,
+                                     final Type<?> target) {
+        Map<EntityProxy<E>, Object> foreignKeys = new LinkedHashMap<>();
+        for (E entity : entities) {
+            EntityProxy<E> proxy = source.getProxyProvider().apply(entity);
+            Object reference = proxy.get((Attribute<E, Object>) attribute, false);
+            if (reference != null) {
+                foreignKeys.put(proxy, keyOf(target, reference));
+            }
+        }
+
+        Map<Object, Object> loaded = loadByKey(target, new LinkedHashSet<>(foreignKeys.values()));
+        foreignKeys.forEach((proxy, key) -> {
+            Object value = loaded.get(key);
+            if (value != null) {
+                proxy.setObject(attribute, value, PropertyState.LOADED);
+            }
+        });
+    }
+
+    /**
+     * FK 가 target 에 있는 association (OneToMany, mappedBy 를 지정한 OneToOne)
+     */
+    @SuppressWarnings("unchecked")
+    private <E> void fetchMapped(final Type<E> source,
+                                 final List<E> entities,
+                                 final Attribute<E, ?> attribute,
+                                 final AssociationMetadata metadata) {
+        Type<?> target = metadata.getTarget();
+        Attribute<Object, Object> mapped = (Attribute<Object, Object>) metadata.getMappedAttribute();
+        NamedExpression<Object> fkExpr = (NamedExpression<Object>) NamedExpression.of(mapped.getName(), getKeyClass(source));
+
+        Map<Object, List<EntityProxy<E>>> owners = groupByKey(source, entities);
+        Map<Object, List<Object>> children = new HashMap<>();
+
+        for (List<Object> chunk : Iterables.chunked(owners.keySet(), operations.getInListChunkSize())) {
+            List<?> loaded = operations.select(target.getClassType()).where(fkExpr.in(chunk)).get().toList();
+            for (Object child : loaded) {
+                Object reference = ((Type<Object>) target).getProxyProvider().apply(child).get(mapped, false);
+                if (reference != null) {
+                    children.computeIfAbsent(keyOf(source, reference), k -> new ArrayList<>()).add(child);
+                }
+            }
+        }
+
+        boolean single = !Collection.class.isAssignableFrom(attribute.getClassType());
+        owners.forEach((key, proxies) -> {
+            List<Object> values = children.getOrDefault(key, Collections.emptyList());
+            for (EntityProxy<E> proxy : proxies) {
+                Object value = single
+                               ? (values.isEmpty() ? null : values.get(0))
+                               : createCollection(proxy, attribute, values);
+                proxy.setObject(attribute, value, PropertyState.LOADED);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> void fetchManyToMany(final Type<E> source,
+                                     final List<E> entities,
+                                     final Attribute<E, ?> attribute,
+                                     final AssociationMetadata metadata) {
+        Type<?> target = metadata.getTarget();
+        Type<?> junction = metadata.getJunction();
+        Attribute<?, ?> ownerFk = metadata.getOwnerForeignKey();
+        Attribute<?, ?> elementFk = metadata.getElementForeignKey();
+
+        NamedExpression<Object> ownerExpr = (NamedExpression<Object>) NamedExpression.of(ownerFk.getName(), getKeyClass(source));
+        NamedExpression<Object> elementExpr = (NamedExpression<Object>) NamedExpression.of(elementFk.getName(), getKeyClass(target));
+
+        Map<Object, List<EntityProxy<E>>> owners = groupByKey(source, entities);
+        Map<Object, List<Object>> elementKeys = new HashMap<>();
+
+        for (List<Object> chunk : Iterables.chunked(owners.keySet(), operations.getInListChunkSize())) {
+            List<Tuple> rows = operations.select(ownerExpr, elementExpr)
+                .from(junction.getClassType())
+                .where(ownerExpr.in(chunk))
+                .get()
+                .toList();
+            for (Tuple row : rows) {
+                elementKeys.computeIfAbsent(row.get(0), k -> new ArrayList<>()).add(row.get(1));
+            }
+        }
+
+        Set<Object> allElementKeys = new LinkedHashSet<>();
+        elementKeys.values().forEach(allElementKeys::addAll);
+        Map<Object, Object> loaded = loadByKey(target, allElementKeys);
+
+        owners.forEach((key, proxies) -> {
+            List<Object> values = new ArrayList<>();
+            for (Object elementKey : elementKeys.getOrDefault(key, Collections.emptyList())) {
+                Object value = loaded.get(elementKey);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+            for (EntityProxy<E> proxy : proxies) {
+                proxy.setObject(attribute, createCollection(proxy, attribute, values), PropertyState.LOADED);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> loadByKey(final Type<?> type, final Collection<Object> keys) {
+        Map<Object, Object> loaded = new HashMap<>();
+        if (keys.isEmpty()) {
+            return loaded;
+        }
+
+        Attribute<Object, Object> keyAttr = (Attribute<Object, Object>) getKeyAttribute(type);
+        NamedExpression<Object> keyExpr = (NamedExpression<Object>) NamedExpression.of(keyAttr.getName(), keyAttr.getClassType());
+
+        for (List<Object> chunk : Iterables.chunked(keys, operations.getInListChunkSize())) {
+            for (Object entity : operations.select(type.getClassType()).where(keyExpr.in(chunk)).get().toList()) {
+                loaded.put(keyOf(type, entity), entity);
+            }
+        }
+        return loaded;
+    }
+
+    private static <E> Map<Object, List<EntityProxy<E>>> groupByKey(final Type<E> type, final List<E> entities) {
+        Map<Object, List<EntityProxy<E>>> owners = new LinkedHashMap<>();
+        for (E entity : entities) {
+            EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+            Object key = keyOf(type, entity);
+            if (key != null) {
+                owners.computeIfAbsent(key, k -> new ArrayList<>()).add(proxy);
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * entity 의 key 값. entity 가 아닌 값은 이미 key 값으로 간주합니다.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Object keyOf(final Type<?> type, final Object entityOrKey) {
+        if (!type.getClassType().isInstance(entityOrKey)) {
+            return entityOrKey;
+        }
+        EntityProxy<Object> proxy = ((Type<Object>) type).getProxyProvider().apply(entityOrKey);
+        return proxy.get((Attribute<Object, Object>) getKeyAttribute(type), false);
+    }
+
+    /**
+     * requery 가 생성한 collection (변경 추적을 지원) 에 로드한 값을 담습니다.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object createCollection(final EntityProxy<?> proxy, final Attribute<?, ?> attribute, final List<Object> values) {
+        Initializer initializer = attribute.getInitializer();
+        if (initializer != null) {
+            return initializer.initialize(proxy, attribute, () -> new ListResult<>(values));
+        }
+        return Set.class.isAssignableFrom(attribute.getClassType()) ? new LinkedHashSet<>(values) : new ArrayList<>(values);
+    }
+
+    private static <E> Attribute<E, ?> findAssociation(final Type<E> type, final String propertyName) {
+        for (Attribute<E, ?> attribute : type.getAttributes()) {
+            if (attribute.getPropertyName().equals(propertyName)) {
+                if (!attribute.isAssociation()) {
+                    throw new IllegalArgumentException("Property is not association. property=" + type.getName() + "." + propertyName);
+                }
+                return attribute;
+            }
+        }
+        throw new IllegalArgumentException("Not found association property. property=" + type.getName() + "." + propertyName);
+    }
+
+    private static Attribute<?, ?> getKeyAttribute(final Type<?> type) {
+        if (type.getKeyAttributes().size() != 1) {
+            throw new NotSupportedException("Batch fetch of entity with composite key is not supported. type=" + type.getName());
+        }
+        return type.getSingleKeyAttribute();
+    }
+
+    private static Class<?> getKeyClass(final Type<?> type) {
+        return getKeyAttribute(type).getClassType();
+    }
+
+    /**
+     * 이미 로드한 값 목록을 {@link Initializer} 에 전달하기 위한 {@link io.requery.query.Result}
+     */
+    private static final class ListResult<E> extends BaseResult<E> {
+
+        private final List<E> values;
+
+        ListResult(@Nonnull final List<E> values) {
+            this.values = values;
+        }
+
+        @Override
+        public CloseableIterator<E> createIterator(final int skip, final int take) {
+            int from = Math.min(Math.max(skip, 0), values.size());
+            int to = (take <= 0 || take > values.size() - from) ? values.size() : from + take;
+            Iterator<E> iterator = values.subList(from, to).iterator();
+
+            return new CloseableIterator<E>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void close() {
+                    // Nothing to do.
+                }
+            };
+        }
+    }
+}
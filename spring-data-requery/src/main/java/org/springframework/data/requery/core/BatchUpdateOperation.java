@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.data.requery.core;
+
+import io.requery.meta.Attribute;
+import io.requery.meta.Type;
+import io.requery.query.NamedExpression;
+import io.requery.sql.ConnectionProvider;
+import io.requery.sql.EntityContext;
+import io.requery.sql.Mapping;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.requery.RequeryExecutionException;
+import org.springframework.data.requery.utils.Iterables;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 같은 DML 문장을 parameter 값 목록별로 JDBC batch ({@code addBatch / executeBatch}) 로 수행합니다.
+ * <p>
+ * {@link RequeryOperations#getBatchUpdateSize()} 단위로 나누어 수행하며, 모든 batch 는 진행 중인 transaction 에서 수행합니다.
+ * 진행 중인 transaction 이 없다면 새로운 transaction 에서 수행하고 commit 합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+class BatchUpdateOperation {
+
+    private final RequeryOperations operations;
+
+    BatchUpdateOperation(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @param sql         {@code ?} parameter 를 사용하는 DML 문장
+     * @param batchValues 문장별 {@code ?} 순서의 값
+     * @return 문장별 변경된 row 수 ({@link java.sql.Statement#SUCCESS_NO_INFO} 일 수 있습니다)
+     * @throws IllegalArgumentException 값의 수가 문장의 {@code ?} 수와 다른 경우
+     */
+    @Nonnull
+    int[] execute(@Nonnull final String sql, @Nonnull final Iterable<Object[]> batchValues) {
+        Assert.hasText(sql, "sql must not be empty!");
+        Assert.notNull(batchValues, "batchValues must not be null!");
+
+        List<Object[]> rows = Iterables.toList(batchValues);
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        // 진행 중인 transaction 이 있다면 그 transaction 에 참여하고, commit 은 transaction 을 시작한 쪽에 맡깁니다.
+        if (operations.transaction().active()) {
+            return executeBatch(sql, rows);
+        }
+        return operations.getDataStore().runInTransaction(() -> executeBatch(sql, rows));
+    }
+
+    private int[] executeBatch(final String sql, final List<Object[]> rows) {
+        log.debug("Execute batch update. sql={}, size={}", sql, rows.size());
+
+        EntityContext<Object> context = operations.getEntityContext();
+        Assert.state(context instanceof ConnectionProvider, "Cannot access JDBC connection of EntityDataStore.");
+
+        Mapping mapping = context.getMapping();
+        int[] counts = new int[rows.size()];
+        int offset = 0;
+
+        try (Connection connection = ((ConnectionProvider) context).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            int queryTimeout = operations.getStatementHints().merge(StatementHints.current()).getQueryTimeout();
+            if (queryTimeout > 0) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+            int parameterCount = getParameterCount(statement);
+
+            for (List<Object[]> chunk : Iterables.chunked(rows, operations.getBatchUpdateSize())) {
+                for (Object[] values : chunk) {
+                    // JDBC 는 addBatch 이후에도 parameter 값을 유지하므로, 이전 row 의 값이 남지 않도록 지웁니다.
+                    statement.clearParameters();
+                    if (parameterCount >= 0 && values.length != parameterCount) {
+                        throw new IllegalArgumentException("Batch values must have " + parameterCount + " values. but " +
+                                                           values.length + ", sql=" + sql);
+                    }
+                    for (int i = 0; i < values.length; i++) {
+                        writeParameter(mapping, statement, i + 1, values[i]);
+                    }
+                    statement.addBatch();
+                }
+                int[] chunkCounts = statement.executeBatch();
+                System.arraycopy(chunkCounts, 0, counts, offset, chunkCounts.length);
+                offset += chunkCounts.length;
+            }
+        } catch (SQLException e) {
+            throw new RequeryExecutionException("Fail to execute batch update. sql=" + sql, e);
+        }
+        return counts;
+    }
+
+    /**
+     * 문장의 {@code ?} 수. JDBC Driver 가 알려주지 않는다면 -1
+     */
+    private static int getParameterCount(final PreparedStatement statement) {
+        try {
+            return statement.getParameterMetaData().getParameterCount();
+        } catch (SQLException | UnsupportedOperationException e) {
+            log.debug("Fail to get parameter count of statement. Skip arity check.", e);
+            return -1;
+        }
+    }
+
+    /**
+     * {@link RequeryOperations#raw(String, Object...)} 와 같이 requery 의 {@link Mapping} 으로 값을 binding 합니다.
+     * (enum, java.time, 등록된 converter 를 적용하고, entity 는 key 값으로 binding 합니다)
+     */
+    @SuppressWarnings("unchecked")
+    private void writeParameter(final Mapping mapping,
+                                final PreparedStatement statement,
+                                final int index,
+                                @Nullable final Object value) throws SQLException {
+        Object parameter = value;
+        if (value != null && operations.getEntityModel().containsTypeOf(value.getClass())) {
+            Type<Object> type = (Type<Object>) operations.getEntityModel().typeOf(value.getClass());
+            parameter = type.getProxyProvider().apply(value).get((Attribute<Object, Object>) type.getSingleKeyAttribute(), false);
+        }
+        Class<Object> valueType = (Class<Object>) ((parameter != null) ? parameter.getClass() : Object.class);
+        mapping.write(NamedExpression.of("?", valueType), statement, index, parameter);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import io.requery.util.CloseableIterator;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * cursor 에서 최대 chunkSize 개씩 읽어 {@link List} 로 반환하는 {@link CloseableIterator} 입니다.
+ * 호출자가 다음 chunk 를 요청할 때만 읽으므로, 메모리에는 현재 chunk 만 유지됩니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+final class ChunkedIterator<E> implements CloseableIterator<List<E>> {
+
+    private final CloseableIterator<E> cursor;
+    private final int chunkSize;
+
+    ChunkedIterator(@Nonnull final CloseableIterator<E> cursor, final int chunkSize) {
+        this.cursor = cursor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor.hasNext();
+    }
+
+    @Override
+    public List<E> next() {
+        if (!cursor.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<E> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && cursor.hasNext()) {
+            chunk.add(cursor.next());
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
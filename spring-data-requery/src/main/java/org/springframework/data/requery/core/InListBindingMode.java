@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Derived query 의 In / NotIn 조건에 값 목록을 binding 하는 방식
+ * <p>
+ * IN 절의 placeholder 수가 달라지면 SQL 문장이 달라지므로 statement cache 를 활용할 수 없습니다.
+ * {@link #PADDED}, {@link #ARRAY} 는 적은 수의 SQL 문장으로 모든 크기의 목록을 처리합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public enum InListBindingMode {
+
+    /**
+     * 값의 수만큼 placeholder 를 생성합니다. {@code IN (?, ?, ?)}
+     */
+    EXACT,
+
+    /**
+     * placeholder 수를 1, 2, 4, 8, ..., {@link #MAX_BUCKET_SIZE} 단위로 올리고, 남는 자리는 마지막 값으로 채웁니다.
+     * {@link #MAX_BUCKET_SIZE} 보다 큰 목록은 {@link #MAX_BUCKET_SIZE} 의 배수로 올립니다.
+     */
+    PADDED,
+
+    /**
+     * 목록을 하나의 배열 parameter 로 binding 합니다. {@code = ANY(?)}, {@code <> ALL(?)}
+     * 배열 parameter 를 지원하는 database (PostgreSQL) 에서만 사용되고, 그 외에는 {@link #PADDED} 로 동작합니다.
+     */
+    ARRAY;
+
+    /**
+     * {@link #PADDED} 방식의 최대 bucket 크기
+     */
+    public static final int MAX_BUCKET_SIZE = 1024;
+
+    /**
+     * {@link #ARRAY} 방식의 배열 parameter ({@code = ANY(?)}) 를 지원하는 database 인지 판단합니다.
+     *
+     * @param databaseProductName JDBC {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * @return 배열 parameter 를 지원하면 true
+     */
+    public static boolean supportsArrayParameter(@Nullable final String databaseProductName) {
+        return databaseProductName != null && databaseProductName.toLowerCase(Locale.ROOT).contains("postgres");
+    }
+
+    /**
+     * 값 목록의 크기를 bucket 크기로 올립니다.
+     *
+     * @param size 값 목록의 크기
+     * @return bucket 크기
+     */
+    public static int bucketSize(final int size) {
+        if (size <= 1) {
+            return size;
+        }
+        if (size > MAX_BUCKET_SIZE) {
+            return ((size + MAX_BUCKET_SIZE - 1) / MAX_BUCKET_SIZE) * MAX_BUCKET_SIZE;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * 값 목록을 bucket 크기로 늘리고, 남는 자리는 마지막 값으로 채웁니다.
+     *
+     * @param values 값 목록 (비어있지 않아야 합니다)
+     * @return bucket 크기의 값 목록
+     */
+    @Nonnull
+    public static <T> Collection<T> pad(@Nonnull final Collection<T> values) {
+        int size = values.size();
+        int bucketSize = bucketSize(size);
+        if (bucketSize == size) {
+            return values;
+        }
+
+        List<T> padded = new ArrayList<>(bucketSize);
+        padded.addAll(values);
+
+        T last = padded.get(size - 1);
+        while (padded.size() < bucketSize) {
+            padded.add(last);
+        }
+        return padded;
+    }
+}
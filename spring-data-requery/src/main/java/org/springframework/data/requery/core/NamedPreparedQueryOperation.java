@@ -1,22 +1,248 @@
 package org.springframework.data.requery.core;
 
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
+import io.requery.query.Result;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
- * NamedPreparedQueryOperation
- * <p>
- * {@link io.requery.sql.PreparedQueryOperation}를 참고하여 raw 메소드에서도 Named parameter를 사용할 수 있도록 합니다.
+ * Named parameter ({@code :name}) 를 사용하는 raw 질의를 수행합니다.
  * <p>
- * ref: https://github.com/axiom-data-science/jdbc-named-parameters
- * ref: https://www.codemeright.com/blog/post/named-parameterized-query-java
+ * requery 의 raw 질의는 위치 기반 parameter ({@code ?}) 만 지원하므로, 생성 시에 한 번만 질의를 parsing 하여
+ * named parameter 를 {@code ?} 로 바꾼 질의와 parameter 이름 목록을 보관하고, 수행 시에는 이름으로 값만 binding 합니다.
+ * 질의 문자열이 매번 같으므로 requery 의 statement cache 에서 PreparedStatement 를 재사용할 수 있습니다.
  * <p>
- * 차라리 Spring 에서 제공하는 NamedParameterJdbcTemplate 를 사용하는 것이 나을 수 있다.
- * https://www.devglan.com/spring-jdbc/working-with-springboot-namedparameter-jdbctemplate
+ * 문자열 literal, 주석, PostgreSQL 의 {@code ::} cast 는 parameter 로 인식하지 않으며,
+ * {@code like :name%}, {@code like %:name%} 처럼 parameter 에 붙은 {@code %} 는 binding 값에 붙입니다.
  *
  * @author debop
  * @since 18. 12. 5
  */
-public abstract class NamedPreparedQueryOperation {
+@Slf4j
+public abstract class NamedPreparedQueryOperation<E> {
+
+    /**
+     * 질의에 named parameter 가 있는지 여부
+     */
+    public static boolean hasNamedParameters(@Nullable final String query) {
+        return query != null && query.indexOf(':') >= 0 && !parse(query).parameters.isEmpty();
+    }
+
+    @Getter
+    @Nonnull private final RequeryOperations operations;
+
+    /**
+     * named parameter 를 사용한 원본 질의
+     */
+    @Getter
+    @Nonnull private final String namedQuery;
+
+    /**
+     * named parameter 를 {@code ?} 로 바꾼 질의
+     */
+    @Getter
+    @Nonnull private final String query;
+
+    private final List<NamedParameter> parameters;
+
+    protected NamedPreparedQueryOperation(@Nonnull final RequeryOperations operations, @Nonnull final String namedQuery) {
+        Assert.notNull(operations, "operations must not be null!");
+        Assert.hasText(namedQuery, "namedQuery must not be empty!");
+
+        ParsedQuery parsed = parse(namedQuery);
+
+        this.operations = operations;
+        this.namedQuery = namedQuery;
+        this.query = parsed.query;
+        this.parameters = parsed.parameters;
+
+        log.debug("Parse named query. namedQuery={}, query={}, parameters={}", namedQuery, query, getParameterNames());
+    }
+
+    /**
+     * {@code ?} 위치 순서의 parameter 이름 목록 (같은 이름이 여러 번 나올 수 있습니다)
+     */
+    @Nonnull
+    public List<String> getParameterNames() {
+        List<String> names = new ArrayList<>(parameters.size());
+        for (NamedParameter parameter : parameters) {
+            names.add(parameter.name);
+        }
+        return names;
+    }
+
+    /**
+     * 이름별 값으로 질의를 수행합니다.
+     *
+     * @param values parameter 이름별 값
+     * @return 질의 결과
+     */
+    @Nonnull
+    public Result<E> get(@Nonnull final Map<String, ?> values) {
+        return execute(bind(values));
+    }
+
+    /**
+     * {@link #positionsOf(List)} 로 구한 위치로 인자 값을 binding 하여 질의를 수행합니다.
+     *
+     * @param positions {@code ?} 별 인자 위치
+     * @param arguments 인자 값
+     * @return 질의 결과
+     */
+    @Nonnull
+    public Result<E> get(@Nonnull final int[] positions, @Nonnull final Object[] arguments) {
+        return execute(bind(positions, arguments));
+    }
+
+    /**
+     * 이름별 값을 {@code ?} 순서의 값 배열로 변환합니다.
+     *
+     * @throws IllegalArgumentException 값이 지정되지 않은 parameter 가 있는 경우
+     */
+    @Nonnull
+    public Object[] bind(@Nonnull final Map<String, ?> values) {
+        Object[] bound = new Object[parameters.size()];
+        for (int i = 0; i < bound.length; i++) {
+            NamedParameter parameter = parameters.get(i);
+            if (!values.containsKey(parameter.name)) {
+                throw new IllegalArgumentException("No value supplied for named parameter [" + parameter.name + "]. query=" + namedQuery);
+            }
+            bound[i] = parameter.decorate(values.get(parameter.name));
+        }
+        return bound;
+    }
+
+    /**
+     * 인자 이름 목록에서 각 {@code ?} 에 binding 할 인자의 위치를 구합니다. 한 번만 계산하여 {@link #bind(int[], Object[])} 에 사용합니다.
+     *
+     * @param argumentNames 인자 위치별 이름 (이름이 없는 인자는 null)
+     * @return {@code ?} 별 인자 위치
+     * @throws IllegalArgumentException 이름에 해당하는 인자가 없는 경우
+     */
+    @Nonnull
+    public int[] positionsOf(@Nonnull final List<String> argumentNames) {
+        int[] positions = new int[parameters.size()];
+        for (int i = 0; i < positions.length; i++) {
+            String name = parameters.get(i).name;
+            positions[i] = argumentNames.indexOf(name);
+            if (positions[i] < 0) {
+                throw new IllegalArgumentException("No argument named [" + name + "]. Use @Param to name it. query=" + namedQuery);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * 인자 값을 {@code ?} 순서의 값 배열로 변환합니다.
+     */
+    @Nonnull
+    public Object[] bind(@Nonnull final int[] positions, @Nonnull final Object[] arguments) {
+        Object[] bound = new Object[positions.length];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = parameters.get(i).decorate(arguments[positions[i]]);
+        }
+        return bound;
+    }
+
+    /**
+     * {@code ?} 로 바꾼 질의를 위치 기반 값으로 수행합니다.
+     *
+     * @param values {@code ?} 순서의 값
+     * @return 질의 결과
+     */
+    @Nonnull
+    protected abstract Result<E> execute(@Nonnull final Object[] values);
+
+    @Nonnull
+    private static ParsedQuery parse(@Nonnull final String sql) {
+        StringBuilder builder = new StringBuilder(sql.length());
+        List<NamedParameter> parameters = new ArrayList<>();
+        boolean positional = false;
+
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char ch = sql.charAt(i);
+
+            if (ch == '\'' || ch == '"') {
+                int end = sql.indexOf(ch, i + 1);
+                end = (end < 0) ? length : end + 1;
+                builder.append(sql, i, end);
+                i = end;
+            } else if (ch == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                end = (end < 0) ? length : end;
+                builder.append(sql, i, end);
+                i = end;
+            } else if (ch == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                end = (end < 0) ? length : end + 2;
+                builder.append(sql, i, end);
+                i = end;
+            } else if (ch == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+                builder.append("::");
+                i += 2;
+            } else if (ch == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                boolean likePrefix = builder.length() > 0 && builder.charAt(builder.length() - 1) == '%';
+                if (likePrefix) {
+                    builder.setLength(builder.length() - 1);
+                }
+                boolean likeSuffix = end < length && sql.charAt(end) == '%';
+
+                parameters.add(new NamedParameter(sql.substring(i + 1, end), likePrefix, likeSuffix));
+                builder.append('?');
+                i = likeSuffix ? end + 1 : end;
+            } else {
+                positional |= (ch == '?');
+                builder.append(ch);
+                i++;
+            }
+        }
+
+        if (positional && !parameters.isEmpty()) {
+            throw new IllegalArgumentException("Mixing of ? parameters and named parameters is not supported. query=" + sql);
+        }
+        return new ParsedQuery(builder.toString(), Collections.unmodifiableList(parameters));
+    }
+
+    private static final class ParsedQuery {
+        private final String query;
+        private final List<NamedParameter> parameters;
+
+        ParsedQuery(final String query, final List<NamedParameter> parameters) {
+            this.query = query;
+            this.parameters = parameters;
+        }
+    }
+
+    private static final class NamedParameter {
+        private final String name;
+        private final boolean likePrefix;
+        private final boolean likeSuffix;
+
+        NamedParameter(final String name, final boolean likePrefix, final boolean likeSuffix) {
+            this.name = name;
+            this.likePrefix = likePrefix;
+            this.likeSuffix = likeSuffix;
+        }
 
-    private NamedParameterJdbcOperations jdbcOperations;
+        @Nullable
+        Object decorate(@Nullable final Object value) {
+            if (value == null || (!likePrefix && !likeSuffix)) {
+                return value;
+            }
+            return (likePrefix ? "%" : "") + value + (likeSuffix ? "%" : "");
+        }
+    }
 }
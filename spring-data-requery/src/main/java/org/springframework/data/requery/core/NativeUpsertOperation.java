@@ -0,0 +1,415 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import io.requery.PostInsert;
+import io.requery.PostUpdate;
+import io.requery.PreInsert;
+import io.requery.PreUpdate;
+import io.requery.meta.Attribute;
+import io.requery.meta.Type;
+import io.requery.proxy.EntityProxy;
+import io.requery.proxy.PropertyState;
+import io.requery.query.Expression;
+import io.requery.sql.ConnectionProvider;
+import io.requery.sql.EntityContext;
+import io.requery.sql.Mapping;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.requery.RequeryExecutionException;
+import org.springframework.data.requery.utils.Iterables;
+import org.springframework.data.requery.utils.RequeryUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Database 의 단일 문장 upsert (MERGE / ON CONFLICT / ON DUPLICATE KEY) 를 JDBC batch 로 수행합니다.
+ * <p>
+ * entity 별로 존재 여부를 조회한 후 insert/update 하는 {@link io.requery.sql.EntityDataStore#upsert(Iterable)} 와 달리,
+ * {@link RequeryOperations#getBatchUpdateSize()} 단위의 batch 문장으로 저장합니다.
+ * <p>
+ * 다음의 경우에는 cascade, optimistic lock, lifecycle callback 을 보장하기 위해 기존 upsert 를 사용합니다.
+ * <ul>
+ * <li>지원하지 않는 database ({@link UpsertDialect} 참고)</li>
+ * <li>association, version 속성이나 PreInsert/PreUpdate/PostInsert/PostUpdate callback 을 가진 entity</li>
+ * </ul>
+ * key 가 자동 생성되는 entity 중 key 값이 없는 entity 는 batch insert 합니다.
+ * <p>
+ * 값은 requery 의 {@link Mapping} 으로 binding 하고, table / column 이름은 database 의 identifier quote 문자로 감쌉니다.
+ * <p>
+ * 같은 조건을 만족하는 기존 entity 의 update 도 {@code UPDATE ... WHERE key = ?} 문장의 JDBC batch 로 수행합니다. ({@link #updateAll(Iterable)})
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+class NativeUpsertOperation {
+
+    @SuppressWarnings("unchecked")
+    private static final List<Class<? extends Annotation>> CALLBACK_ANNOTATIONS =
+        Arrays.asList(PreInsert.class, PreUpdate.class, PostInsert.class, PostUpdate.class);
+
+    private final RequeryOperations operations;
+    private final Map<Class<?>, Boolean> supportedTypes = new ConcurrentHashMap<>();
+
+    private volatile boolean dialectResolved;
+    @Nullable private volatile UpsertDialect dialect;
+    @Nullable private volatile IdentifierQuoter quoter;
+
+    NativeUpsertOperation(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    <E> List<E> upsertAll(@Nonnull final Iterable<E> entities) {
+        List<E> results = Iterables.toList(entities);
+        if (results.isEmpty()) {
+            return results;
+        }
+
+        Type<E> type = (Type<E>) operations.getEntityModel().typeOf(results.get(0).getClass());
+        UpsertDialect upsertDialect = getDialect();
+
+        if (upsertDialect == null || !isSupportedType(type)) {
+            return Iterables.toList(operations.getDataStore().upsert(results));
+        }
+
+        // 진행 중인 transaction 이 있다면 그 transaction 에 참여하고, commit 은 transaction 을 시작한 쪽에 맡깁니다.
+        if (operations.transaction().active()) {
+            upsertAll(type, upsertDialect, results);
+        } else {
+            operations.getDataStore().runInTransaction(() -> {
+                upsertAll(type, upsertDialect, results);
+                return null;
+            });
+        }
+        return results;
+    }
+
+    /**
+     * 기존 entity 들을 {@code UPDATE ... WHERE key = ?} 문장의 JDBC batch 로 저장합니다.
+     * <p>
+     * requery 의 update 는 entity 마다 문장을 수행하므로, 모든 속성을 읽어온 entity 는 전체 컬럼을 batch 로 update 합니다.
+     * 지원하지 않는 entity 나 읽지 않은 (lazy) 속성이 있는 entity 는 {@link io.requery.sql.EntityDataStore#update(Iterable)} 로 저장합니다.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    <E> List<E> updateAll(@Nonnull final Iterable<E> entities) {
+        List<E> results = Iterables.toList(entities);
+        if (results.isEmpty()) {
+            return results;
+        }
+
+        Type<E> type = (Type<E>) operations.getEntityModel().typeOf(results.get(0).getClass());
+        if (!isSupportedType(type) || !(operations.getEntityContext() instanceof ConnectionProvider)) {
+            return Iterables.toList(operations.getDataStore().update(results));
+        }
+
+        List<Attribute<E, ?>> attributes = getUpdateAttributes(type);
+        if (attributes.isEmpty()) {
+            return results;
+        }
+        List<E> batchEntities = new ArrayList<>();
+        List<E> otherEntities = new ArrayList<>();
+        for (E entity : results) {
+            if (hasKeyValues(type, entity) && isLoaded(type, attributes, entity)) {
+                batchEntities.add(entity);
+            } else {
+                otherEntities.add(entity);
+            }
+        }
+
+        // 진행 중인 transaction 이 있다면 그 transaction 에 참여하고, commit 은 transaction 을 시작한 쪽에 맡깁니다.
+        if (operations.transaction().active()) {
+            updateAll(type, attributes, batchEntities, otherEntities);
+        } else {
+            operations.getDataStore().runInTransaction(() -> {
+                updateAll(type, attributes, batchEntities, otherEntities);
+                return null;
+            });
+        }
+        return results;
+    }
+
+    private <E> void updateAll(final Type<E> type,
+                               final List<Attribute<E, ?>> attributes,
+                               final List<E> batchEntities,
+                               final List<E> otherEntities) {
+        if (!otherEntities.isEmpty()) {
+            operations.getDataStore().update(otherEntities);
+        }
+        if (!batchEntities.isEmpty()) {
+            executeUpdate(type, attributes, batchEntities);
+            operations.getEntityCache().invalidate(type.getClassType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> void executeUpdate(final Type<E> type, final List<Attribute<E, ?>> attributes, final List<E> entities) {
+        IdentifierQuoter identifierQuoter = getQuoter();
+        List<Attribute<E, ?>> keyAttributes = new ArrayList<>(type.getKeyAttributes());
+
+        String sql = "UPDATE " + identifierQuoter.quote(type.getName()) +
+                     attributes.stream()
+                         .map(attr -> identifierQuoter.quote(attr.getName()) + " = ?")
+                         .collect(Collectors.joining(", ", " SET ", "")) +
+                     keyAttributes.stream()
+                         .map(attr -> identifierQuoter.quote(attr.getName()) + " = ?")
+                         .collect(Collectors.joining(" AND ", " WHERE ", ""));
+        log.debug("Execute batch update of entities. sql={}, size={}", sql, entities.size());
+
+        List<Attribute<E, ?>> parameters = new ArrayList<>(attributes);
+        parameters.addAll(keyAttributes);
+
+        EntityContext<Object> context = operations.getEntityContext();
+        Mapping mapping = context.getMapping();
+        try (Connection connection = ((ConnectionProvider) context).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (List<E> chunk : Iterables.chunked(entities, operations.getBatchUpdateSize())) {
+                for (E entity : chunk) {
+                    EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+                    statement.clearParameters();
+                    int index = 1;
+                    for (Attribute<E, ?> attribute : parameters) {
+                        Object value = proxy.get((Attribute<E, Object>) attribute, false);
+                        mapping.write((Expression<Object>) attribute, statement, index++, value);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RequeryExecutionException("Fail to execute batch update of entities. sql=" + sql, e);
+        }
+
+        // requery 의 update 와 같이 저장한 속성을 변경되지 않은 상태로 표시합니다.
+        for (E entity : entities) {
+            EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+            attributes.forEach(attribute -> proxy.setState(attribute, PropertyState.LOADED));
+        }
+    }
+
+    /**
+     * update 할 속성 (key, 자동 생성, 읽기 전용 속성 제외)
+     */
+    private static <E> List<Attribute<E, ?>> getUpdateAttributes(final Type<E> type) {
+        return type.getAttributes().stream()
+            .filter(attr -> !attr.isKey() && !attr.isGenerated() && !attr.isReadOnly())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 모든 속성을 읽어왔는지 여부. 읽지 않은 속성을 update 하면 null 로 저장되므로 batch update 에서 제외합니다.
+     */
+    private static <E> boolean isLoaded(final Type<E> type, final List<Attribute<E, ?>> attributes, final E entity) {
+        EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+        return attributes.stream().allMatch(attr -> {
+            PropertyState state = proxy.getState(attr);
+            return state == PropertyState.LOADED || state == PropertyState.MODIFIED;
+        });
+    }
+
+    private <E> void upsertAll(final Type<E> type, final UpsertDialect upsertDialect, final List<E> entities) {
+        List<E> newEntities = new ArrayList<>();
+        List<E> keyedEntities = new ArrayList<>();
+
+        for (E entity : entities) {
+            if (hasKeyValues(type, entity)) {
+                keyedEntities.add(entity);
+            } else {
+                newEntities.add(entity);
+            }
+        }
+
+        if (!newEntities.isEmpty()) {
+            operations.getDataStore().insert(newEntities);
+        }
+        if (!keyedEntities.isEmpty()) {
+            executeUpsert(type, upsertDialect, keyedEntities);
+            operations.getEntityCache().invalidate(type.getClassType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> void executeUpsert(final Type<E> type, final UpsertDialect upsertDialect, final List<E> entities) {
+        List<Attribute<E, ?>> attributes = new ArrayList<>(type.getAttributes());
+        IdentifierQuoter identifierQuoter = getQuoter();
+        List<String> columns = attributes.stream()
+            .map(attr -> identifierQuoter.quote(attr.getName()))
+            .collect(Collectors.toList());
+        List<String> keyColumns = type.getKeyAttributes().stream()
+            .map(attr -> identifierQuoter.quote(attr.getName()))
+            .collect(Collectors.toList());
+
+        String sql = upsertDialect.buildSql(identifierQuoter.quote(type.getName()), columns, keyColumns);
+        log.debug("Execute native upsert. sql={}, size={}", sql, entities.size());
+
+        EntityContext<Object> context = operations.getEntityContext();
+        Mapping mapping = context.getMapping();
+        try (Connection connection = ((ConnectionProvider) context).getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            for (List<E> chunk : Iterables.chunked(entities, operations.getBatchUpdateSize())) {
+                for (E entity : chunk) {
+                    EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+                    statement.clearParameters();
+                    int index = 1;
+                    for (Attribute<E, ?> attribute : attributes) {
+                        Object value = proxy.get((Attribute<E, Object>) attribute, false);
+                        // requery 의 insert/update 와 같이 attribute 의 converter 와 platform 의 type mapping 을 적용합니다.
+                        mapping.write((Expression<Object>) attribute, statement, index++, value);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RequeryExecutionException("Fail to execute native upsert. sql=" + sql, e);
+        }
+    }
+
+    /**
+     * JDBC connection 의 database 에 해당하는 dialect (지원하지 않는 database 라면 null)
+     */
+    @Nullable
+    UpsertDialect getDialect() {
+        if (!dialectResolved) {
+            synchronized (this) {
+                if (!dialectResolved) {
+                    dialect = resolveDialect();
+                    dialectResolved = true;
+                }
+            }
+        }
+        return dialect;
+    }
+
+    @Nullable
+    private UpsertDialect resolveDialect() {
+        String productName = operations.getDatabaseProductName();
+        UpsertDialect resolved = UpsertDialect.of(productName);
+        log.info("Resolve native upsert dialect. database={}, dialect={}", productName, resolved);
+        if (resolved == null) {
+            return null;
+        }
+
+        if (!(operations.getEntityContext() instanceof ConnectionProvider)) {
+            log.info("Cannot access JDBC connection of EntityDataStore. Native upsert is disabled.");
+            return null;
+        }
+        return resolved;
+    }
+
+    @Nonnull
+    private IdentifierQuoter getQuoter() {
+        IdentifierQuoter resolved = quoter;
+        if (resolved == null) {
+            synchronized (this) {
+                if (quoter == null) {
+                    quoter = resolveQuoter();
+                }
+                resolved = quoter;
+            }
+        }
+        return resolved;
+    }
+
+    @Nonnull
+    private IdentifierQuoter resolveQuoter() {
+        EntityContext<Object> context = operations.getEntityContext();
+        if (!(context instanceof ConnectionProvider)) {
+            return IdentifierQuoter.NONE;
+        }
+        try (Connection connection = ((ConnectionProvider) context).getConnection()) {
+            return IdentifierQuoter.of(connection.getMetaData());
+        } catch (SQLException e) {
+            log.warn("Fail to resolve identifier quote string. Use identifiers without quote.", e);
+            return IdentifierQuoter.NONE;
+        }
+    }
+
+    private boolean isSupportedType(final Type<?> type) {
+        return supportedTypes.computeIfAbsent(type.getClassType(), clazz ->
+            !type.isReadOnly() &&
+            !type.getKeyAttributes().isEmpty() &&
+            type.getAttributes().stream().noneMatch(attr -> attr.isAssociation() || attr.isVersion()) &&
+            !RequeryUtils.hasLifecycleCallbacks(clazz, CALLBACK_ANNOTATIONS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> boolean hasKeyValues(final Type<E> type, final E entity) {
+        EntityProxy<E> proxy = type.getProxyProvider().apply(entity);
+        return type.getKeyAttributes().stream()
+            .allMatch(attr -> proxy.get((Attribute<E, Object>) attr, false) != null);
+    }
+
+    /**
+     * requery 가 quote 없이 생성한 table / column 이름을 같은 이름으로 quote 합니다.
+     * quote 하지 않은 identifier 를 대문자 (또는 소문자) 로 저장하는 database 는 같은 case 로 바꾼 후 quote 합니다.
+     */
+    private static final class IdentifierQuoter {
+
+        static final IdentifierQuoter NONE = new IdentifierQuoter("", null);
+
+        private final String quoteString;
+        @Nullable private final Boolean upperCase;
+
+        private IdentifierQuoter(final String quoteString, @Nullable final Boolean upperCase) {
+            this.quoteString = quoteString;
+            this.upperCase = upperCase;
+        }
+
+        static IdentifierQuoter of(final DatabaseMetaData metaData) throws SQLException {
+            String quoteString = metaData.getIdentifierQuoteString();
+            if (quoteString == null || quoteString.trim().isEmpty()) {
+                return NONE;
+            }
+            Boolean upperCase = null;
+            if (metaData.storesUpperCaseIdentifiers()) {
+                upperCase = true;
+            } else if (metaData.storesLowerCaseIdentifiers()) {
+                upperCase = false;
+            }
+            return new IdentifierQuoter(quoteString.trim(), upperCase);
+        }
+
+        String quote(final String identifier) {
+            if (quoteString.isEmpty()) {
+                return identifier;
+            }
+            String name = identifier;
+            if (upperCase != null) {
+                name = upperCase ? identifier.toUpperCase(Locale.ROOT) : identifier.toLowerCase(Locale.ROOT);
+            }
+            return quoteString + name + quoteString;
+        }
+    }
+}
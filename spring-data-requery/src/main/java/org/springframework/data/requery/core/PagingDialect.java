@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Database 별 raw 질의의 paging 절 생성기
+ * <p>
+ * offset, limit 은 질의 문자열에 넣지 않고 parameter 로 binding 하므로, 페이지 번호와 관계없이 같은 질의 문자열을 사용합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public enum PagingDialect {
+
+    /**
+     * {@code ... LIMIT ? OFFSET ?} (H2, PostgreSQL, MySQL, MariaDB, SQLite, HSQLDB)
+     */
+    LIMIT_OFFSET {
+        @Nonnull
+        @Override
+        public String applyPaging(@Nonnull final String query) {
+            return query + " LIMIT ? OFFSET ?";
+        }
+
+        @Nonnull
+        @Override
+        public Object[] bindPaging(@Nonnull final Object[] values, final long offset, final int limit) {
+            return append(values, limit, offset);
+        }
+    },
+
+    /**
+     * {@code ... OFFSET ? ROWS FETCH NEXT ? ROWS ONLY} (SQL Server 2012, Oracle 12c, DB2, Derby 이상).
+     * SQL Server 는 질의에 ORDER BY 절이 있어야 합니다.
+     */
+    OFFSET_FETCH {
+        @Nonnull
+        @Override
+        public String applyPaging(@Nonnull final String query) {
+            return query + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        }
+
+        @Nonnull
+        @Override
+        public Object[] bindPaging(@Nonnull final Object[] values, final long offset, final int limit) {
+            return append(values, offset, limit);
+        }
+    };
+
+    /**
+     * 질의에 paging 절을 추가합니다.
+     *
+     * @param query {@code ?} parameter 를 사용하는 질의
+     * @return paging 절을 추가한 질의
+     */
+    @Nonnull
+    public abstract String applyPaging(@Nonnull final String query);
+
+    /**
+     * 질의의 parameter 값 뒤에 paging 절의 parameter 값을 추가합니다.
+     *
+     * @param values 질의의 parameter 값
+     * @param offset 조회할 첫 row 의 위치
+     * @param limit  조회할 최대 row 수
+     * @return {@link #applyPaging(String)} 로 만든 질의의 parameter 값
+     */
+    @Nonnull
+    public abstract Object[] bindPaging(@Nonnull final Object[] values, final long offset, final int limit);
+
+    /**
+     * JDBC {@link java.sql.DatabaseMetaData#getDatabaseProductName()} 으로 dialect 를 찾습니다.
+     *
+     * @param databaseProductName database product name
+     * @return dialect, 알 수 없는 database 라면 {@link #LIMIT_OFFSET}
+     */
+    @Nonnull
+    public static PagingDialect of(@Nullable final String databaseProductName) {
+        if (databaseProductName == null) {
+            return LIMIT_OFFSET;
+        }
+        String name = databaseProductName.toLowerCase(Locale.ROOT);
+
+        if (name.contains("sql server") || name.contains("oracle") || name.contains("db2") || name.contains("derby")) {
+            return OFFSET_FETCH;
+        }
+        return LIMIT_OFFSET;
+    }
+
+    private static Object[] append(final Object[] values, final Object first, final Object second) {
+        Object[] bound = new Object[values.length + 2];
+        System.arraycopy(values, 0, bound, 0, values.length);
+        bound[values.length] = first;
+        bound[values.length + 1] = second;
+        return bound;
+    }
+}
@@ -1,11 +1,37 @@
 package org.springframework.data.requery.core;
 
+import io.requery.query.Result;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+
 /**
- * {@link io.requery.sql.RawTupleQuery} 은 Named parameter를 지원하지 않아, {@link NamedPreparedQueryOperation} 을 상속해서
- * named parameter를 이용한 query를 수행할 수 있도록 합니다.
+ * {@link io.requery.sql.RawEntityQuery} 은 Named parameter를 지원하지 않아, {@link NamedPreparedQueryOperation} 을 상속해서
+ * named parameter를 이용한 query를 수행할 수 있도록 합니다. 조회 결과는 entity 로 mapping 됩니다.
+ * <pre>
+ * new RawEntityNamedParameteredQuery&lt;&gt;(operations, User.class, "select * from SD_User u where u.lastname = :lastname")
+ *     .get(Collections.singletonMap("lastname", "Bae"))
+ *     .toList();
+ * </pre>
  *
  * @author debop
  * @since 18. 12. 5
  */
-public class RawEntityNamedParameteredQuery extends NamedPreparedQueryOperation {
+public class RawEntityNamedParameteredQuery<E> extends NamedPreparedQueryOperation<E> {
+
+    @Getter
+    @Nonnull private final Class<E> entityType;
+
+    public RawEntityNamedParameteredQuery(@Nonnull final RequeryOperations operations,
+                                          @Nonnull final Class<E> entityType,
+                                          @Nonnull final String namedQuery) {
+        super(operations, namedQuery);
+        this.entityType = entityType;
+    }
+
+    @Nonnull
+    @Override
+    protected Result<E> execute(@Nonnull final Object[] values) {
+        return getOperations().raw(entityType, getQuery(), values);
+    }
 }
@@ -1,11 +1,26 @@
 package org.springframework.data.requery.core;
 
+import io.requery.query.Result;
+import io.requery.query.Tuple;
+
+import javax.annotation.Nonnull;
+
 /**
  * {@link io.requery.sql.RawTupleQuery} 은 Named parameter를 지원하지 않아, {@link NamedPreparedQueryOperation} 을 상속해서
- * named parameter를 이용한 query를 수행할 수 있도록 합니다.
+ * named parameter를 이용한 query를 수행할 수 있도록 합니다. 조회 결과는 {@link Tuple} 입니다.
  *
  * @author debop
  * @since 18. 12. 5
  */
-public class RawTupleNamedParameteredQuery extends NamedPreparedQueryOperation {
+public class RawTupleNamedParameteredQuery extends NamedPreparedQueryOperation<Tuple> {
+
+    public RawTupleNamedParameteredQuery(@Nonnull final RequeryOperations operations, @Nonnull final String namedQuery) {
+        super(operations, namedQuery);
+    }
+
+    @Nonnull
+    @Override
+    protected Result<Tuple> execute(@Nonnull final Object[] values) {
+        return getOperations().raw(getQuery(), values);
+    }
 }
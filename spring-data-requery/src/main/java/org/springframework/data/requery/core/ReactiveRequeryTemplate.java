@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Blocking JDBC 작업인 {@link RequeryOperations} 호출을 전용 {@link Scheduler} 에서 수행하고, 결과를 {@link Mono} / {@link Flux} 로 반환합니다.
+ * <p>
+ * WebFlux 의 event-loop thread 를 block 하지 않도록 모든 작업은 subscribe 시에 JDBC scheduler 에서 수행됩니다.
+ * JDBC scheduler 의 thread 수는 connection pool 크기 이하로 지정해야 합니다. ({@link #newJdbcScheduler(int)})
+ * <p>
+ * Transaction 은 callback 단위로 적용됩니다. ({@link #inTransaction(Function)})
+ * callback 전체가 하나의 JDBC thread 에서 수행되므로, {@link PlatformTransactionManager} 의 thread 기반 transaction 을 그대로 사용합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+@Getter
+public class ReactiveRequeryTemplate {
+
+    /**
+     * JDBC 작업 전용 {@link Scheduler} 를 생성합니다. thread 수가 고정되므로 동시에 사용하는 connection 수도 제한됩니다.
+     *
+     * @param poolSize thread 수 (connection pool 크기 이하)
+     * @return JDBC 전용 {@link Scheduler}
+     */
+    @Nonnull
+    public static Scheduler newJdbcScheduler(final int poolSize) {
+        Assert.isTrue(poolSize > 0, "poolSize must be greater than 0.");
+        return Schedulers.fromExecutorService(Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("requery-jdbc-")));
+    }
+
+    @Nonnull private final RequeryOperations operations;
+    @Nonnull private final Scheduler scheduler;
+    @Nullable private final TransactionTemplate transactionTemplate;
+
+    public ReactiveRequeryTemplate(@Nonnull final RequeryOperations operations, @Nonnull final Scheduler scheduler) {
+        this(operations, scheduler, null);
+    }
+
+    public ReactiveRequeryTemplate(@Nonnull final RequeryOperations operations,
+                                   @Nonnull final Scheduler scheduler,
+                                   @Nullable final PlatformTransactionManager transactionManager) {
+        Assert.notNull(operations, "operations must not be null.");
+        Assert.notNull(scheduler, "scheduler must not be null.");
+
+        this.operations = operations;
+        this.scheduler = scheduler;
+        this.transactionTemplate = (transactionManager != null) ? new TransactionTemplate(transactionManager) : null;
+    }
+
+    /**
+     * JDBC scheduler 에서 block 을 수행합니다. 결과가 null 이면 empty {@link Mono} 입니다.
+     */
+    @Nonnull
+    public <T> Mono<T> execute(@Nonnull final Function<RequeryOperations, T> block) {
+        return Mono.fromCallable(() -> block.apply(operations)).subscribeOn(scheduler);
+    }
+
+    /**
+     * JDBC scheduler 에서 block 을 수행하고, 결과 목록을 {@link Flux} 로 반환합니다.
+     */
+    @Nonnull
+    public <T> Flux<T> executeMany(@Nonnull final Function<RequeryOperations, ? extends Iterable<T>> block) {
+        return Flux.defer(() -> Flux.fromIterable(block.apply(operations))).subscribeOn(scheduler);
+    }
+
+    /**
+     * JDBC scheduler 에서 cursor 기반의 {@link Stream} 을 열고, subscriber 가 요청한 만큼만 읽습니다.
+     * 완료, 오류, 취소 시에 {@link Stream} 을 close 합니다.
+     * repository 의 {@code streamAll} 처럼 transaction 을 요구하는 Stream 은 사용할 수 없습니다.
+     */
+    @Nonnull
+    public <T> Flux<T> stream(@Nonnull final Function<RequeryOperations, Stream<T>> block) {
+        return Flux.using(() -> block.apply(operations), Flux::fromStream, Stream::close).subscribeOn(scheduler);
+    }
+
+    /**
+     * JDBC scheduler 에서 하나의 transaction 으로 block 을 수행합니다.
+     */
+    @Nonnull
+    public <T> Mono<T> inTransaction(@Nonnull final Function<RequeryOperations, T> block) {
+        return Mono.fromCallable(() -> doInTransaction(block)).subscribeOn(scheduler);
+    }
+
+    /**
+     * JDBC scheduler 에서 하나의 transaction 으로 block 을 수행하고, 결과 목록을 {@link Flux} 로 반환합니다.
+     */
+    @Nonnull
+    public <T> Flux<T> inTransactionMany(@Nonnull final Function<RequeryOperations, ? extends Iterable<T>> block) {
+        return Flux.defer(() -> Flux.fromIterable(doInTransaction(block))).subscribeOn(scheduler);
+    }
+
+    private <T> T doInTransaction(@Nonnull final Function<RequeryOperations, T> block) {
+        if (transactionTemplate != null) {
+            return transactionTemplate.execute(status -> block.apply(operations));
+        }
+        return operations.runInTransaction(() -> block.apply(operations));
+    }
+}
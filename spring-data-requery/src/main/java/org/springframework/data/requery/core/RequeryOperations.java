@@ -16,17 +16,21 @@
 
 package org.springframework.data.requery.core;
 
+import io.requery.EntityCache;
 import io.requery.Transaction;
 import io.requery.TransactionIsolation;
 import io.requery.meta.Attribute;
 import io.requery.meta.EntityModel;
 import io.requery.meta.QueryAttribute;
+import io.requery.meta.Type;
 import io.requery.query.Condition;
 import io.requery.query.Deletion;
 import io.requery.query.Expression;
 import io.requery.query.InsertInto;
+import io.requery.query.NamedExpression;
 import io.requery.query.Insertion;
 import io.requery.query.Result;
+import io.requery.query.Return;
 import io.requery.query.Scalar;
 import io.requery.query.Selection;
 import io.requery.query.Tuple;
@@ -35,16 +39,26 @@ import io.requery.query.element.QueryElement;
 import io.requery.query.function.Count;
 import io.requery.sql.EntityContext;
 import io.requery.sql.EntityDataStore;
+import io.requery.util.CloseableIterator;
 import org.springframework.data.requery.mapping.RequeryMappingContext;
 import org.springframework.data.requery.utils.Iterables;
 import org.springframework.data.requery.utils.RequeryUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
 
@@ -57,12 +71,118 @@ import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
 @ParametersAreNonnullByDefault
 public interface RequeryOperations {
 
+    /**
+     * 존재 여부 조회 시 entity 대신 select 하는 상수
+     */
+    NamedExpression<Integer> EXISTS_EXPRESSION = NamedExpression.of("1", Integer.class);
+
     @Nonnull
     EntityDataStore<Object> getDataStore();
 
     @Nonnull
     RequeryMappingContext getMappingContext();
 
+    /**
+     * IN 절 하나에 포함할 값의 최대 수의 기본값
+     */
+    int DEFAULT_IN_LIST_CHUNK_SIZE = 1000;
+
+    /**
+     * IN 절 하나에 포함할 값의 최대 수. 이보다 많은 값은 여러 질의로 나누어 수행합니다. (0 이하이면 나누지 않습니다)
+     */
+    default int getInListChunkSize() {
+        return DEFAULT_IN_LIST_CHUNK_SIZE;
+    }
+
+    /**
+     * Derived query 의 In / NotIn 조건에 값 목록을 binding 하는 방식 (기본은 {@link InListBindingMode#EXACT})
+     */
+    @Nonnull
+    default InListBindingMode getInListBindingMode() {
+        return InListBindingMode.EXACT;
+    }
+
+    /**
+     * Stream 으로 조회 시 사용할 JDBC fetch size 의 기본값
+     */
+    int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Stream 으로 조회 시 사용할 JDBC fetch size (0 이면 JDBC Driver 기본값을 사용합니다)
+     */
+    default int getStreamFetchSize() {
+        return DEFAULT_STREAM_FETCH_SIZE;
+    }
+
+    /**
+     * 일괄 저장 시 하나의 JDBC batch 에 포함할 entity 수의 기본값
+     */
+    int DEFAULT_BATCH_UPDATE_SIZE = 100;
+
+    /**
+     * 일괄 저장 시 하나의 JDBC batch 에 포함할 entity 수 (0 이하이면 나누지 않습니다)
+     */
+    default int getBatchUpdateSize() {
+        return DEFAULT_BATCH_UPDATE_SIZE;
+    }
+
+    /**
+     * Transaction 이 없을 때, 나누어진 질의들을 병렬로 수행할 {@link Executor}. null 이면 순차적으로 수행합니다.
+     */
+    @Nullable
+    default Executor getQueryExecutor() {
+        return null;
+    }
+
+    /**
+     * Repository method 의 JDBC Statement 에 적용할 질의 timeout (초, 0 이면 제한하지 않습니다)
+     */
+    default int getQueryTimeout() {
+        return 0;
+    }
+
+    /**
+     * Repository method 의 JDBC Statement 에 적용할 최대 row 수 (0 이면 제한하지 않습니다)
+     */
+    default int getMaxRows() {
+        return 0;
+    }
+
+    /**
+     * Repository method 에 적용할 전역 {@link StatementHints}.
+     * {@link org.springframework.data.requery.annotation.QueryHints} 에 지정한 항목은 이 설정보다 우선합니다.
+     */
+    @Nonnull
+    default StatementHints getStatementHints() {
+        return StatementHints.of(getQueryTimeout(), getMaxRows(), 0);
+    }
+
+    /**
+     * {@link #existsById(Class, Object)} 에서 {@link EntityCache} 에 entity 가 있다면 질의 없이 존재한다고 판단할지 여부 (기본은 false)
+     * <p>
+     * raw SQL, {@code @Modifying} 이 아닌 {@code @Query} 질의, 다른 서버에서 삭제한 row 는 cache 에 남아 있으므로,
+     * 이 설정을 사용하면 삭제된 entity 를 존재한다고 판단할 수 있습니다. 삭제가 모두 이 서버의 repository 를 통해 수행되는 경우에만 사용하세요.
+     */
+    default boolean isExistsByIdCacheProbe() {
+        return false;
+    }
+
+    /**
+     * {@code @Query} 질의의 paging 절 생성 방식 (기본은 {@link PagingDialect#LIMIT_OFFSET})
+     */
+    @Nonnull
+    default PagingDialect getPagingDialect() {
+        return PagingDialect.LIMIT_OFFSET;
+    }
+
+    /**
+     * JDBC {@link java.sql.DatabaseMetaData#getDatabaseProductName()} (알 수 없다면 null)
+     */
+    @Nullable
+    default String getDatabaseProductName() {
+        return null;
+    }
+
     default EntityModel getEntityModel() {
         return RequeryUtils.getEntityModel(getDataStore());
     }
@@ -71,6 +191,13 @@ public interface RequeryOperations {
         return getDataStore().transaction();
     }
 
+    /**
+     * {@link EntityDataStore} 에 설정된 {@link EntityCache}
+     */
+    default EntityCache getEntityCache() {
+        return RequeryUtils.getEntityCache(getDataStore());
+    }
+
     @SuppressWarnings("unchecked")
     default <E> EntityContext<E> getEntityContext() {
         return RequeryUtils.getEntityContext(getDataStore());
@@ -97,6 +224,62 @@ public interface RequeryOperations {
         return getDataStore().select(entityType).get().toList();
     }
 
+    /**
+     * 질의 결과를 forward-only cursor 기반의 {@link Stream} 으로 반환합니다.
+     * 결과 전체를 메모리에 올리지 않고 {@link #getStreamFetchSize()} 단위로 읽어오며,
+     * Stream 을 close 하면 ResultSet 도 close 되므로 반드시 try-with-resources 등으로 close 해야 합니다.
+     * <p>
+     * transaction 안에서 호출해야 fetch size 단위로 읽습니다. autocommit Connection 에서는 PostgreSQL 이 fetch size 를 무시하고
+     * 모든 row 를 읽어오며, MySQL 은 {@code useCursorFetch=true} 가 필요합니다.
+     *
+     * @param query 질의
+     * @param <E>   entity type
+     * @return 질의 결과 Stream
+     */
+    default <E> Stream<E> stream(@Nonnull final Return<? extends Result<E>> query) {
+        CloseableIterator<E> cursor = iterator(query);
+        Spliterator<E> spliterator = Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(cursor::close);
+    }
+
+    /**
+     * 질의 결과를 forward-only cursor 기반의 {@link CloseableIterator} 로 반환합니다.
+     * {@link #getStreamFetchSize()} 단위로 읽어오며, 마지막 row 를 읽거나 close 하면 ResultSet 을 close 합니다.
+     *
+     * @param query 질의
+     * @param <E>   entity type
+     * @return 질의 결과 cursor
+     */
+    default <E> CloseableIterator<E> iterator(@Nonnull final Return<? extends Result<E>> query) {
+        Result<E> result = query.get();
+        try {
+            // repository method 에 지정된 hints 가 있다면 stream fetch size 보다 우선합니다.
+            StatementHints hints = getStatementHints().merge(StatementHints.ofFetchSize(getStreamFetchSize())).merge(StatementHints.current());
+            CloseableIterator<E> iterator = StatementHints.withHints(hints, result::iterator);
+            return new ResultCursor<>(result, iterator);
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 질의 결과를 chunkSize 개씩 묶어 반환하는 cursor 입니다. 대량의 결과를 export 할 때, 메모리에는 현재 chunk 만 유지됩니다.
+     *
+     * @param query     질의
+     * @param chunkSize chunk 크기
+     * @param <E>       entity type
+     * @return chunk 단위 cursor
+     */
+    default <E> CloseableIterator<List<E>> iterateInChunks(@Nonnull final Return<? extends Result<E>> query, final int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0.");
+        return new ChunkedIterator<>(iterator(query), chunkSize);
+    }
+
+    default <E> Stream<E> streamAll(@Nonnull final Class<E> entityType) {
+        return stream(select(entityType));
+    }
+
     default <E> E refresh(@Nonnull final E entity) {
         return getDataStore().refresh(entity);
     }
@@ -121,6 +304,29 @@ public interface RequeryOperations {
         return getDataStore().refreshAll(entity);
     }
 
+    /**
+     * entity 들의 association 을 association 별로 IN 질의 ({@link #getInListChunkSize()} 단위) 로 한 번에 로드합니다.
+     * entity 마다 association 을 따로 로드하는 N+1 조회를 막기 위해 사용합니다.
+     *
+     * @param entities     같은 수형의 entity 들
+     * @param associations 로드할 association 속성명 목록
+     * @return entity 목록
+     */
+    default <E> List<E> fetchAssociations(@Nonnull final Iterable<E> entities, final String... associations) {
+        return new AssociationBatchFetcher(this).fetch(entities, associations);
+    }
+
+    /**
+     * 같은 DML 문장을 parameter 값 목록별로 {@link #getBatchUpdateSize()} 단위의 JDBC batch 로 수행합니다.
+     *
+     * @param sql         {@code ?} parameter 를 사용하는 DML 문장
+     * @param batchValues 문장별 {@code ?} 순서의 값
+     * @return 문장별 변경된 row 수
+     */
+    default int[] batchUpdate(@Nonnull final String sql, @Nonnull final Iterable<Object[]> batchValues) {
+        return new BatchUpdateOperation(this).execute(sql, batchValues);
+    }
+
     // @Transactional
     default <E> E upsert(@Nonnull final E entity) {
         return getDataStore().upsert(entity);
@@ -131,6 +337,52 @@ public interface RequeryOperations {
         return Iterables.toList(getDataStore().upsert(entities));
     }
 
+    /**
+     * entity 들을 신규/기존 entity 로 나누어 저장합니다.
+     * <p>
+     * 신규 entity 는 {@link #getBatchUpdateSize()} 단위의 JDBC batch insert 로 저장하고 생성된 key 를 한꺼번에 받아옵니다.
+     * 기존 entity 는 key 가 자동 생성되는 경우에만 존재 여부 조회 없이 {@link #updateAll(Iterable)} 로 update 하고, 그렇지 않으면 upsert 합니다.
+     * ({@link RequeryTemplate} 은 association, version, lifecycle callback 이 없는 entity 를 JDBC batch 로 update 합니다)
+     *
+     * @param entities 저장할 entity 들
+     * @param isNew    신규 entity 인지 판단하는 함수
+     * @param <E>      entity type
+     * @return 저장된 entity 들 (입력 순서 유지)
+     */
+    // @Transactional
+    default <E> List<E> saveAll(@Nonnull final Iterable<E> entities, @Nonnull final Predicate<? super E> isNew) {
+        List<E> results = new ArrayList<>();
+        List<E> newEntities = new ArrayList<>();
+        List<E> persistedEntities = new ArrayList<>();
+
+        for (E entity : entities) {
+            results.add(entity);
+            if (isNew.test(entity)) {
+                newEntities.add(entity);
+            } else {
+                persistedEntities.add(entity);
+            }
+        }
+
+        for (List<E> chunk : Iterables.chunked(newEntities, getBatchUpdateSize())) {
+            getDataStore().insert(chunk);
+        }
+
+        if (!persistedEntities.isEmpty()) {
+            Type<?> type = getEntityModel().typeOf(persistedEntities.get(0).getClass());
+            boolean generatedKey = type.getKeyAttributes().stream().allMatch(Attribute::isGenerated);
+
+            for (List<E> chunk : Iterables.chunked(persistedEntities, getBatchUpdateSize())) {
+                if (generatedKey) {
+                    updateAll(chunk);
+                } else {
+                    upsertAll(chunk);
+                }
+            }
+        }
+        return results;
+    }
+
     default <E> E insert(@Nonnull final E entity) {
         return getDataStore().insert(entity);
     }
@@ -203,6 +455,29 @@ public interface RequeryOperations {
         getDataStore().delete(entities);
     }
 
+    /**
+     * id 목록을 {@link #getInListChunkSize()} 크기로 나누어 {@code DELETE ... WHERE id IN (...)} 로 삭제하고,
+     * 삭제한 entity 들을 {@link EntityCache} 에서 제거합니다.
+     * entity 를 로드하지 않으므로 cascade 삭제는 수행하지 않습니다.
+     *
+     * @param entityType entity type
+     * @param ids        삭제할 entity 의 id 목록
+     * @return 삭제된 row 수
+     */
+    @SuppressWarnings("unchecked")
+    // @Transactional
+    default <E, K> int deleteAllById(@Nonnull final Class<E> entityType, @Nonnull final Iterable<K> ids) {
+        NamedExpression<K> keyExpr = (NamedExpression<K>) RequeryUtils.getKeyExpression(entityType);
+        EntityCache cache = getEntityCache();
+
+        int deletedCount = 0;
+        for (List<K> chunk : Iterables.chunked(ids, getInListChunkSize())) {
+            deletedCount += delete(entityType).where(keyExpr.in(chunk)).get().value();
+            chunk.forEach(id -> cache.invalidate(entityType, id));
+        }
+        return deletedCount;
+    }
+
     // @Transactional
     default <E> Integer deleteAll(@Nonnull final Class<E> entityType) {
         return getDataStore().delete(entityType).get().value();
@@ -224,14 +499,48 @@ public interface RequeryOperations {
         return tuple.<Integer>get(0);
     }
 
+    /**
+     * entity 를 로드하지 않고 지정한 조건의 row 가 존재하는지 조회합니다. ({@code SELECT 1 FROM ... WHERE ... LIMIT 1})
+     * join, group by, having, offset 이 있는 질의는 조건절만으로 같은 결과를 보장할 수 없으므로 질의를 그대로 {@code LIMIT 1} 로 수행합니다.
+     */
+    @SuppressWarnings("unchecked")
     default <E> boolean exists(@Nonnull final Class<E> entityType,
                                @Nonnull final QueryElement<? extends Result<E>> whereClause) {
-        return whereClause.limit(1).get().firstOrNull() != null;
+        boolean whereOnly = CollectionUtils.isEmpty(whereClause.getJoinElements()) &&
+                            CollectionUtils.isEmpty(whereClause.getGroupByExpressions()) &&
+                            CollectionUtils.isEmpty(whereClause.getHavingElements()) &&
+                            whereClause.getOffset() == null;
+        if (!whereOnly) {
+            return whereClause.limit(1).get().firstOrNull() != null;
+        }
+        QueryElement<?> query = RequeryUtils.applyWhereClause(selectExists(entityType), whereClause.getWhereElements());
+        return ((QueryElement<? extends Result<Tuple>>) query).limit(1).get().firstOrNull() != null;
     }
 
     default <E, K> boolean existsBy(@Nonnull final Class<E> entityType,
                                     @Nonnull final Condition<K, ?> condition) {
-        return getDataStore().count(entityType).from(entityType).where(condition).get().value() > 0;
+        return selectExists(entityType).where(condition).limit(1).get().firstOrNull() != null;
+    }
+
+    /**
+     * 지정한 id 의 entity 가 존재하는지 조회합니다.
+     * {@link #isExistsByIdCacheProbe()} 가 true 이고 {@link EntityCache} 에 entity 가 있다면 질의를 수행하지 않습니다.
+     */
+    @SuppressWarnings("unchecked")
+    default <E, K> boolean existsById(@Nonnull final Class<E> entityType, @Nonnull final K id) {
+        if (isExistsByIdCacheProbe() && getEntityCache().contains(entityType, id)) {
+            return true;
+        }
+        NamedExpression<K> keyExpr = (NamedExpression<K>) RequeryUtils.getKeyExpression(entityType);
+        return existsBy(entityType, keyExpr.eq(id));
+    }
+
+    /**
+     * 존재 여부 조회용 질의 ({@code SELECT 1 FROM entity table}) 를 생성합니다.
+     */
+    @SuppressWarnings("unchecked")
+    default <E> QueryElement<? extends Result<Tuple>> selectExists(@Nonnull final Class<E> entityType) {
+        return (QueryElement<? extends Result<Tuple>>) unwrap(select(EXISTS_EXPRESSION).from(entityType));
     }
 
     default Result<Tuple> raw(@Nonnull final String query, final Object... parameters) {
@@ -16,17 +16,27 @@
 
 package org.springframework.data.requery.core;
 
+import io.requery.EntityCache;
 import io.requery.TransactionIsolation;
+import io.requery.sql.ConnectionProvider;
+import io.requery.sql.EntityContext;
 import io.requery.sql.EntityDataStore;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.requery.RequeryExecutionException;
 import org.springframework.data.requery.mapping.RequeryMappingContext;
+import org.springframework.data.requery.utils.RequeryUtils;
 import org.springframework.util.Assert;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -42,6 +52,79 @@ public class RequeryTemplate implements RequeryOperations {
     private final EntityDataStore<Object> dataStore;
     private final RequeryMappingContext mappingContext;
 
+    @Getter(AccessLevel.NONE)
+    private final NativeUpsertOperation upsertOperation;
+
+    @Getter(AccessLevel.NONE)
+    private volatile EntityCache entityCache;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean databaseProductNameResolved;
+
+    @Getter(AccessLevel.NONE)
+    @Nullable
+    private volatile String databaseProductName;
+
+    /**
+     * {@code @Query} 질의의 paging 절 생성 방식 (null 이면 database product name 으로 찾습니다)
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter
+    @Nullable
+    private volatile PagingDialect pagingDialect;
+
+    /**
+     * IN 절 하나에 포함할 값의 최대 수 (0 이하이면 나누지 않습니다)
+     */
+    @Setter
+    private int inListChunkSize = DEFAULT_IN_LIST_CHUNK_SIZE;
+
+    /**
+     * Derived query 의 In / NotIn 조건에 값 목록을 binding 하는 방식
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter
+    @Nonnull
+    private InListBindingMode inListBindingMode = InListBindingMode.EXACT;
+
+    /**
+     * Stream 으로 조회 시 사용할 JDBC fetch size (0 이면 JDBC Driver 기본값)
+     */
+    @Setter
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+
+    /**
+     * 일괄 저장 시 하나의 JDBC batch 에 포함할 entity 수 (0 이하이면 나누지 않습니다)
+     */
+    @Setter
+    private int batchUpdateSize = DEFAULT_BATCH_UPDATE_SIZE;
+
+    /**
+     * Transaction 이 없을 때 나누어진 질의들을 병렬로 수행할 Executor (null 이면 순차 수행)
+     */
+    @Setter
+    @Nullable
+    private Executor queryExecutor;
+
+    /**
+     * Repository method 의 질의 timeout (초, 0 이면 제한하지 않습니다)
+     */
+    @Setter
+    private int queryTimeout;
+
+    /**
+     * Repository method 에서 조회할 최대 row 수 (0 이면 제한하지 않습니다)
+     */
+    @Setter
+    private int maxRows;
+
+    /**
+     * existsById 에서 {@link EntityCache} 에 있는 entity 를 질의 없이 존재한다고 판단할지 여부
+     * (cache 가 오래된 정보를 가질 수 있으므로 기본은 false, see {@link RequeryOperations#isExistsByIdCacheProbe()})
+     */
+    @Setter
+    private boolean existsByIdCacheProbe;
+
     public RequeryTemplate(@Nonnull EntityDataStore<Object> dataStore,
                            @Nonnull RequeryMappingContext mappingContext) {
         Assert.notNull(dataStore, "dataStore must not be null");
@@ -49,6 +132,89 @@ public class RequeryTemplate implements RequeryOperations {
 
         this.dataStore = dataStore;
         this.mappingContext = mappingContext;
+        this.upsertOperation = new NativeUpsertOperation(this);
+    }
+
+    @Override
+    public EntityCache getEntityCache() {
+        if (entityCache == null) {
+            entityCache = RequeryUtils.getEntityCache(dataStore);
+        }
+        return entityCache;
+    }
+
+    /**
+     * {@link InListBindingMode#ARRAY} 는 배열 parameter 를 지원하는 PostgreSQL 에서만 사용하고, 그 외에는 {@link InListBindingMode#PADDED} 를 사용합니다.
+     */
+    @Nonnull
+    @Override
+    public InListBindingMode getInListBindingMode() {
+        if (inListBindingMode == InListBindingMode.ARRAY && !InListBindingMode.supportsArrayParameter(getDatabaseProductName())) {
+            return InListBindingMode.PADDED;
+        }
+        return inListBindingMode;
+    }
+
+    /**
+     * JDBC connection 의 database 에 맞는 paging 절 생성 방식
+     */
+    @Nonnull
+    @Override
+    public PagingDialect getPagingDialect() {
+        if (pagingDialect == null) {
+            String productName = getDatabaseProductName();
+            pagingDialect = PagingDialect.of(productName);
+            log.info("Resolve paging dialect. database={}, dialect={}", productName, pagingDialect);
+        }
+        return pagingDialect;
+    }
+
+    /**
+     * JDBC connection 의 database product name. 처음 호출 시 한 번만 조회합니다.
+     */
+    @Nullable
+    @Override
+    public String getDatabaseProductName() {
+        if (!databaseProductNameResolved) {
+            synchronized (this) {
+                if (!databaseProductNameResolved) {
+                    databaseProductName = resolveDatabaseProductName();
+                    databaseProductNameResolved = true;
+                }
+            }
+        }
+        return databaseProductName;
+    }
+
+    @Nullable
+    private String resolveDatabaseProductName() {
+        EntityContext<Object> context = getEntityContext();
+        if (!(context instanceof ConnectionProvider)) {
+            log.info("Cannot access JDBC connection of EntityDataStore. database product name is unknown.");
+            return null;
+        }
+        try (Connection connection = ((ConnectionProvider) context).getConnection()) {
+            return connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            log.warn("Fail to get database product name.", e);
+            return null;
+        }
+    }
+
+    /**
+     * 지원하는 database 라면 단일 문장 upsert 를 batch 로 수행합니다. (see {@link NativeUpsertOperation})
+     */
+    @Override
+    public <E> List<E> upsertAll(@Nonnull final Iterable<E> entities) {
+        return upsertOperation.upsertAll(entities);
+    }
+
+    /**
+     * 기존 entity 들을 JDBC batch 로 update 합니다. (see {@link NativeUpsertOperation#updateAll(Iterable)})
+     */
+    @Override
+    public <E> List<E> updateAll(@Nonnull final Iterable<E> entities) {
+        return upsertOperation.updateAll(entities);
     }
 
     @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import io.requery.query.Result;
+import io.requery.util.CloseableIterator;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.NoSuchElementException;
+
+/**
+ * 질의 결과를 forward-only cursor 로 읽는 {@link CloseableIterator} 입니다.
+ * 마지막 row 를 읽거나 {@link #close()} 를 호출하면 ResultSet, Statement 와 {@link Result} 를 close 합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class ResultCursor<E> implements CloseableIterator<E> {
+
+    private final Result<E> result;
+    private final CloseableIterator<E> iterator;
+    private boolean closed;
+
+    ResultCursor(@Nonnull final Result<E> result, @Nonnull final CloseableIterator<E> iterator) {
+        this.result = result;
+        this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (iterator.hasNext()) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return iterator.next();
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                iterator.close();
+            } finally {
+                result.close();
+            }
+            log.trace("Close result cursor.");
+        }
+    }
+}
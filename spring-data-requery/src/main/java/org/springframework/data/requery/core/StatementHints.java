@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import lombok.Getter;
+import org.springframework.data.requery.annotation.QueryHints;
+import org.springframework.data.requery.domain.ToStringBuilder;
+import org.springframework.data.requery.listeners.StatementHintsListener;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.function.Supplier;
+
+/**
+ * 현재 Thread 에서 실행되는 JDBC {@link java.sql.Statement} 에 적용할 설정입니다.
+ * requery 는 Statement 설정을 지정하는 API 를 제공하지 않으므로, {@link StatementHintsListener} 가 질의 실행 직전에 적용합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+public final class StatementHints {
+
+    private static final ThreadLocal<StatementHints> currentHints = new ThreadLocal<>();
+
+    /**
+     * 아무 설정도 적용하지 않는 hints
+     */
+    public static final StatementHints NONE = new StatementHints(0, 0, 0);
+
+    /**
+     * 질의 timeout (초, 0 이면 제한하지 않습니다)
+     */
+    private final int queryTimeout;
+
+    /**
+     * 조회할 최대 row 수 (0 이면 제한하지 않습니다)
+     */
+    private final int maxRows;
+
+    /**
+     * JDBC fetch size (0 이면 JDBC Driver 기본값을 사용합니다)
+     */
+    private final int fetchSize;
+
+    @Nonnull
+    public static StatementHints of(final int queryTimeout, final int maxRows, final int fetchSize) {
+        return (queryTimeout <= 0 && maxRows <= 0 && fetchSize <= 0)
+               ? NONE
+               : new StatementHints(queryTimeout, maxRows, fetchSize);
+    }
+
+    @Nonnull
+    public static StatementHints ofFetchSize(final int fetchSize) {
+        return of(0, 0, fetchSize);
+    }
+
+    /**
+     * {@link QueryHints} 에 지정한 설정으로 hints 를 생성합니다.
+     */
+    @Nonnull
+    public static StatementHints from(@Nullable final QueryHints queryHints) {
+        return (queryHints != null)
+               ? of(queryHints.timeout(), queryHints.maxRows(), queryHints.fetchSize())
+               : NONE;
+    }
+
+    private StatementHints(final int queryTimeout, final int maxRows, final int fetchSize) {
+        this.queryTimeout = Math.max(queryTimeout, 0);
+        this.maxRows = Math.max(maxRows, 0);
+        this.fetchSize = Math.max(fetchSize, 0);
+    }
+
+    /**
+     * 지정된 설정이 없는지 여부
+     */
+    public boolean isEmpty() {
+        return queryTimeout == 0 && maxRows == 0 && fetchSize == 0;
+    }
+
+    /**
+     * 이 hints 를 기본값으로 하고, other 에 지정된 (0 이 아닌) 설정으로 덮어쓴 hints 를 반환합니다.
+     *
+     * @param other 우선 적용할 hints
+     * @return 병합된 hints
+     */
+    @Nonnull
+    public StatementHints merge(@Nullable final StatementHints other) {
+        if (other == null || other.isEmpty()) {
+            return this;
+        }
+        return of((other.queryTimeout != 0) ? other.queryTimeout : queryTimeout,
+                  (other.maxRows != 0) ? other.maxRows : maxRows,
+                  (other.fetchSize != 0) ? other.fetchSize : fetchSize);
+    }
+
+    /**
+     * 현재 Thread 에 지정된 hints (없다면 defaults) 에 method 의 hints 를 덮어쓴 hints 를 반환합니다.
+     * repository method 안에서 다른 repository method 를 호출하면 바깥 method 의 설정을 이어 받습니다.
+     *
+     * @param defaults 전역 설정
+     * @param hints    method 에 지정한 설정
+     * @return 적용할 hints
+     */
+    @Nonnull
+    public static StatementHints resolve(@Nonnull final StatementHints defaults, @Nullable final StatementHints hints) {
+        StatementHints current = currentHints.get();
+        return ((current != null) ? current : defaults).merge(hints);
+    }
+
+    /**
+     * 현재 Thread 에 지정된 {@link StatementHints} 를 반환합니다.
+     */
+    @Nullable
+    public static StatementHints current() {
+        return currentHints.get();
+    }
+
+    /**
+     * 지정한 hints 를 적용한 상태로 block 을 수행합니다.
+     *
+     * @param hints 적용할 {@link StatementHints}
+     * @param block 수행할 코드 블럭
+     * @param <V>   반환 수형
+     * @return block 수행 결과
+     */
+    public static <V> V withHints(@Nonnull final StatementHints hints, @Nonnull final Supplier<V> block) {
+        Assert.notNull(hints, "hints must not be null.");
+        Assert.notNull(block, "block must not be null.");
+
+        StatementHints previous = currentHints.get();
+        currentHints.set(hints);
+        try {
+            return block.get();
+        } finally {
+            if (previous != null) {
+                currentHints.set(previous);
+            } else {
+                currentHints.remove();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.of(this)
+            .add("queryTimeout", queryTimeout)
+            .add("maxRows", maxRows)
+            .add("fetchSize", fetchSize)
+            .toString();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Database 별 단일 문장 upsert (MERGE / ON CONFLICT / ON DUPLICATE KEY) SQL 생성기
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public enum UpsertDialect {
+
+    /**
+     * {@code MERGE INTO table (columns) KEY (keys) VALUES (...)}
+     */
+    H2 {
+        @Nonnull
+        @Override
+        public String buildSql(@Nonnull final String table,
+                               @Nonnull final List<String> columns,
+                               @Nonnull final List<String> keyColumns) {
+            return "MERGE INTO " + table + " (" + String.join(", ", columns) + ")" +
+                   " KEY (" + String.join(", ", keyColumns) + ")" +
+                   " VALUES (" + placeholders(columns) + ")";
+        }
+    },
+
+    /**
+     * {@code INSERT INTO table (columns) VALUES (...) ON CONFLICT (keys) DO UPDATE SET column = EXCLUDED.column}
+     */
+    POSTGRESQL {
+        @Nonnull
+        @Override
+        public String buildSql(@Nonnull final String table,
+                               @Nonnull final List<String> columns,
+                               @Nonnull final List<String> keyColumns) {
+            List<String> valueColumns = valueColumns(columns, keyColumns);
+            String onConflict = valueColumns.isEmpty()
+                                ? "DO NOTHING"
+                                : "DO UPDATE SET " + valueColumns.stream()
+                                    .map(column -> column + " = EXCLUDED." + column)
+                                    .collect(Collectors.joining(", "));
+
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ")" +
+                   " VALUES (" + placeholders(columns) + ")" +
+                   " ON CONFLICT (" + String.join(", ", keyColumns) + ") " + onConflict;
+        }
+    },
+
+    /**
+     * {@code INSERT INTO table (columns) VALUES (...) ON DUPLICATE KEY UPDATE column = VALUES(column)}
+     */
+    MYSQL {
+        @Nonnull
+        @Override
+        public String buildSql(@Nonnull final String table,
+                               @Nonnull final List<String> columns,
+                               @Nonnull final List<String> keyColumns) {
+            List<String> valueColumns = valueColumns(columns, keyColumns);
+            if (valueColumns.isEmpty()) {
+                valueColumns = keyColumns;
+            }
+            String onDuplicate = valueColumns.stream()
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ")" +
+                   " VALUES (" + placeholders(columns) + ")" +
+                   " ON DUPLICATE KEY UPDATE " + onDuplicate;
+        }
+    };
+
+    /**
+     * upsert 문장을 생성합니다. parameter 순서는 columns 순서와 같습니다.
+     *
+     * @param table      table name
+     * @param columns    저장할 모든 column (key column 포함)
+     * @param keyColumns key column
+     * @return upsert SQL
+     */
+    @Nonnull
+    public abstract String buildSql(@Nonnull final String table,
+                                    @Nonnull final List<String> columns,
+                                    @Nonnull final List<String> keyColumns);
+
+    /**
+     * JDBC {@link java.sql.DatabaseMetaData#getDatabaseProductName()} 으로 지원하는 dialect 를 찾습니다.
+     *
+     * @param databaseProductName database product name
+     * @return 지원하는 dialect, 지원하지 않는 database 라면 null
+     */
+    @Nullable
+    public static UpsertDialect of(@Nullable final String databaseProductName) {
+        if (databaseProductName == null) {
+            return null;
+        }
+        String name = databaseProductName.toLowerCase(Locale.ROOT);
+
+        if (name.contains("h2")) {
+            return H2;
+        }
+        if (name.contains("postgres")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        return null;
+    }
+
+    private static String placeholders(final List<String> columns) {
+        return columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+    }
+
+    private static List<String> valueColumns(final List<String> columns, final List<String> keyColumns) {
+        return columns.stream()
+            .filter(column -> !keyColumns.contains(column))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.domain;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Keyset (seek) 방식의 paging 정보를 나타냅니다.
+ * <p>
+ * OFFSET 대신 이전 Window 의 마지막 row 의 정렬 키 값(continuation token)을 기준으로 다음 Window 를 조회하므로,
+ * 페이지가 깊어져도 첫 페이지와 같은 비용으로 조회할 수 있습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+public class KeysetPageable implements Serializable {
+
+    private static final long serialVersionUID = -2193358271532866170L;
+
+    private final int size;
+    @Nonnull private final Sort sort;
+
+    /**
+     * 이전 Window 의 마지막 row 의 정렬 키 값들 (Sort 속성 순서 + Key 속성). 첫 Window 인 경우 null
+     */
+    @Nullable private final Object[] keys;
+
+    /**
+     * 첫번째 Window 를 조회하기 위한 {@link KeysetPageable} 을 생성합니다.
+     *
+     * @param size Window 크기
+     * @return {@link KeysetPageable} instance
+     */
+    @Nonnull
+    public static KeysetPageable of(final int size) {
+        return of(size, Sort.unsorted());
+    }
+
+    /**
+     * 첫번째 Window 를 조회하기 위한 {@link KeysetPageable} 을 생성합니다.
+     *
+     * @param size Window 크기
+     * @param sort 정렬 조건 (Key 속성은 자동으로 마지막 정렬 조건으로 추가되고, null 처리 방식이 없으면 NULLS LAST 로 정렬합니다)
+     * @return {@link KeysetPageable} instance
+     */
+    @Nonnull
+    public static KeysetPageable of(final int size, @Nonnull final Sort sort) {
+        return new KeysetPageable(size, sort, null);
+    }
+
+    /**
+     * 이전 Window 에서 받은 continuation token 으로 다음 Window 를 조회하기 위한 {@link KeysetPageable} 을 생성합니다.
+     *
+     * @param size Window 크기
+     * @param sort 정렬 조건
+     * @param keys 이전 Window 마지막 row 의 정렬 키 값들
+     * @return {@link KeysetPageable} instance
+     */
+    @Nonnull
+    public static KeysetPageable of(final int size, @Nonnull final Sort sort, @Nullable final Object[] keys) {
+        return new KeysetPageable(size, sort, keys);
+    }
+
+    protected KeysetPageable(final int size, @Nonnull final Sort sort, @Nullable final Object[] keys) {
+        Assert.isTrue(size > 0, "size must be greater than 0.");
+        Assert.notNull(sort, "sort must not be null.");
+
+        this.size = size;
+        this.sort = sort;
+        this.keys = keys;
+    }
+
+    /**
+     * 첫번째 Window 인지 여부 (continuation token 이 없는 경우)
+     */
+    public boolean isFirst() {
+        return keys == null || keys.length == 0;
+    }
+
+    /**
+     * 현 정보에 continuation token 을 적용한 다음 Window 용 {@link KeysetPageable} 을 반환합니다.
+     *
+     * @param nextKeys 현재 Window 의 마지막 row 의 정렬 키 값들
+     * @return 다음 Window 용 {@link KeysetPageable}
+     */
+    @Nonnull
+    public KeysetPageable next(@Nonnull final Object[] nextKeys) {
+        Assert.notEmpty(nextKeys, "nextKeys must not be empty.");
+        return new KeysetPageable(size, sort, nextKeys);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof KeysetPageable)) {
+            return false;
+        }
+        KeysetPageable that = (KeysetPageable) obj;
+        return size == that.size &&
+               sort.equals(that.sort) &&
+               Arrays.equals(keys, that.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, sort, Arrays.hashCode(keys));
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.of(this)
+            .add("size", size)
+            .add("sort", sort)
+            .add("keys", Arrays.toString(keys))
+            .toString();
+    }
+}
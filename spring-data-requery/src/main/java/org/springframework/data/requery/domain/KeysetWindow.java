@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.domain;
+
+import lombok.Getter;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keyset (seek) paging 으로 조회한 결과 Window 입니다.
+ * 다음 Window 가 있다면 {@link #nextPageable()} 로 continuation token 이 적용된 {@link KeysetPageable} 을 얻을 수 있습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+public class KeysetWindow<T> implements Iterable<T> {
+
+    @Nonnull private final List<T> content;
+    @Nonnull private final KeysetPageable pageable;
+    @Nullable private final Object[] nextKeys;
+
+    public KeysetWindow(@Nonnull final List<T> content,
+                        @Nonnull final KeysetPageable pageable,
+                        @Nullable final Object[] nextKeys) {
+        Assert.notNull(content, "content must not be null.");
+        Assert.notNull(pageable, "pageable must not be null.");
+
+        this.content = Collections.unmodifiableList(content);
+        this.pageable = pageable;
+        this.nextKeys = nextKeys;
+    }
+
+    public int size() {
+        return content.size();
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    public boolean hasNext() {
+        return nextKeys != null;
+    }
+
+    /**
+     * 다음 Window 를 조회하기 위한 {@link KeysetPageable} 을 반환합니다.
+     *
+     * @return 다음 Window 용 {@link KeysetPageable}
+     * @throws IllegalStateException 다음 Window 가 없는 경우
+     */
+    @Nonnull
+    public KeysetPageable nextPageable() {
+        Assert.state(nextKeys != null, "No more window.");
+        return pageable.next(nextKeys);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.of(this)
+            .add("size", content.size())
+            .add("pageable", pageable)
+            .add("hasNext", hasNext())
+            .toString();
+    }
+}
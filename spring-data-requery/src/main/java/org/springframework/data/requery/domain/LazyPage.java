@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.domain;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 전체 건수를 실제로 요청할 때({@link #getTotalElements()}, {@link #getTotalPages()})에만 count 질의를 수행하는 {@link Page} 입니다.
+ * <p>
+ * 다음 페이지 존재 여부는 content 조회 시 한 건을 더 조회하여 판단하고,
+ * 마지막 페이지라면 offset 과 content 크기로 전체 건수를 계산하므로 count 질의를 수행하지 않습니다.
+ * <p>
+ * NOTE: count 질의는 {@link #getTotalElements()} 호출 시점에 수행되므로, Transaction 범위 밖에서 호출될 수 있습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class LazyPage<T> extends SliceImpl<T> implements Page<T> {
+
+    private static final long serialVersionUID = 3186394201558129433L;
+
+    private final transient LongSupplier totalSupplier;
+    private volatile Long total;
+
+    public LazyPage(@Nonnull final List<T> content,
+                    @Nonnull final Pageable pageable,
+                    final boolean hasNext,
+                    @Nonnull final LongSupplier totalSupplier) {
+        super(content, pageable, hasNext);
+
+        Assert.notNull(totalSupplier, "totalSupplier must not be null.");
+        this.totalSupplier = totalSupplier;
+    }
+
+    /**
+     * count 질의가 이미 수행되었거나, 수행하지 않고도 전체 건수를 알 수 있는지 여부
+     */
+    public boolean isTotalResolved() {
+        return total != null || !hasNext();
+    }
+
+    @Override
+    public long getTotalElements() {
+        Long result = total;
+        if (result == null) {
+            result = hasNext()
+                     ? totalSupplier.getAsLong()
+                     : getPageable().getOffset() + getNumberOfElements();
+            total = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return getSize() == 0 ? 1 : (int) Math.ceil((double) getTotalElements() / (double) getSize());
+    }
+
+    @Nonnull
+    @Override
+    public <U> LazyPage<U> map(@Nonnull final Function<? super T, ? extends U> converter) {
+        return new LazyPage<>(getConvertedContent(converter), getPageable(), hasNext(), this::getTotalElements);
+    }
+
+    @Override
+    public String toString() {
+        String contentType = "UNKNOWN";
+        List<T> content = getContent();
+
+        if (!content.isEmpty()) {
+            contentType = content.get(0).getClass().getName();
+        }
+
+        return String.format("LazyPage %s of %s containing %s instances",
+                             getNumber() + 1,
+                             isTotalResolved() ? String.valueOf(getTotalPages()) : "?",
+                             contentType);
+    }
+}
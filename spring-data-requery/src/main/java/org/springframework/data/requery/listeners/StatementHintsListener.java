@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.listeners;
+
+import io.requery.sql.BoundParameters;
+import io.requery.sql.StatementListener;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.requery.core.StatementHints;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNullableByDefault;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 현재 Thread 에 지정된 {@link StatementHints} 를 질의 실행 직전의 JDBC {@link Statement} 에 적용하는 listener 입니다.
+ * 실행 후에는 Statement cache 로 재사용되는 Statement 에 hint 가 남지 않도록, 변경한 설정만 원래 값으로 되돌립니다.
+ * requery {@link io.requery.sql.Configuration} 에 등록해야 합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+@ParametersAreNullableByDefault
+public class StatementHintsListener implements StatementListener {
+
+    /**
+     * hint 를 적용한 Statement 별 원래 설정 값
+     */
+    private static final ThreadLocal<Map<Statement, OriginalSettings>> appliedStatements =
+        ThreadLocal.withInitial(IdentityHashMap::new);
+
+    @Override
+    public void beforeExecuteQuery(@Nullable final Statement statement,
+                                   final String sql,
+                                   final BoundParameters parameters) {
+        applyHints(statement, true);
+    }
+
+    @Override
+    public void afterExecuteQuery(@Nullable final Statement statement) {
+        resetHints(statement);
+    }
+
+    @Override
+    public void beforeExecuteUpdate(@Nullable final Statement statement,
+                                    final String sql,
+                                    final BoundParameters parameters) {
+        applyHints(statement, false);
+    }
+
+    @Override
+    public void afterExecuteUpdate(@Nullable final Statement statement, int count) {
+        resetHints(statement);
+    }
+
+    @Override
+    public void beforeExecuteBatchUpdate(@Nullable final Statement statement, final String sql) {
+        applyHints(statement, false);
+    }
+
+    @Override
+    public void afterExecuteBatchUpdate(@Nullable final Statement statement, int[] count) {
+        resetHints(statement);
+    }
+
+    /**
+     * hint 를 적용하기 전에 원래 설정 값을 기록합니다. max rows, fetch size 는 조회 질의에만 적용합니다.
+     */
+    private static void applyHints(@Nullable final Statement statement, final boolean query) {
+        StatementHints hints = StatementHints.current();
+        if (statement == null || hints == null) {
+            return;
+        }
+
+        OriginalSettings original = new OriginalSettings();
+        try {
+            if (hints.getQueryTimeout() != 0) {
+                log.trace("Apply query timeout. queryTimeout={}", hints.getQueryTimeout());
+                original.queryTimeout = statement.getQueryTimeout();
+                statement.setQueryTimeout(hints.getQueryTimeout());
+            }
+            if (query && hints.getMaxRows() != 0) {
+                log.trace("Apply max rows. maxRows={}", hints.getMaxRows());
+                original.maxRows = statement.getMaxRows();
+                statement.setMaxRows(hints.getMaxRows());
+            }
+            if (query && hints.getFetchSize() != 0) {
+                log.trace("Apply fetch size. fetchSize={}", hints.getFetchSize());
+                original.fetchSize = statement.getFetchSize();
+                statement.setFetchSize(hints.getFetchSize());
+            }
+        } catch (SQLException e) {
+            log.warn("Fail to apply statement hints. hints={}", hints, e);
+        } finally {
+            if (!original.isEmpty()) {
+                Map<Statement, OriginalSettings> applied = appliedStatements.get();
+                // 실행 중 예외로 되돌리지 못하고 닫힌 Statement 는 제거합니다.
+                applied.keySet().removeIf(StatementHintsListener::isClosed);
+                applied.put(statement, original);
+            }
+        }
+    }
+
+    private static boolean isClosed(final Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * {@link #applyHints(Statement, boolean)} 에서 변경한 설정만 원래 값으로 되돌립니다.
+     */
+    private static void resetHints(@Nullable final Statement statement) {
+        if (statement == null) {
+            return;
+        }
+
+        OriginalSettings original = appliedStatements.get().remove(statement);
+        if (original == null) {
+            return;
+        }
+
+        try {
+            if (original.queryTimeout != null) {
+                statement.setQueryTimeout(original.queryTimeout);
+            }
+            if (original.maxRows != null) {
+                statement.setMaxRows(original.maxRows);
+            }
+            if (original.fetchSize != null) {
+                statement.setFetchSize(original.fetchSize);
+            }
+        } catch (SQLException e) {
+            log.debug("Fail to reset statement hints. original={}", original, e);
+        }
+    }
+
+    @ToString
+    private static final class OriginalSettings {
+
+        @Nullable Integer queryTimeout;
+        @Nullable Integer maxRows;
+        @Nullable Integer fetchSize;
+
+        boolean isEmpty() {
+            return queryTimeout == null && maxRows == null && fetchSize == null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository;
+
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@link reactor.core.publisher.Mono} / {@link reactor.core.publisher.Flux} 를 반환하는 Requery Repository 입니다.
+ * CRUD 와 derived query 는 {@link ReactiveRequeryTemplate} 의 JDBC 전용 scheduler 에서 수행되므로, event-loop thread 를 block 하지 않습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@NoRepositoryBean
+public interface ReactiveRequeryRepository<T, ID> extends ReactiveSortingRepository<T, ID> {
+
+    @Nonnull
+    ReactiveRequeryTemplate getTemplate();
+
+}
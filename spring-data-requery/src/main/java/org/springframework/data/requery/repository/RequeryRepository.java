@@ -18,18 +18,27 @@ package org.springframework.data.requery.repository;
 
 import io.requery.Transaction;
 import io.requery.meta.Attribute;
+import io.requery.query.Condition;
+import io.requery.util.CloseableIterator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.KeysetPageable;
+import org.springframework.data.requery.domain.KeysetWindow;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * RequeryRepository
@@ -57,10 +66,72 @@ public interface RequeryRepository<T, ID>
     @Nonnull
     List<T> findAll(@Nonnull final Sort sort);
 
+    /**
+     * 모든 엔티티를 forward-only cursor 기반의 {@link Stream} 으로 조회합니다.
+     * 테이블 크기와 무관하게 {@link RequeryOperations#getStreamFetchSize()} 만큼만 메모리에 올리며,
+     * 사용 후 반드시 Stream 을 close 해야 합니다.
+     * <p>
+     * Stream 은 호출자의 (read-only) transaction 안에서 모두 읽어야 하며, transaction 이 없다면
+     * {@link org.springframework.dao.InvalidDataAccessApiUsageException} 을 던집니다.
+     * autocommit Connection 에서는 PostgreSQL 이 fetch size 를 무시하고, MySQL 은 {@code useCursorFetch=true} 가 필요합니다.
+     *
+     * @return 엔티티 Stream
+     */
+    @Nonnull
+    Stream<T> streamAll();
+
+    /**
+     * 정렬된 모든 엔티티를 forward-only cursor 기반의 {@link Stream} 으로 조회합니다. 사용 후 반드시 Stream 을 close 해야 합니다.
+     *
+     * @param sort 정렬 조건
+     * @return 엔티티 Stream
+     */
+    @Nonnull
+    Stream<T> streamAll(@Nonnull final Sort sort);
+
+    /**
+     * 조건에 해당하는 엔티티들을 forward-only cursor 기반의 {@link Stream} 으로 조회합니다. 사용 후 반드시 Stream 을 close 해야 합니다.
+     *
+     * @param conditions 조회 조건
+     * @return 엔티티 Stream
+     */
+    @Nonnull
+    Stream<T> streamAll(@Nonnull final Iterable<Condition<T, ?>> conditions);
+
+    /**
+     * 모든 엔티티를 forward-only cursor 에서 chunkSize 개씩 묶어 조회합니다. 대량 export 시 메모리에는 현재 chunk 만 유지됩니다.
+     * 마지막 chunk 를 읽으면 cursor 가 close 되며, 중간에 멈춘다면 반드시 close 해야 합니다.
+     * {@link #streamAll()} 과 마찬가지로 호출자의 transaction 이 있어야 합니다.
+     *
+     * @param chunkSize chunk 크기
+     * @return chunk 단위 cursor
+     */
+    @Nonnull
+    CloseableIterator<List<T>> iterateAll(final int chunkSize);
+
+    /**
+     * Keyset (seek) 방식으로 paging 합니다. OFFSET 을 사용하지 않으므로 깊은 페이지도 첫 페이지와 같은 비용으로 조회합니다.
+     *
+     * @param pageable keyset paging 정보 (첫 Window 또는 이전 Window 의 {@link KeysetWindow#nextPageable()})
+     * @return 조회된 {@link KeysetWindow}
+     */
+    @Nonnull
+    KeysetWindow<T> findAll(@Nonnull final KeysetPageable pageable);
+
     @Override
     @Nonnull
     List<T> findAllById(@Nonnull final Iterable<ID> ids);
 
+    /**
+     * 지정한 id 들에 해당하는 엔티티들을 조회합니다. id 가 많은 경우 IN 절을 나누어 질의합니다.
+     *
+     * @param ids           조회할 엔티티의 id 들
+     * @param preserveOrder 결과를 ids 의 순서대로 정렬할지 여부
+     * @return 조회된 엔티티들
+     */
+    @Nonnull
+    List<T> findAllById(@Nonnull final Iterable<ID> ids, final boolean preserveOrder);
+
     @Override
     @Nonnull
     <S extends T> List<S> saveAll(@Nonnull final Iterable<S> entities);
@@ -94,6 +165,54 @@ public interface RequeryRepository<T, ID>
     @Nonnull
     <S extends T> S refreshAll(@Nonnull final S entity);
 
+    /**
+     * 엔티티들의 association 을 association 별로 한 번의 IN 질의로 로드합니다. (엔티티마다 association 을 로드하는 N+1 조회 방지)
+     * Query method 에는 {@link org.springframework.data.requery.annotation.FetchAssociations} 를 사용할 수 있습니다.
+     *
+     * @param entities     엔티티들
+     * @param associations 로드할 association 속성명 목록
+     * @return 엔티티들
+     */
+    @Nonnull
+    <S extends T> List<S> fetchAssociations(@Nonnull final Iterable<S> entities, final String... associations);
+
+    /**
+     * {@link #findById(Object)} 를 {@link RequeryOperations#getQueryExecutor()} 에서 비동기로 수행합니다.
+     * {@code CompletableFuture} 를 반환하는 다른 method (query method 포함) 도 같은 executor 에서 수행됩니다.
+     */
+    @Nonnull
+    CompletableFuture<Optional<T>> findByIdAsync(@Nonnull final ID id);
+
+    /**
+     * {@link #findAllById(Iterable)} 를 비동기로 수행합니다.
+     */
+    @Nonnull
+    CompletableFuture<List<T>> findAllByIdAsync(@Nonnull final Iterable<ID> ids);
+
+    /**
+     * {@link #findAll(Pageable)} 를 비동기로 수행합니다.
+     */
+    @Nonnull
+    CompletableFuture<Page<T>> findAllAsync(@Nonnull final Pageable pageable);
+
+    /**
+     * {@link #count()} 를 비동기로 수행합니다.
+     */
+    @Nonnull
+    CompletableFuture<Long> countAsync();
+
+    /**
+     * {@link #save(Object)} 를 비동기로 수행합니다. transaction 은 executor 의 thread 에서 수행됩니다.
+     */
+    @Nonnull
+    <S extends T> CompletableFuture<S> saveAsync(@Nonnull final S entity);
+
+    /**
+     * {@link #saveAll(Iterable)} 를 비동기로 수행합니다. transaction 은 executor 의 thread 에서 수행됩니다.
+     */
+    @Nonnull
+    <S extends T> CompletableFuture<List<S>> saveAllAsync(@Nonnull final Iterable<S> entities);
+
     void deleteInBatch(@Nonnull final Iterable<T> entities);
 
     int deleteAllInBatch();
@@ -16,6 +16,7 @@
 
 package org.springframework.data.requery.repository;
 
+import io.requery.meta.Attribute;
 import io.requery.query.Condition;
 import io.requery.query.Result;
 import io.requery.query.Return;
@@ -28,6 +29,7 @@ import org.springframework.data.repository.NoRepositoryBean;
 
 import javax.annotation.Nonnull;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -69,4 +71,15 @@ public interface RequeryWhereExecutor<T> {
      * @return 조건절에 해당하는 엔티티 존재 여부
      */
     boolean exists(@Nonnull final QueryElement<? extends Result<T>> whereClause);
+
+    /**
+     * 조건에 해당하는 엔티티들을 단일 UPDATE 문으로 갱신합니다. ({@code UPDATE ... SET ... WHERE ...})
+     * 엔티티를 로드하지 않으며, 갱신 후 해당 엔티티 수형의 cache 를 무효화합니다.
+     *
+     * @param conditions  Where 조건 (모두 AND 로 결합합니다)
+     * @param assignments 갱신할 속성과 값
+     * @return 갱신된 엔티티 수
+     */
+    int updateAll(@Nonnull final Iterable<Condition<T, ?>> conditions,
+                  @Nonnull final Map<? extends Attribute<T, ?>, ?> assignments);
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.requery.repository.config;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.config.DefaultRepositoryBaseClass;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.requery.repository.ReactiveRequeryRepository;
+import org.springframework.data.requery.repository.support.ReactiveRequeryRepositoryFactoryBean;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@link ReactiveRequeryRepository}가 자동으로 instancing 되도록 합니다.
+ * {@link org.springframework.data.requery.core.ReactiveRequeryTemplate} Bean 이 등록되어 있어야 합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@Import(ReactiveRequeryRepositoriesRegistrar.class)
+public @interface EnableReactiveRequeryRepositories {
+
+    String[] value() default {};
+
+    String[] basePackages() default {};
+
+    Class<?>[] basePackageClasses() default {};
+
+    ComponentScan.Filter[] includeFilters() default {};
+
+    ComponentScan.Filter[] excludeFilters() default {};
+
+    String repositoryImplementationPostfix() default "Impl";
+
+    String namedQueriesLocation() default "";
+
+    QueryLookupStrategy.Key queryLookupStrategy() default QueryLookupStrategy.Key.CREATE_IF_NOT_FOUND;
+
+    Class<?> repositoryFactoryBeanClass() default ReactiveRequeryRepositoryFactoryBean.class;
+
+    Class<?> repositoryBaseClass() default DefaultRepositoryBaseClass.class;
+
+    boolean considerNestedRepositories() default false;
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.requery.repository.config;
+
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.data.repository.config.RepositoryBeanDefinitionRegistrarSupport;
+import org.springframework.data.repository.config.RepositoryConfigurationExtension;
+
+import javax.annotation.Nonnull;
+import java.lang.annotation.Annotation;
+
+/**
+ * {@link ImportBeanDefinitionRegistrar} to enable {@link EnableReactiveRequeryRepositories} annotation.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class ReactiveRequeryRepositoriesRegistrar extends RepositoryBeanDefinitionRegistrarSupport {
+
+    @Nonnull
+    @Override
+    protected Class<? extends Annotation> getAnnotation() {
+        return EnableReactiveRequeryRepositories.class;
+    }
+
+    @Nonnull
+    @Override
+    protected RepositoryConfigurationExtension getExtension() {
+        return new ReactiveRequeryRepositoryConfigurationExtension();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.requery.repository.config;
+
+import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.requery.repository.ReactiveRequeryRepository;
+import org.springframework.data.requery.repository.support.ReactiveRequeryRepositoryFactoryBean;
+
+import javax.annotation.Nonnull;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * {@link ReactiveRequeryRepository} 환경 설정을 수행하는 클래스.
+ * {@code Mono}, {@code Flux} 등 reactive 수형을 반환하는 repository 만 등록합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class ReactiveRequeryRepositoryConfigurationExtension extends RepositoryConfigurationExtensionSupport {
+
+    @Nonnull
+    @Override
+    public String getModuleName() {
+        return "Reactive REQUERY";
+    }
+
+    @Nonnull
+    @Override
+    public String getRepositoryFactoryBeanClassName() {
+        return ReactiveRequeryRepositoryFactoryBean.class.getName();
+    }
+
+    @Nonnull
+    @Override
+    protected String getModulePrefix() {
+        return "requery";
+    }
+
+    @Nonnull
+    @Override
+    protected Collection<Class<? extends Annotation>> getIdentifyingAnnotations() {
+        return Arrays.asList(io.requery.Entity.class,
+                             io.requery.Superclass.class);
+    }
+
+    @Nonnull
+    @Override
+    protected Collection<Class<?>> getIdentifyingTypes() {
+        return Collections.singleton(ReactiveRequeryRepository.class);
+    }
+
+    @Override
+    protected boolean useRepositoryConfiguration(@Nonnull final RepositoryMetadata metadata) {
+        return metadata.isReactiveRepository();
+    }
+}
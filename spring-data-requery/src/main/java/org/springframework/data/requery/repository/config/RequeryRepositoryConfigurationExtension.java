@@ -25,6 +25,7 @@ import org.springframework.data.repository.config.AnnotationRepositoryConfigurat
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
 import org.springframework.data.repository.config.RepositoryConfigurationSource;
 import org.springframework.data.repository.config.XmlRepositoryConfigurationSource;
+import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.requery.repository.RequeryRepository;
 import org.springframework.data.requery.repository.support.RequeryRepositoryFactoryBean;
 import org.springframework.util.ClassUtils;
@@ -84,6 +85,14 @@ public class RequeryRepositoryConfigurationExtension extends RepositoryConfigura
         return Collections.singleton(RequeryRepository.class);
     }
 
+    /**
+     * Reactive repository 는 {@link ReactiveRequeryRepositoryConfigurationExtension} 에서 등록합니다.
+     */
+    @Override
+    protected boolean useRepositoryConfiguration(@Nonnull final RepositoryMetadata metadata) {
+        return !metadata.isReactiveRepository();
+    }
+
     @Override
     public void postProcess(@Nonnull final BeanDefinitionBuilder builder,
                             @Nonnull final RepositoryConfigurationSource source) {
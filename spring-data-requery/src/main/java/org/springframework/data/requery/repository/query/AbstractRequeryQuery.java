@@ -21,9 +21,11 @@ import io.requery.query.Tuple;
 import io.requery.query.element.QueryElement;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ReturnedType;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.StatementHints;
 import org.springframework.data.requery.repository.query.RequeryQueryExecution.CollectionExecution;
 import org.springframework.data.requery.repository.query.RequeryQueryExecution.PagedExecution;
 import org.springframework.data.requery.repository.query.RequeryQueryExecution.SingleEntityExecution;
@@ -35,6 +37,9 @@ import org.springframework.util.Assert;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -53,6 +58,17 @@ public abstract class AbstractRequeryQuery implements RepositoryQuery {
     protected final RequeryMetamodel metamodel;
     protected final Class<?> domainClass;
 
+    /**
+     * 결과 entity 들에 대해 미리 로드할 association 목록 ({@link org.springframework.data.requery.annotation.FetchAssociations})
+     */
+    protected final String[] fetchAssociations;
+
+    @Nonnull
+    private final StatementHints statementHints;
+
+    @Nullable
+    private volatile RequeryQueryExecution execution;
+
     public AbstractRequeryQuery(@Nonnull final RequeryQueryMethod method,
                                 @Nonnull final RequeryOperations operations) {
         Assert.notNull(method, "queryMethod must not be null");
@@ -62,24 +78,92 @@ public abstract class AbstractRequeryQuery implements RepositoryQuery {
         this.operations = operations;
         this.metamodel = new RequeryMetamodel(RequeryUtils.getEntityModel(operations.getDataStore()));
         this.domainClass = method.getEntityInformation().getJavaType();
+        this.fetchAssociations = method.getFetchAssociations();
+        this.statementHints = method.getStatementHints();
     }
 
     @SuppressWarnings("NullableProblems")
     @Nullable
     public Object execute(@Nonnull final Object[] parameters) {
-        return doExecute(getExecution(), parameters);
+        StatementHints hints = StatementHints.resolve(operations.getStatementHints(), statementHints);
+        if (hints.isEmpty()) {
+            return doExecute(getCachedExecution(), parameters);
+        }
+        return StatementHints.withHints(hints, () -> doExecute(getCachedExecution(), parameters));
+    }
+
+    /**
+     * query method 의 실행 전략은 변하지 않으므로, 최초 호출 시에 한 번만 결정하여 재사용합니다.
+     * (하위 클래스의 생성자가 완료된 후에 결정해야 하므로 생성자에서 결정하지 않습니다)
+     */
+    @Nonnull
+    private RequeryQueryExecution getCachedExecution() {
+        RequeryQueryExecution result = execution;
+        if (result == null) {
+            synchronized (this) {
+                result = execution;
+                if (result == null) {
+                    result = getExecution();
+                    execution = result;
+                }
+            }
+        }
+        return result;
     }
 
     @Nullable
     private Object doExecute(@Nonnull RequeryQueryExecution execution, Object[] values) {
 
-        Object result = execution.execute(this, values);
-        // ParametersParameterAccessor accessor = new ParametersParameterAccessor(queryMethod.getParameters(), values);
+        Object result = processResult(fetchAssociations(execution.execute(this, values)), values);
 
         log.debug("doExecute ... result={}", result);
         return result;
     }
 
+    /**
+     * 결과 entity 들의 association 을 association 별로 한 번의 IN 질의로 로드합니다.
+     * Stream 결과는 모든 entity 를 미리 읽어야 하므로 대상이 아닙니다.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private Object fetchAssociations(@Nullable final Object result) {
+        if (fetchAssociations.length == 0 || result == null) {
+            return result;
+        }
+
+        if (result instanceof Slice) {
+            operations.fetchAssociations(((Slice<Object>) result).getContent(), fetchAssociations);
+        } else if (result instanceof Iterable) {
+            operations.fetchAssociations(filterEntities((Iterable<Object>) result), fetchAssociations);
+        } else if (domainClass.isInstance(result)) {
+            operations.fetchAssociations(Collections.singletonList(result), fetchAssociations);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private List<Object> filterEntities(@Nonnull final Iterable<Object> result) {
+        List<Object> entities = new ArrayList<>();
+        for (Object item : result) {
+            if (domainClass.isInstance(item)) {
+                entities.add(item);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * query 실행 결과를 query method 의 반환 수형으로 변환합니다. 기본은 결과를 그대로 반환합니다.
+     *
+     * @param result 실행 결과
+     * @param values method 인자
+     * @return 변환된 결과
+     */
+    @Nullable
+    protected Object processResult(@Nullable final Object result, @Nonnull final Object[] values) {
+        return result;
+    }
+
     @Nonnull
     protected RequeryQueryExecution getExecution() {
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.query.function.Function;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Array;
+import java.util.Collection;
+
+/**
+ * 값 목록을 하나의 배열 parameter 로 binding 하는 {@code ANY(?)}, {@code ALL(?)} 함수
+ * <pre>
+ * column = ANY(?)
+ * column &lt;&gt; ALL(?)
+ * </pre>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+class ArrayParameterFunction<V> extends Function<V> {
+
+    /**
+     * {@code column = ANY(?)} 의 우변
+     */
+    @Nonnull
+    static <V> ArrayParameterFunction<V> any(@Nonnull final Class<V> elementType, @Nonnull final Collection<?> values) {
+        return new ArrayParameterFunction<>("any", elementType, values);
+    }
+
+    /**
+     * {@code column <> ALL(?)} 의 우변
+     */
+    @Nonnull
+    static <V> ArrayParameterFunction<V> all(@Nonnull final Class<V> elementType, @Nonnull final Collection<?> values) {
+        return new ArrayParameterFunction<>("all", elementType, values);
+    }
+
+    private final Object array;
+
+    private ArrayParameterFunction(@Nonnull final String name,
+                                   @Nonnull final Class<V> elementType,
+                                   @Nonnull final Collection<?> values) {
+        super(name, elementType);
+
+        // JDBC Driver 가 배열 수형을 알 수 있도록 요소 수형의 배열로 만듭니다. (예: Long[] -> int8[])
+        this.array = toArray(ClassUtils.resolvePrimitiveIfNecessary(elementType), values);
+    }
+
+    private static Object[] toArray(@Nonnull final Class<?> elementType, @Nonnull final Collection<?> values) {
+        try {
+            return values.toArray((Object[]) Array.newInstance(elementType, values.size()));
+        } catch (ArrayStoreException e) {
+            return values.toArray();
+        }
+    }
+
+    @Override
+    public Object[] arguments() {
+        return new Object[] { array };
+    }
+}
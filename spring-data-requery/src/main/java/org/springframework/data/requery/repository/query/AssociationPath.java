@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.meta.Attribute;
+import io.requery.meta.EntityModel;
+import io.requery.meta.Type;
+import io.requery.query.LogicalCondition;
+import io.requery.query.NamedExpression;
+import io.requery.query.Return;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.requery.NotSupportedException;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.utils.AssociationMetadata;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@code findByManagerLastname} 처럼 association 속성을 거치는 {@link PropertyPath} 를 단일 질의의 조건절로 변환합니다.
+ * <p>
+ * 마지막 속성에 대한 조건을 association 을 따라 {@code fk IN (SELECT key FROM target WHERE ...)} 형태의 sub query 로 감쌉니다.
+ * <ul>
+ * <li>ManyToOne, OneToOne (FK 보유): {@code fk IN (SELECT key FROM target WHERE ...)}</li>
+ * <li>OneToMany, OneToOne (mappedBy): {@code key IN (SELECT fk FROM target WHERE ...)}</li>
+ * <li>ManyToMany: {@code key IN (SELECT owner_fk FROM junction WHERE element_fk IN (SELECT key FROM target WHERE ...))}</li>
+ * </ul>
+ * JOIN 과 달리 to-many association 에서도 결과가 중복되지 않고, 같은 table 을 참조하는 association (예: manager) 도 alias 없이 처리됩니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class AssociationPath {
+
+    /**
+     * {@link PropertyPath} 를 해석합니다.
+     *
+     * @param operations {@link RequeryOperations}
+     * @param property   derived query 의 property path
+     * @return {@link AssociationPath} instance
+     * @throws NotSupportedException association 이 아닌 속성 (예: Embedded) 을 거치는 경우
+     */
+    @Nonnull
+    static AssociationPath of(@Nonnull final RequeryOperations operations, @Nonnull final PropertyPath property) {
+        return new AssociationPath(operations, property);
+    }
+
+    /**
+     * 조건을 적용할 마지막 속성
+     */
+    @Getter
+    private final PropertyPath leaf;
+
+    private final List<UnaryOperator<LogicalCondition<?, ?>>> steps;
+
+    private AssociationPath(@Nonnull final RequeryOperations operations, @Nonnull final PropertyPath property) {
+        List<UnaryOperator<LogicalCondition<?, ?>>> compiled = new ArrayList<>();
+
+        PropertyPath path = property;
+        if (path.hasNext()) {
+            EntityModel model = operations.getEntityModel();
+            Type<?> type = model.typeOf(property.getOwningType().getType());
+
+            while (path.hasNext()) {
+                AssociationMetadata association = AssociationMetadata.of(model, type, findAttribute(type, path.getSegment()));
+
+                compiled.add(createStep(operations, association));
+
+                type = association.getTarget();
+                path = path.next();
+            }
+        }
+
+        this.leaf = path;
+        this.steps = Collections.unmodifiableList(compiled);
+
+        log.debug("Resolve association path. property={}, steps={}", property.toDotPath(), steps.size());
+    }
+
+    /**
+     * association 을 거치는 path 인지 여부
+     */
+    boolean isNested() {
+        return !steps.isEmpty();
+    }
+
+    /**
+     * 마지막 속성에 대한 조건을 association 을 따라 sub query 로 감쌉니다.
+     *
+     * @param leafCondition 마지막 속성에 대한 조건
+     * @return root entity 에 대한 조건
+     */
+    @Nonnull
+    LogicalCondition<?, ?> wrap(@Nonnull final LogicalCondition<?, ?> leafCondition) {
+        LogicalCondition<?, ?> condition = leafCondition;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            condition = steps.get(i).apply(condition);
+        }
+        return condition;
+    }
+
+    private static UnaryOperator<LogicalCondition<?, ?>> createStep(final RequeryOperations operations,
+                                                                   final AssociationMetadata association) {
+        Type<?> source = association.getSource();
+        Type<?> target = association.getTarget();
+        Class<?> targetClass = target.getClassType();
+
+        switch (association.getKind()) {
+            case MANY_TO_MANY:
+                return createManyToManyStep(operations, association);
+
+            case MAPPED:
+                // FK 는 target 에 있습니다. (OneToMany, mappedBy 를 지정한 OneToOne)
+                Attribute<?, ?> mapped = association.getMappedAttribute();
+                NamedExpression<Object> key = column(AssociationMetadata.getReferencedKey(mapped, source).getName());
+                NamedExpression<Object> fk = column(mapped.getName());
+                return inner -> key.in(subquery(operations, fk, targetClass, inner));
+
+            case REFERENCED:
+            default:
+                // FK 는 source 에 있습니다. (ManyToOne, OneToOne)
+                Attribute<?, ?> attribute = association.getAttribute();
+                NamedExpression<Object> sourceFk = column(attribute.getName());
+                NamedExpression<Object> targetKey = column(AssociationMetadata.getReferencedKey(attribute, target).getName());
+                return inner -> sourceFk.in(subquery(operations, targetKey, targetClass, inner));
+        }
+    }
+
+    private static UnaryOperator<LogicalCondition<?, ?>> createManyToManyStep(final RequeryOperations operations,
+                                                                             final AssociationMetadata association) {
+        Attribute<?, ?> ownerFk = association.getOwnerForeignKey();
+        Attribute<?, ?> elementFk = association.getElementForeignKey();
+
+        NamedExpression<Object> ownerKey = column(AssociationMetadata.getReferencedKey(ownerFk, association.getSource()).getName());
+        NamedExpression<Object> ownerFkColumn = column(ownerFk.getName());
+        NamedExpression<Object> elementFkColumn = column(elementFk.getName());
+        NamedExpression<Object> elementKey = column(AssociationMetadata.getReferencedKey(elementFk, association.getTarget()).getName());
+        Class<?> junctionClass = association.getJunction().getClassType();
+        Class<?> targetClass = association.getTarget().getClassType();
+
+        return inner -> ownerKey.in(subquery(operations,
+                                             ownerFkColumn,
+                                             junctionClass,
+                                             elementFkColumn.in(subquery(operations, elementKey, targetClass, inner))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Return<?> subquery(final RequeryOperations operations,
+                                      final NamedExpression<Object> selection,
+                                      final Class<?> from,
+                                      final LogicalCondition<?, ?> condition) {
+        return operations.select(selection).from(from).where(condition);
+    }
+
+    private static NamedExpression<Object> column(final String name) {
+        return NamedExpression.of(name, Object.class);
+    }
+
+    private static Attribute<?, ?> findAttribute(final Type<?> type, final String propertyName) {
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            if (attribute.getPropertyName().equals(propertyName)) {
+                if (!attribute.isAssociation()) {
+                    throw new NotSupportedException("Not supported nested property of non association. property=" +
+                                                    type.getName() + "." + propertyName);
+                }
+                return attribute;
+            }
+        }
+        throw new NotSupportedException("Not found association property. property=" + type.getName() + "." + propertyName);
+    }
+}
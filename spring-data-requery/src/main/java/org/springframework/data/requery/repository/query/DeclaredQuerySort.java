@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.meta.Attribute;
+import io.requery.meta.Type;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.mapping.RequeryPersistentEntity;
+import org.springframework.data.requery.mapping.RequeryPersistentProperty;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code @Query} 질의에 {@link Sort} 를 ORDER BY 절로 추가합니다.
+ * <p>
+ * 정렬 속성은 mapping context 의 entity 속성인 경우에만 entity 의 column 명으로 변환하여 사용하고,
+ * entity 속성이 아니거나 association 을 거치는 속성 (예: {@code manager.lastname}) 은 정렬에서 제외합니다.
+ * 질의에 ORDER BY 절이 있다면 뒤에 추가하고, FROM 절의 entity table 에 alias 가 있다면 column 에 alias 를 붙입니다.
+ * LIMIT, OFFSET, FETCH, FOR UPDATE 절이 있다면 그 앞에 추가합니다.
+ * 정렬 조건별로 만든 질의는 cache 하므로 같은 정렬 조건은 같은 질의 문자열을 사용합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class DeclaredQuerySort {
+
+    /**
+     * 정렬 조건별 질의를 cache 할 최대 수
+     */
+    static final int MAX_CACHED_QUERIES = 256;
+
+    private static final Pattern FROM_TABLE =
+        Pattern.compile("^from\\s+([\\w.\"`\\[\\]]+)(?:\\s+(?:as\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> NOT_ALIASES = new HashSet<>(Arrays.asList(
+        "where", "join", "inner", "left", "right", "full", "cross", "outer", "natural", "on",
+        "group", "having", "order", "union", "intersect", "except", "minus", "limit", "offset", "fetch", "for"));
+
+    /**
+     * {@link Sort} 를 적용할 질의를 분석합니다.
+     *
+     * @param operations  {@link RequeryOperations}
+     * @param domainClass repository 의 entity 수형
+     * @param query       {@code ?} parameter 를 사용하는 질의
+     * @return {@link DeclaredQuerySort} instance
+     */
+    @Nonnull
+    static DeclaredQuerySort of(@Nonnull final RequeryOperations operations,
+                                @Nonnull final Class<?> domainClass,
+                                @Nonnull final String query) {
+        return new DeclaredQuerySort(operations, domainClass, query);
+    }
+
+    private final RequeryOperations operations;
+    private final Class<?> domainClass;
+    private final String query;
+    private final boolean ordered;
+
+    /**
+     * ORDER BY 뒤에 와야 하는 절의 위치 (없으면 -1)
+     */
+    private final int trailing;
+
+    /**
+     * column 앞에 붙일 entity table 의 alias (없으면 빈 문자열)
+     */
+    private final String qualifier;
+
+    private final Map<Sort, String> sortedQueries = new ConcurrentHashMap<>();
+
+    private DeclaredQuerySort(@Nonnull final RequeryOperations operations,
+                              @Nonnull final Class<?> domainClass,
+                              @Nonnull final String query) {
+        String sql = trimTerminator(query);
+        SqlClauses clauses = SqlClauses.scan(sql);
+
+        this.operations = operations;
+        this.domainClass = domainClass;
+        this.query = sql;
+        this.ordered = clauses.getOrderBy() >= 0;
+        this.trailing = clauses.getTrailing();
+        this.qualifier = clauses.isCombined() ? "" : resolveQualifier(sql, clauses.getFrom());
+    }
+
+    /**
+     * 질의에 정렬 조건을 추가합니다.
+     *
+     * @param sort 정렬 조건
+     * @return 정렬 조건을 추가한 질의, 정렬할 속성이 없다면 원래 질의
+     */
+    @Nonnull
+    String apply(@Nonnull final Sort sort) {
+        if (sort.isUnsorted()) {
+            return query;
+        }
+        String sorted = sortedQueries.get(sort);
+        if (sorted == null) {
+            sorted = render(sort);
+            if (sortedQueries.size() < MAX_CACHED_QUERIES) {
+                sortedQueries.put(sort, sorted);
+            }
+        }
+        return sorted;
+    }
+
+    @Nonnull
+    private String render(@Nonnull final Sort sort) {
+        List<String> orders = new ArrayList<>();
+
+        for (Sort.Order order : sort) {
+            String column = findColumn(order.getProperty());
+            if (column == null) {
+                log.warn("Ignore sort property not mapped to column of entity. entity={}, property={}",
+                         domainClass.getSimpleName(), order.getProperty());
+                continue;
+            }
+            String expression = qualifier + column;
+            if (order.isIgnoreCase()) {
+                expression = "UPPER(" + expression + ")";
+            }
+            orders.add(expression + (order.isAscending() ? " ASC" : " DESC"));
+        }
+
+        if (orders.isEmpty()) {
+            return query;
+        }
+        String orderBy = (ordered ? ", " : " ORDER BY ") + String.join(", ", orders);
+        String sorted = (trailing < 0)
+                        ? query + orderBy
+                        : query.substring(0, trailing).trim() + orderBy + " " + query.substring(trailing);
+        log.debug("Apply sort to declared query. sort={}, query={}", sort, sorted);
+        return sorted;
+    }
+
+    /**
+     * entity 의 속성이라면 column 명을 반환합니다. 속성이 아니거나, column 이 없는 association 이라면 null
+     */
+    @Nullable
+    private String findColumn(@Nonnull final String propertyName) {
+        RequeryPersistentEntity<?> entity = operations.getMappingContext().getPersistentEntity(domainClass);
+        RequeryPersistentProperty property = (entity != null) ? entity.getPersistentProperty(propertyName) : null;
+        if (property == null || property.isTransient()) {
+            return null;
+        }
+
+        Type<?> type = operations.getEntityModel().typeOf(domainClass);
+        for (Attribute<?, ?> attribute : type.getAttributes()) {
+            if (attribute.getPropertyName().equals(propertyName)) {
+                return (!attribute.isAssociation() || attribute.isForeignKey()) ? attribute.getName() : null;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private static String trimTerminator(@Nonnull final String query) {
+        String sql = query.trim();
+        while (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1).trim();
+        }
+        return sql;
+    }
+
+    @Nonnull
+    private String resolveQualifier(@Nonnull final String sql, final int from) {
+        if (from < 0) {
+            return "";
+        }
+        Matcher matcher = FROM_TABLE.matcher(sql.substring(from));
+        if (!matcher.find() || !isEntityTable(matcher.group(1))) {
+            return "";
+        }
+        String alias = matcher.group(2);
+        if (alias != null && !NOT_ALIASES.contains(alias.toLowerCase(Locale.ROOT))) {
+            return alias + ".";
+        }
+        return "";
+    }
+
+    private boolean isEntityTable(@Nonnull final String table) {
+        String name = table.substring(table.lastIndexOf('.') + 1).replaceAll("[\"`\\[\\]]", "");
+        return name.equalsIgnoreCase(operations.getEntityModel().typeOf(domainClass).getName());
+    }
+}
@@ -23,16 +23,30 @@ import io.requery.query.element.QueryElement;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.data.requery.annotation.Modifying;
 import org.springframework.data.requery.annotation.Query;
+import org.springframework.data.requery.core.NamedPreparedQueryOperation;
+import org.springframework.data.requery.core.PagingDialect;
+import org.springframework.data.requery.core.RawEntityNamedParameteredQuery;
+import org.springframework.data.requery.core.RawTupleNamedParameteredQuery;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.StatementHints;
+import org.springframework.data.requery.utils.Iterables;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * {@link Query} annotation이 정의된 메소드, interface default method, custom defined method를 실행하는 {@link RepositoryQuery}
@@ -45,9 +59,108 @@ import java.util.List;
 @Slf4j
 public class DeclaredRequeryQuery extends AbstractRequeryQuery {
 
+    /**
+     * raw 질의 결과 Tuple 을 DTO, interface projection 으로 변환하는 mapper (변환이 필요 없으면 null)
+     */
+    @Nullable
+    private final TupleMapper tupleMapper;
+
+    /**
+     * named parameter 를 사용한 질의 (named parameter 가 없다면 null)
+     */
+    @Nullable
+    private final NamedPreparedQueryOperation<?> namedQuery;
+
+    @Nullable
+    private final NamedPreparedQueryOperation<?> namedCountQuery;
+
+    /**
+     * named parameter 의 {@code ?} 별 method 인자 위치
+     */
+    @Nullable
+    private final int[] namedPositions;
+
+    @Nullable
+    private final int[] namedCountPositions;
+
+    /**
+     * countQuery 를 지정하지 않은 Page 질의에 사용할 count 질의
+     */
+    @Nullable
+    private final DerivedCountQuery derivedCountQuery;
+
+    /**
+     * Sort, Pageable 인자의 정렬 조건을 질의에 추가합니다. (Sort, Pageable 인자가 없다면 null)
+     */
+    @Nullable
+    private final DeclaredQuerySort querySort;
+
+    /**
+     * 정렬 조건을 적용한 질의별 paging 질의
+     */
+    private final Map<String, String> pagedQueries = new ConcurrentHashMap<>();
+
+    /**
+     * parameter 값 목록으로 JDBC batch 를 수행하는 {@link Modifying} 질의인지 여부
+     */
+    private final boolean batchModifying;
+
     public DeclaredRequeryQuery(@Nonnull RequeryQueryMethod method,
                                 @Nonnull RequeryOperations operations) {
         super(method, operations);
+
+        ReturnedType returnedType = method.getResultProcessor().getReturnedType();
+        this.tupleMapper = (!method.isQueryForEntity() && TupleMapper.canMap(returnedType))
+                           ? TupleMapper.of(returnedType)
+                           : null;
+
+        String annotatedQuery = method.getAnnotatedQuery();
+        this.namedQuery = NamedPreparedQueryOperation.hasNamedParameters(annotatedQuery)
+                          ? createNamedQuery(method, operations, annotatedQuery)
+                          : null;
+
+        String countQuery = method.getCountQuery();
+        this.namedCountQuery = NamedPreparedQueryOperation.hasNamedParameters(countQuery)
+                               ? new RawTupleNamedParameteredQuery(operations, countQuery)
+                               : null;
+
+        // batch 질의의 named parameter 값은 인자가 아닌 요소별 Map 으로 전달됩니다.
+        this.batchModifying = method.isBatchModifyingQuery();
+
+        List<String> argumentNames = getArgumentNames(method);
+        this.namedPositions = (namedQuery != null && !batchModifying) ? namedQuery.positionsOf(argumentNames) : null;
+        this.namedCountPositions = (namedCountQuery != null) ? namedCountQuery.positionsOf(argumentNames) : null;
+
+        this.derivedCountQuery = (method.isPageQuery() && countQuery == null && annotatedQuery != null)
+                                 ? DerivedCountQuery.of((namedQuery != null) ? namedQuery.getQuery() : annotatedQuery)
+                                 : null;
+
+        this.querySort = (method.getParameters().potentiallySortsDynamically() && annotatedQuery != null)
+                         ? DeclaredQuerySort.of(operations,
+                                                method.getEntityInformation().getJavaType(),
+                                                (namedQuery != null) ? namedQuery.getQuery() : annotatedQuery)
+                         : null;
+    }
+
+    /**
+     * method 인자 위치별 이름 ({@code @Param} 또는 compile 된 parameter 이름, 없으면 null)
+     */
+    @Nonnull
+    private static List<String> getArgumentNames(@Nonnull final RequeryQueryMethod method) {
+        List<String> names = new ArrayList<>();
+        for (Parameter parameter : method.getParameters()) {
+            names.add(parameter.getName().orElse(null));
+        }
+        return names;
+    }
+
+    @Nonnull
+    private static NamedPreparedQueryOperation<?> createNamedQuery(@Nonnull final RequeryQueryMethod method,
+                                                                   @Nonnull final RequeryOperations operations,
+                                                                   @Nonnull final String annotatedQuery) {
+        return method.isQueryForEntity()
+               ? new RawEntityNamedParameteredQuery<>(operations, method.getEntityInformation().getJavaType(), annotatedQuery)
+               : new RawTupleNamedParameteredQuery(operations, annotatedQuery);
     }
 
     @Nonnull
@@ -65,85 +178,150 @@ public class DeclaredRequeryQuery extends AbstractRequeryQuery {
     @SuppressWarnings("unchecked")
     @Override
     public Object execute(@Nonnull final Object[] parameters) {
-        return executeOutTransaction(parameters);
+        StatementHints hints = StatementHints.resolve(operations.getStatementHints(), getQueryMethod().getStatementHints());
+        if (hints.isEmpty()) {
+            return executeOutTransaction(parameters);
+        }
+        return StatementHints.withHints(hints, () -> executeOutTransaction(parameters));
     }
 
     @SuppressWarnings("unchecked")
     private Object executeOutTransaction(@Nonnull final Object[] parameters) {
 
-        Object resultSet = null;
-        String query = getRawQuery();
-
-        log.debug("Execute queryMethod={}, return type={}, query={}", getQueryMethod().getName(), getQueryMethod().getReturnType(), query);
-
-        Result<?> result;
-
-        // TODO: Entity 나 Tuple 에 대해 ReturnedType에 맞게 casting 해야 한다.
-        // TODO: Paging 에 대해서는 처리했는데, Sort 는 넣지 못했음. 이 부분도 추가해야 함.
+        if (getQueryMethod().isModifyingQuery()) {
+            return executeModifying(parameters);
+        }
 
         RequeryParametersParameterAccessor accessor = new RequeryParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
         Pageable pageable = accessor.getPageable();
 
-        // 참고로 Query By Property 로 PagedExecution 에서는 제대로 수행된다.
-        if (pageable.isPaged()) {
-
-            int pageableIndex = accessor.getParameters().getPageableIndex();
-            Object[] values = extractValues(pageableIndex, parameters);
+        String query = (querySort != null) ? querySort.apply(accessor.getSort()) : getBaseQuery();
+        Object[] values = (namedQuery != null)
+                          ? namedQuery.bind(namedPositions, parameters)
+                          : extractValues(parameters);
 
-            log.trace("values={}", values);
+        log.debug("Execute queryMethod={}, return type={}, query={}", getQueryMethod().getName(), getQueryMethod().getReturnType(), query);
+        log.trace("values={}", values);
 
-            // Content Query
-            long totals = retrieveTotals(query, values);
+        // 참고로 Query By Property 로 PagedExecution 에서는 제대로 수행된다.
+        if (pageable.isPaged()) {
 
             // Content query
             Result<?> contentResult = retrieveContents(query, pageable, values);
 
             if (getQueryMethod().isPageQuery()) {
-                List<?> contents = contentResult.toList();
-                log.debug("Page results. totals={}, contents={}, values={}", totals, contents, values);
+                List<?> contents = toList(contentResult);
+                log.debug("Page results. contents size={}, values={}", contents.size(), values);
 
-                resultSet = new PageImpl(contents, pageable, totals);
-            } else {
-                resultSet = castResult(contentResult);
+                // 마지막 페이지처럼 contents 로 전체 건수를 알 수 있다면 count 질의를 수행하지 않습니다.
+                return PageableExecutionUtils.getPage((List<Object>) contents, pageable, () -> retrieveTotals(values, parameters));
             }
-        } else if (getQueryMethod().isQueryForEntity()) {
-            log.debug("Query for entity. entity={}", getQueryMethod().getEntityInformation().getJavaType());
-            result = operations.raw(getQueryMethod().getEntityInformation().getJavaType(), query, parameters);
-            resultSet = castResult(result);
+            return castResult(contentResult);
+        }
+
+        return castResult(executeRaw(query, values));
+    }
+
+    /**
+     * {@link Modifying} 질의를 수행하고, 변경된 row 수를 method 의 반환 수형으로 변환합니다.
+     * parameter 값 목록 인자 하나만 받는 경우에는 요소별 문장을 하나의 JDBC batch 로 수행합니다.
+     */
+    @Nullable
+    private Object executeModifying(@Nonnull final Object[] parameters) {
+        String query = getBaseQuery();
+        int[] counts;
+
+        if (batchModifying) {
+            List<Object[]> batchValues = new ArrayList<>();
+            if (parameters[0] != null) {
+                for (Object row : (Iterable<?>) parameters[0]) {
+                    batchValues.add(toBatchValues(row));
+                }
+            }
+            log.debug("Execute batch modifying query. query={}, size={}", query, batchValues.size());
+            counts = operations.batchUpdate(query, batchValues);
         } else {
-            result = operations.raw(query, parameters);
-            resultSet = castResult(result);
+            Object[] values = (namedQuery != null) ? namedQuery.bind(namedPositions, parameters) : extractValues(parameters);
+            Number count = operations.raw(query, values).first().get(0);
+            counts = new int[] { count.intValue() };
         }
 
-        return resultSet;
+        operations.getEntityCache().invalidate(getQueryMethod().getEntityInformation().getJavaType());
+        return convertUpdateCounts(counts);
     }
 
+    /**
+     * batch 요소를 {@code ?} 순서의 값으로 변환합니다.
+     */
+    @SuppressWarnings("unchecked")
     @Nonnull
-    private Object[] extractValues(int pageableIndex, @Nonnull final Object[] parameters) {
-        Object[] values = (pageableIndex >= 0) ? new Object[parameters.length - 1] : parameters;
+    private Object[] toBatchValues(@Nullable final Object row) {
+        if (row instanceof Map) {
+            if (namedQuery == null) {
+                throw new IllegalArgumentException("Map batch values require named parameters. query=" + getRawQuery());
+            }
+            return namedQuery.bind((Map<String, ?>) row);
+        }
+        if (row instanceof Object[]) {
+            return (Object[]) row;
+        }
+        if (row instanceof Iterable) {
+            return Iterables.toList((Iterable<Object>) row).toArray();
+        }
+        return new Object[] { row };
+    }
+
+    @Nullable
+    private Object convertUpdateCounts(@Nonnull final int[] counts) {
+        Class<?> returnType = getQueryMethod().getReturnType();
+
+        if (int[].class.equals(returnType)) {
+            return counts;
+        }
+        if (Iterable.class.isAssignableFrom(returnType)) {
+            return Arrays.stream(counts).boxed().collect(Collectors.toList());
+        }
+
+        // SUCCESS_NO_INFO 처럼 변경된 row 수를 알 수 없는 문장은 제외합니다.
+        long total = Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
 
-        int j = 0;
+        if (long.class.equals(returnType) || Long.class.equals(returnType)) {
+            return total;
+        }
+        if (int.class.equals(returnType) || Integer.class.equals(returnType)) {
+            return (int) total;
+        }
+        return null;
+    }
+
+    /**
+     * Pageable, Sort 처럼 binding 하지 않는 인자를 제외한 인자 값
+     */
+    @Nonnull
+    private Object[] extractValues(@Nonnull final Object[] parameters) {
+        RequeryParameters methodParameters = getQueryMethod().getParameters();
+        if (!methodParameters.hasSpecialParameter()) {
+            return parameters;
+        }
+
+        List<Object> values = new ArrayList<>(parameters.length);
         for (int i = 0; i < parameters.length; i++) {
-            if (i == pageableIndex) {
-                continue;
+            if (methodParameters.getParameter(i).isBindable()) {
+                values.add(parameters[i]);
             }
-            values[j++] = parameters[i];
         }
-        return values;
+        return values.toArray();
     }
 
     private Result<?> retrieveContents(final String baseQuery, Pageable pageable, final Object[] values) {
-        long offset = pageable.getOffset();
-        int limit = pageable.getPageSize();
+        PagingDialect dialect = operations.getPagingDialect();
+        String query = getPagedQuery(dialect, baseQuery);
+        Object[] pagedValues = dialect.bindPaging(values, pageable.getOffset(), pageable.getPageSize());
 
-        String query = baseQuery;
-        if (offset > 0L) {
-            query = query + " offset " + offset;
-        }
-        if (limit > 0) {
-            query = query + " limit " + limit;
-        }
+        return executeRaw(query, pagedValues);
+    }
 
+    private Result<?> executeRaw(final String query, final Object[] values) {
         if (getQueryMethod().isQueryForEntity()) {
             log.trace("query for entity. {}", getQueryMethod().getEntityInformation().getJavaType());
             return operations.raw(getQueryMethod().getEntityInformation().getJavaType(), query, values);
@@ -153,23 +331,42 @@ public class DeclaredRequeryQuery extends AbstractRequeryQuery {
         }
     }
 
-    private long retrieveTotals(final String query, final Object[] values) {
-        // Count Query
-        String countQuery = queryMethod.getCountQuery();
-        if (countQuery == null) {
-            countQuery = "select count(cnt_tbl.*) from (" + query + ") as cnt_tbl";
+    /**
+     * offset, limit 을 parameter 로 binding 하는 paging 질의. 페이지와 관계없이 같으므로 정렬 조건별로 한 번만 생성합니다.
+     */
+    @Nonnull
+    private String getPagedQuery(@Nonnull final PagingDialect dialect, @Nonnull final String baseQuery) {
+        String pagedQuery = pagedQueries.get(baseQuery);
+        if (pagedQuery == null) {
+            pagedQuery = dialect.applyPaging(baseQuery);
+            log.debug("Create paged query. dialect={}, query={}", dialect, pagedQuery);
+            if (pagedQueries.size() < DeclaredQuerySort.MAX_CACHED_QUERIES) {
+                pagedQueries.put(baseQuery, pagedQuery);
+            }
         }
+        return pagedQuery;
+    }
 
-        if (StringUtils.hasText(countQuery)) {
-            try {
-                Result<Tuple> result = operations.raw(countQuery, values);
-                return result.first().get(0);
-            } catch (Exception e) {
-                log.error("Fail to retrieve count. query={}", query, e);
-                return 0L;
-            }
+    private long retrieveTotals(final Object[] values, final Object[] parameters) {
+        String countQuery;
+        Object[] countValues;
+
+        if (namedCountQuery != null) {
+            countQuery = namedCountQuery.getQuery();
+            countValues = namedCountQuery.bind(namedCountPositions, parameters);
+        } else if (derivedCountQuery != null) {
+            countQuery = derivedCountQuery.getQuery();
+            countValues = derivedCountQuery.bind(values);
+        } else {
+            countQuery = queryMethod.getCountQuery();
+            countValues = values;
         }
-        return 0L;
+
+        log.trace("Retrieve totals. countQuery={}, values={}", countQuery, countValues);
+
+        Result<Tuple> result = operations.raw(countQuery, countValues);
+        Number totals = result.first().get(0);
+        return totals.longValue();
     }
 
     @SuppressWarnings("unchecked")
@@ -181,27 +378,42 @@ public class DeclaredRequeryQuery extends AbstractRequeryQuery {
     @SuppressWarnings("unchecked")
     @Nullable
     private Object castResult(@Nonnull final Result<?> result, @Nonnull final Pageable pageable, final Long totals) {
-        // TODO: List<Tuple> 인 경우 returned type 으로 변경해야 한다.
 
         Object casted;
         if (getQueryMethod().isCollectionQuery()) {
-            casted = result.toList();
+            casted = toList(result);
         } else if (getQueryMethod().isStreamQuery()) {
-            casted = result.stream();
+            casted = (tupleMapper != null) ? result.stream().map(tupleMapper::map) : result.stream();
         } else if (getQueryMethod().isPageQuery()) {
-            List<?> contents = result.toList();
+            List<?> contents = toList(result);
             if (pageable.isPaged()) {
                 log.trace("Cast result to Page. totals={}, contents={}, contents size={}", totals, contents, contents.size());
                 casted = new PageImpl<>(contents, pageable, totals);
             } else {
-                casted = new PageImpl<>(result.toList());
+                casted = new PageImpl<>(contents);
             }
+        } else if (tupleMapper != null) {
+            casted = tupleMapper.map(result.firstOrNull());
         } else {
             casted = RequeryResultConverter.convertResult(result.firstOrNull());
         }
         return casted;
     }
 
+    /**
+     * 결과 목록을 반환합니다. DTO, interface projection 을 반환하는 경우 Tuple 을 변환합니다.
+     */
+    @Nonnull
+    private List<?> toList(@Nonnull final Result<?> result) {
+        List<?> rows = result.toList();
+        return (tupleMapper != null) ? tupleMapper.mapAll(rows) : rows;
+    }
+
+    @Nonnull
+    private String getBaseQuery() {
+        return (namedQuery != null) ? namedQuery.getQuery() : getRawQuery();
+    }
+
     @Nonnull
     private String getRawQuery() {
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code @Query} 의 질의로부터 paging 에 사용할 count 질의를 유도합니다.
+ * <p>
+ * 질의 method 생성 시에 한 번만 최상위 절을 분석하여 다음과 같이 변환합니다.
+ * <ul>
+ * <li>ORDER BY 절은 제거합니다.</li>
+ * <li>단순 질의는 select 목록을 {@code count(*)} 로 바꿉니다. {@code select count(*) from ... where ...}</li>
+ * <li>DISTINCT, GROUP BY, HAVING, UNION 등 결과 row 수가 select 목록에 따라 달라지는 질의는
+ * {@code select count(*) from (...) cnt_tbl} 로 감쌉니다.</li>
+ * <li>LIMIT, OFFSET 이 있는 질의는 그대로 감쌉니다.</li>
+ * </ul>
+ * 제거한 절에 있던 {@code ?} parameter 는 {@link #bind(Object[])} 에서 값 목록에서도 제외합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class DerivedCountQuery {
+
+    private static final String COUNT_SELECT = "select count(*) ";
+
+    /**
+     * content 질의로부터 count 질의를 유도합니다.
+     *
+     * @param query {@code ?} parameter 를 사용하는 content 질의
+     * @return {@link DerivedCountQuery} instance
+     */
+    @Nonnull
+    static DerivedCountQuery of(@Nonnull final String query) {
+        Assert.hasText(query, "query must not be empty!");
+        return new DerivedCountQuery(query);
+    }
+
+    /**
+     * count 질의
+     */
+    @Getter
+    private final String query;
+
+    /**
+     * count 질의의 {@code ?} 별 content 질의 parameter 위치
+     */
+    private final int[] parameterIndexes;
+
+    private final int numberOfParameters;
+
+    private DerivedCountQuery(@Nonnull final String contentQuery) {
+        String sql = trimTerminator(contentQuery);
+        SqlClauses clauses = SqlClauses.scan(sql);
+
+        int end = (clauses.getOrderBy() >= 0 && !clauses.isLimited()) ? clauses.getOrderBy() : sql.length();
+        int begin = 0;
+        String countQuery;
+
+        if (clauses.isLimited()) {
+            countQuery = wrap(sql);
+        } else if (clauses.isSimpleSelect()) {
+            begin = clauses.getFrom();
+            countQuery = COUNT_SELECT + sql.substring(begin, end).trim();
+        } else {
+            countQuery = wrap(sql.substring(0, end).trim());
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Integer> parameters = clauses.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            int position = parameters.get(i);
+            if (position >= begin && position < end) {
+                indexes.add(i);
+            }
+        }
+
+        this.query = countQuery;
+        this.numberOfParameters = parameters.size();
+        this.parameterIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+
+        log.debug("Derive count query. query={}, countQuery={}", contentQuery, countQuery);
+    }
+
+    /**
+     * content 질의의 parameter 값 중 count 질의에 사용하는 값만 골라냅니다.
+     *
+     * @param values content 질의의 {@code ?} 순서의 값
+     * @return count 질의의 {@code ?} 순서의 값
+     */
+    @Nonnull
+    Object[] bind(@Nonnull final Object[] values) {
+        if (parameterIndexes.length == numberOfParameters) {
+            return values;
+        }
+        Object[] bound = new Object[parameterIndexes.length];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = values[parameterIndexes[i]];
+        }
+        return bound;
+    }
+
+    @Nonnull
+    private static String wrap(@Nonnull final String query) {
+        // 마지막 줄이 주석인 경우 닫는 괄호가 주석에 포함되지 않도록 합니다.
+        String body = query.contains("--") ? query + "\n" : query;
+        return COUNT_SELECT + "from (" + body + ") cnt_tbl";
+    }
+
+    @Nonnull
+    private static String trimTerminator(@Nonnull final String query) {
+        String sql = query.trim();
+        while (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1).trim();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.query.FieldExpression;
+import io.requery.query.LogicalCondition;
+import io.requery.query.NamedExpression;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.requery.NotSupportedException;
+import org.springframework.data.requery.core.InListBindingMode;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.utils.Iterables;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Function;
+
+import static org.springframework.data.repository.query.parser.Part.Type.CONTAINING;
+import static org.springframework.data.repository.query.parser.Part.Type.IN;
+import static org.springframework.data.repository.query.parser.Part.Type.LIKE;
+
+/**
+ * {@link Part} 하나를 조건절로 변환하는 binder 입니다.
+ * <p>
+ * property expression, ignore case 처리, keyword 별 조건 생성 방식은 생성 시에 한 번만 결정하고,
+ * {@link #bind(Object...)} 에서는 parameter 값만 적용합니다.
+ * association 을 거치는 property (예: {@code manager.lastname}) 는 {@link AssociationPath} 의 sub query 로 감쌉니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class PartConditionBinder {
+
+    /**
+     * {@link Part} 에 대한 binder 를 생성합니다.
+     *
+     * @param operations    {@link RequeryOperations}
+     * @param part          derived query 의 {@link Part}
+     * @param inListBinding In / NotIn 조건의 값 목록 binding 방식
+     * @return {@link PartConditionBinder} instance
+     * @throws NotSupportedException 지원하지 않는 keyword 이거나 association 이 아닌 속성을 거치는 경우
+     */
+    @Nonnull
+    static PartConditionBinder compile(@Nonnull final RequeryOperations operations,
+                                       @Nonnull final Part part,
+                                       @Nonnull final InListBindingMode inListBinding) {
+        Assert.notNull(operations, "operations must not be null!");
+        Assert.notNull(part, "Part must not be null!");
+        Assert.notNull(inListBinding, "inListBinding must not be null!");
+        return new PartConditionBinder(operations, part, inListBinding);
+    }
+
+    @Getter
+    private final Part part;
+
+    /**
+     * 조건절에 필요한 parameter 수
+     */
+    @Getter
+    private final int numberOfArguments;
+
+    private final InListBindingMode inListBinding;
+    private final Function<Object[], LogicalCondition<?, ?>> factory;
+
+    private PartConditionBinder(@Nonnull final RequeryOperations operations,
+                                @Nonnull final Part part,
+                                @Nonnull final InListBindingMode inListBinding) {
+        this.part = part;
+        this.inListBinding = inListBinding;
+        this.numberOfArguments = part.getNumberOfArguments();
+
+        AssociationPath path = AssociationPath.of(operations, part.getProperty());
+        Function<Object[], LogicalCondition<?, ?>> leafFactory = createFactory(path.getLeaf());
+        this.factory = path.isNested() ? leafFactory.andThen(path::wrap) : leafFactory;
+
+        log.debug("Compile part condition. part={}", part);
+    }
+
+    /**
+     * parameter 값을 적용하여 조건절을 생성합니다.
+     *
+     * @param arguments {@link #getNumberOfArguments()} 개의 parameter 값
+     * @return 조건절
+     */
+    @Nonnull
+    LogicalCondition<?, ?> bind(@Nonnull final Object... arguments) {
+        Assert.isTrue(arguments.length == numberOfArguments,
+                      "Part [" + part + "] requires " + numberOfArguments + " arguments. but " + arguments.length);
+        return factory.apply(arguments);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Object[], LogicalCondition<?, ?>> createFactory(@Nonnull final PropertyPath property) {
+
+        Part.Type type = part.getType();
+
+        NamedExpression expr = NamedExpression.of(property.getSegment(), property.getType());
+
+        switch (type) {
+            case BETWEEN:
+                return args -> expr.between(args[0], args[1]);
+
+            case AFTER:
+            case GREATER_THAN:
+                return args -> expr.greaterThan(args[0]);
+
+            case GREATER_THAN_EQUAL:
+                return args -> expr.greaterThanOrEqual(args[0]);
+
+            case BEFORE:
+            case LESS_THAN:
+                return args -> expr.lt(args[0]);
+
+            case LESS_THAN_EQUAL:
+                return args -> expr.lte(args[0]);
+
+            case IS_NULL:
+                return args -> expr.isNull();
+
+            case IS_NOT_NULL:
+                return args -> expr.notNull();
+
+            case NOT_IN:
+            case IN:
+                return args -> {
+                    Collection<?> values = toCollection(args[0]);
+                    if (values == null || values.isEmpty()) {
+                        return (type == IN) ? expr.eq(false) : expr.eq(true);
+                    }
+                    switch (inListBinding) {
+                        case ARRAY:
+                            return (type == IN)
+                                   ? expr.eq(ArrayParameterFunction.any(property.getType(), values))
+                                   : expr.notEqual(ArrayParameterFunction.all(property.getType(), values));
+                        case PADDED:
+                            values = InListBindingMode.pad(values);
+                            break;
+                        default:
+                            break;
+                    }
+                    return (type == IN) ? expr.in(values) : expr.notIn(values);
+                };
+
+            case STARTING_WITH:
+                assertNotCollection(property, type);
+                return args -> expr.like(args[0] + "%");
+
+            case ENDING_WITH:
+                assertNotCollection(property, type);
+                return args -> expr.like("%" + args[0]);
+
+            case CONTAINING:
+                assertNotCollection(property, type);
+                return args -> expr.like("%" + args[0] + "%");
+
+            case NOT_CONTAINING:
+                assertNotCollection(property, type);
+                return args -> expr.notLike("%" + args[0] + "%");
+
+            case LIKE:
+            case NOT_LIKE:
+                FieldExpression<String> fieldExpr = upperIfIgnoreCase(expr);
+                return args -> {
+                    String value = (args[0] != null) ? args[0].toString() : "";
+                    if (shouldIgnoreCase()) {
+                        value = value.toUpperCase();
+                    }
+                    if (!value.startsWith("%") && !value.endsWith("%")) {
+                        value = "%" + value + "%";
+                    }
+                    return (type.equals(LIKE) || type.equals(CONTAINING))
+                           ? fieldExpr.like(value)
+                           : fieldExpr.notLike(value);
+                };
+
+            case TRUE:
+                return args -> expr.eq(true);
+
+            case FALSE:
+                return args -> expr.eq(false);
+
+            // IS, Equals
+            case SIMPLE_PROPERTY:
+                FieldExpression<Object> simpleExpr = upperIfIgnoreCase(expr);
+                return args -> (args[0] == null)
+                               ? expr.isNull()
+                               : simpleExpr.eq(shouldIgnoreCase() ? upperCase(args[0]) : args[0]);
+
+            case NEGATING_SIMPLE_PROPERTY:
+                FieldExpression<Object> simpleNotExpr = upperIfIgnoreCase(expr);
+                return args -> simpleNotExpr.notEqual(shouldIgnoreCase() ? upperCase(args[0]) : args[0]);
+
+            case IS_EMPTY:
+            case IS_NOT_EMPTY:
+            default:
+                throw new NotSupportedException("Not supported keyword " + type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private static Collection<?> toCollection(@Nullable final Object values) {
+        if (values instanceof Collection) {
+            return (Collection<?>) values;
+        }
+        if (values instanceof Iterable<?>) {
+            return Iterables.toList((Iterable) values);
+        }
+        if (values instanceof Object[]) {
+            return Arrays.asList((Object[]) values);
+        }
+        return null;
+    }
+
+    private static void assertNotCollection(@Nonnull final PropertyPath property, @Nonnull final Part.Type type) {
+        if (property.getLeafProperty().isCollection()) {
+            throw new NotSupportedException("Not supported keyword. Part.Type=" + type);
+        }
+    }
+
+    @Nonnull
+    private <T> FieldExpression<T> upperIfIgnoreCase(@Nonnull final FieldExpression<T> expression) {
+
+        switch (part.shouldIgnoreCase()) {
+            case ALWAYS:
+                Assert.state(canUpperCase(expression),
+                             "Unable to ignore case of " + expression.getClassType().getName() +
+                             " types, the property '" + part.getProperty().getSegment() + "' must reference a String");
+                return expression.function("Upper");
+
+            case WHEN_POSSIBLE:
+                if (canUpperCase(expression)) {
+                    return expression.function("Upper");
+                }
+                return expression;
+
+            case NEVER:
+            default:
+                return expression;
+        }
+    }
+
+    private static boolean canUpperCase(@Nonnull final FieldExpression<?> expression) {
+        return String.class.equals(expression.getClassType());
+    }
+
+    private boolean shouldIgnoreCase() {
+        return part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+    }
+
+    @Nonnull
+    private static String upperCase(@Nonnull final Object value) {
+        return value.toString().toUpperCase();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.query.LogicalCondition;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.query.parser.PartTree.OrPart;
+import org.springframework.data.requery.core.InListBindingMode;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link PartTree} 의 조건절을 미리 compile 한 template 입니다.
+ * <p>
+ * {@link PartTree} 순회, property expression 생성, parameter 위치 계산은 query method 생성 시 한 번만 수행하고,
+ * 호출 시에는 {@link #bind(RequeryParameterAccessor)} 로 parameter 값만 적용하여 조건절을 생성합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class PartTreeQueryTemplate {
+
+    /**
+     * {@link PartTree} 의 조건절을 compile 합니다.
+     *
+     * @param operations    {@link RequeryOperations}
+     * @param tree          {@link PartTree}
+     * @param parameters    query method 의 parameters
+     * @param offset        조건절 앞에 사용되는 bindable parameter 수 (예: update 질의의 SET 절 parameter)
+     * @param inListBinding In / NotIn 조건의 값 목록 binding 방식
+     * @return {@link PartTreeQueryTemplate} instance
+     */
+    @Nonnull
+    static PartTreeQueryTemplate compile(@Nonnull final RequeryOperations operations,
+                                         @Nonnull final PartTree tree,
+                                         @Nonnull final RequeryParameters parameters,
+                                         final int offset,
+                                         @Nonnull final InListBindingMode inListBinding) {
+        Assert.notNull(tree, "tree must not be null.");
+        Assert.notNull(parameters, "parameters must not be null.");
+
+        return new PartTreeQueryTemplate(operations, tree, parameters, offset, inListBinding);
+    }
+
+    private final List<List<PartConditionBinder>> orParts;
+    private final int offset;
+
+    /**
+     * 조건절에 사용하는 bindable parameter 수
+     */
+    @Getter
+    private final int numberOfArguments;
+
+    private PartTreeQueryTemplate(final RequeryOperations operations,
+                                  final PartTree tree,
+                                  final RequeryParameters parameters,
+                                  final int offset,
+                                  final InListBindingMode inListBinding) {
+        List<List<PartConditionBinder>> compiled = new ArrayList<>();
+        int arguments = 0;
+
+        for (OrPart orPart : tree) {
+            List<PartConditionBinder> andParts = new ArrayList<>();
+            for (Part part : orPart) {
+                PartConditionBinder binder = PartConditionBinder.compile(operations, part, inListBinding);
+                arguments += binder.getNumberOfArguments();
+                andParts.add(binder);
+            }
+            Assert.state(!andParts.isEmpty(), "No part found in PartTree!");
+            compiled.add(Collections.unmodifiableList(andParts));
+        }
+
+        Assert.isTrue(offset + arguments <= parameters.getBindableParameters().getNumberOfParameters(),
+                      "Not enough parameters for query. required=" + (offset + arguments));
+
+        this.orParts = Collections.unmodifiableList(compiled);
+        this.offset = offset;
+        this.numberOfArguments = arguments;
+
+        log.debug("Compile PartTree. tree={}, numberOfArguments={}", tree, numberOfArguments);
+    }
+
+    /**
+     * parameter 값을 적용하여 조건절을 생성합니다.
+     *
+     * @param accessor parameter accessor
+     * @return 조건절, 조건이 없으면 null
+     */
+    @Nullable
+    LogicalCondition<?, ?> bind(@Nonnull final RequeryParameterAccessor accessor) {
+        LogicalCondition<?, ?> base = null;
+        int index = offset;
+
+        for (List<PartConditionBinder> andParts : orParts) {
+            LogicalCondition<?, ?> criteria = null;
+
+            for (PartConditionBinder binder : andParts) {
+                Object[] arguments = new Object[binder.getNumberOfArguments()];
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = accessor.getBindableValue(index++);
+                }
+                LogicalCondition<?, ?> condition = binder.bind(arguments);
+                criteria = (criteria == null) ? condition : criteria.and(condition);
+            }
+            base = (base == null) ? criteria : base.or(criteria);
+        }
+        return base;
+    }
+}
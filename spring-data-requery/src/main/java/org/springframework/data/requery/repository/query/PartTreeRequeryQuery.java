@@ -16,9 +16,11 @@
 
 package org.springframework.data.requery.repository.query;
 
+import io.requery.query.LogicalCondition;
 import io.requery.query.NamedExpression;
 import io.requery.query.Scalar;
 import io.requery.query.element.QueryElement;
+import io.requery.query.function.Count;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.ResultProcessor;
@@ -101,6 +103,28 @@ public class PartTreeRequeryQuery extends AbstractRequeryQuery {
         return super.getExecution();
     }
 
+    /**
+     * DTO, Interface projection 을 반환하는 경우, 조회한 Tuple 또는 entity 를 projection 으로 변환합니다.
+     */
+    @Nullable
+    @Override
+    protected Object processResult(@Nullable final Object result, @Nonnull final Object[] values) {
+        if (tree.isCountProjection() || tree.isExistsProjection() || tree.isDelete()) {
+            return result;
+        }
+
+        ResultProcessor processor = getQueryMethod().getResultProcessor();
+        if (parameters.hasDynamicProjection()) {
+            processor = processor.withDynamicProjection(new RequeryParametersParameterAccessor(parameters, values));
+        }
+
+        ReturnedType returnedType = processor.getReturnedType();
+        if (!returnedType.isProjecting()) {
+            return result;
+        }
+        return processor.processResult(result, TupleProjectionMapper.of(operations.getEntityModel(), returnedType));
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     protected QueryElement<?> prepareQuery(@Nonnull final RequeryParameterAccessor accessor) {
@@ -143,35 +167,30 @@ public class PartTreeRequeryQuery extends AbstractRequeryQuery {
 
 
     /**
-     * Query preparer to create {@link QueryElement} instances and potentially cache them.
+     * Query preparer to create {@link QueryElement} instances.
+     * 조건절은 {@link PartTreeQueryTemplate} 으로 미리 compile 해두고, 호출 시에는 parameter 값만 적용합니다.
      */
     private class QueryPreparer {
 
-        QueryPreparer() {
+        private final PartTreeQueryTemplate template;
+        private final ReturnedType returnedType;
 
+        QueryPreparer() {
             // HINT: check wrong method (parameter number matching, not exists property name ...)
-            RequeryQueryCreator creator = createCreator(null);
-            if (creator != null) {
-                creator.createQuery();
-                creator.getParameterExpressions();
-            }
+            this.template = PartTreeQueryTemplate.compile(operations, tree, parameters, 0, operations.getInListBindingMode());
+            this.returnedType = getQueryMethod().getResultProcessor().getReturnedType();
         }
 
         @Nonnull
         public QueryElement<?> createQuery(@Nonnull final Object[] values) {
 
             RequeryParametersParameterAccessor accessor = new RequeryParametersParameterAccessor(parameters, values);
-            RequeryQueryCreator creator = createCreator(accessor);
+            QueryElement<?> query = complete(createRoot(accessor), template.bind(accessor), accessor);
 
-            if (creator != null) {
-                QueryElement<?> query = creator.createQuery(getDynamicSort(values));
-
-                if (getQueryMethod().isPageQuery()) {
-                    query = RequeryUtils.applyPageable(getDomainClass(), query, accessor.getPageable());
-                }
-                return restrictMaxResultsIfNecessary(query);
+            if (getQueryMethod().isPageQuery()) {
+                query = RequeryUtils.applyPageable(getDomainClass(), query, accessor.getPageable());
             }
-            throw new IllegalStateException("Fail to create RequeryQueryCreator.");
+            return restrictMaxResultsIfNecessary(query);
         }
 
         @SuppressWarnings("ConstantConditions")
@@ -206,27 +225,28 @@ public class PartTreeRequeryQuery extends AbstractRequeryQuery {
             return query;
         }
 
-        @Nullable
-        protected RequeryQueryCreator createCreator(@Nullable final RequeryParametersParameterAccessor accessor) {
+        @Nonnull
+        protected QueryElement<?> createRoot(@Nonnull final RequeryParametersParameterAccessor accessor) {
+            ReturnedType type = parameters.hasDynamicProjection()
+                                ? getQueryMethod().getResultProcessor().withDynamicProjection(accessor).getReturnedType()
+                                : returnedType;
 
-            ParameterMetadataProvider provider = (accessor != null)
-                                                 ? new ParameterMetadataProvider(accessor)
-                                                 : new ParameterMetadataProvider(parameters);
+            return RequeryQueryCreator.createRootElement(operations, tree, type);
+        }
 
-            ResultProcessor processor = getQueryMethod().getResultProcessor();
-            ReturnedType returnedType = (accessor != null)
-                                        ? processor.withDynamicProjection(accessor).getReturnedType()
-                                        : processor.getReturnedType();
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        protected QueryElement<?> complete(@Nonnull final QueryElement<?> root,
+                                           @Nullable final LogicalCondition<?, ?> criteria,
+                                           @Nonnull final RequeryParametersParameterAccessor accessor) {
+            QueryElement<?> query = (criteria != null) ? unwrap(root.where(criteria)) : root;
 
-            return new RequeryQueryCreator(operations, provider, returnedType, tree);
-        }
+            Sort sort = parameters.potentiallySortsDynamically()
+                        ? tree.getSort().and(accessor.getSort())
+                        : tree.getSort();
 
-        private Sort getDynamicSort(Object[] values) {
-            return parameters.potentiallySortsDynamically()
-                   ? new RequeryParametersParameterAccessor(parameters, values).getSort()
-                   : Sort.unsorted();
+            return applySort(getDomainClass(), query, sort);
         }
-
     }
 
     /**
@@ -234,16 +254,19 @@ public class PartTreeRequeryQuery extends AbstractRequeryQuery {
      */
     private class CountQueryPreparer extends QueryPreparer {
 
+        @Nonnull
+        @Override
+        protected QueryElement<?> createRoot(@Nonnull final RequeryParametersParameterAccessor accessor) {
+            return unwrap(getOperations().select(Count.count(getDomainClass())));
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nonnull
         @Override
-        protected RequeryCountQueryCreator createCreator(@Nullable final RequeryParametersParameterAccessor accessor) {
-            ParameterMetadataProvider provider = (accessor != null)
-                                                 ? new ParameterMetadataProvider(accessor)
-                                                 : new ParameterMetadataProvider(parameters);
-
-            return new RequeryCountQueryCreator(operations,
-                                                provider,
-                                                getQueryMethod().getResultProcessor().getReturnedType(),
-                                                tree);
+        protected QueryElement<?> complete(@Nonnull final QueryElement<?> root,
+                                           @Nullable final LogicalCondition<?, ?> criteria,
+                                           @Nonnull final RequeryParametersParameterAccessor accessor) {
+            return (criteria != null) ? unwrap(root.where(criteria)) : root;
         }
     }
 }
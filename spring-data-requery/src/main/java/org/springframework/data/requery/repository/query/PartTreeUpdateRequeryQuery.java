@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.query.LogicalCondition;
+import io.requery.query.NamedExpression;
+import io.requery.query.Scalar;
+import io.requery.query.element.QueryElement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.repository.query.RequeryQueryExecution.UpdateExecution;
+import org.springframework.data.requery.utils.RequeryUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
+
+/**
+ * {@code update[Property](And[Property])*By[Criteria]} 형태의 method name 으로 단일 UPDATE 문을 수행합니다.
+ * <p>
+ * 앞쪽 parameter 들이 SET 절에 사용할 값이고, 나머지 parameter 들이 조건절에 사용됩니다.
+ * <pre>
+ * int updateActiveByAgeGreaterThan(boolean active, int age);
+ * </pre>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+public class PartTreeUpdateRequeryQuery extends AbstractRequeryQuery {
+
+    private static final Pattern UPDATE_METHOD_PATTERN = Pattern.compile("^update(\\p{Lu}.*?)By(\\p{Lu}.*)$");
+
+    /**
+     * method name 이 update 질의를 나타내는지 여부
+     */
+    public static boolean isUpdateMethod(@Nonnull final String methodName) {
+        return UPDATE_METHOD_PATTERN.matcher(methodName).matches();
+    }
+
+    private final RequeryParameters parameters;
+    private final List<NamedExpression<Object>> assignments;
+    private final PartTreeQueryTemplate template;
+
+    @SuppressWarnings("unchecked")
+    public PartTreeUpdateRequeryQuery(@Nonnull final RequeryQueryMethod method,
+                                      @Nonnull final RequeryOperations operations) {
+        super(method, operations);
+
+        this.parameters = method.getParameters();
+
+        Matcher matcher = UPDATE_METHOD_PATTERN.matcher(method.getName());
+        Assert.isTrue(matcher.matches(), "Not update query method. method=" + method.getName());
+
+        try {
+            List<NamedExpression<Object>> expressions = new ArrayList<>();
+            for (String property : matcher.group(1).split("And(?=\\p{Lu})")) {
+                String propertyName = StringUtils.uncapitalize(property);
+                Field field = RequeryUtils.findFirstField(domainClass, it -> it.getName().equals(propertyName));
+                Assert.notNull(field, "Not found property [" + propertyName + "] in " + domainClass.getSimpleName());
+
+                expressions.add((NamedExpression<Object>) NamedExpression.of(propertyName, field.getType()));
+            }
+            this.assignments = Collections.unmodifiableList(expressions);
+            PartTree tree = new PartTree("findBy" + matcher.group(2), domainClass);
+            this.template = PartTreeQueryTemplate.compile(operations,
+                                                          tree,
+                                                          parameters,
+                                                          assignments.size(),
+                                                          operations.getInListBindingMode());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Fail to create update query for method [" + method + "] message=" + e.getMessage(), e);
+        }
+
+        Assert.isTrue(parameters.getBindableParameters().getNumberOfParameters() >= assignments.size(),
+                      "Update method must have parameters for SET clause. method=" + method.getName());
+
+        log.debug("Create PartTreeUpdateRequeryQuery. domainClass={}, assignments={}", domainClass, assignments);
+    }
+
+    @Nonnull
+    @Override
+    protected RequeryQueryExecution getExecution() {
+        return new UpdateExecution(operations);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    protected QueryElement<?> doCreateQuery(@Nonnull final Object[] values) {
+        RequeryParametersParameterAccessor accessor = new RequeryParametersParameterAccessor(parameters, values);
+
+        QueryElement<? extends Scalar<Integer>> update = (QueryElement<? extends Scalar<Integer>>) unwrap(operations.update(domainClass));
+        for (int i = 0; i < assignments.size(); i++) {
+            update.set(assignments.get(i), accessor.getBindableValue(i));
+        }
+
+        LogicalCondition<?, ?> criteria = template.bind(accessor);
+
+        log.trace("Update query. assignments={}, values={}", assignments, Arrays.toString(values));
+        return (criteria != null) ? unwrap(update.where(criteria)) : update;
+    }
+
+    @Nonnull
+    @Override
+    protected QueryElement<? extends Scalar<Integer>> doCreateCountQuery(@Nonnull final Object[] values) {
+        throw new UnsupportedOperationException("Update query does not support count query.");
+    }
+}
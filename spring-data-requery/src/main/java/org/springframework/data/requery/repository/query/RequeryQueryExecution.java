@@ -25,14 +25,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.ConfigurableConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
-import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.LazyPage;
+import org.springframework.data.requery.repository.support.SurroundingTransactionPostProcessor;
 import org.springframework.data.requery.utils.RequeryUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -123,6 +126,23 @@ public abstract class RequeryQueryExecution {
     @Nullable
     protected abstract Object doExecute(final AbstractRequeryQuery query, final Object[] values);
 
+    /**
+     * 미리 계산해 둔 {@link Pageable} parameter 위치로 {@link Pageable} 을 구합니다.
+     * 매 호출마다 {@link ParametersParameterAccessor} 를 생성하지 않기 위함입니다.
+     *
+     * @param pageableIndex {@link RequeryParameters#getPageableIndex()}
+     * @param values        method 인자
+     * @return {@link Pageable}, 없다면 {@link Pageable#unpaged()}
+     */
+    @Nonnull
+    protected static Pageable getPageable(final int pageableIndex, @Nonnull final Object[] values) {
+        if (pageableIndex < 0) {
+            return Pageable.unpaged();
+        }
+        Pageable pageable = (Pageable) values[pageableIndex];
+        return (pageable != null) ? pageable : Pageable.unpaged();
+    }
+
 
     //
     //
@@ -146,18 +166,17 @@ public abstract class RequeryQueryExecution {
      */
     static class SlicedExecution extends RequeryQueryExecution {
 
-        private final RequeryParameters parameters;
+        private final int pageableIndex;
 
         public SlicedExecution(RequeryParameters parameters) {
-            this.parameters = parameters;
+            this.pageableIndex = parameters.getPageableIndex();
         }
 
         @Override
         @SuppressWarnings("unchecked")
         protected @Nullable
         SliceImpl doExecute(@Nonnull final AbstractRequeryQuery query, final Object[] values) {
-            ParametersParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
-            Pageable pageable = accessor.getPageable();
+            Pageable pageable = getPageable(pageableIndex, values);
 
             QueryElement<?> queryElement = query.createQueryElement(values);
 
@@ -186,43 +205,70 @@ public abstract class RequeryQueryExecution {
     }
 
 
+    /**
+     * Executes the query to return a {@link Page} of entities.
+     * count 질의는 필요한 경우에만 수행합니다. (첫 페이지가 pageSize 보다 작거나, 마지막 페이지인 경우에는 count 질의를 생략)
+     * 반환 수형이 {@link LazyPage} 라면 count 질의는 {@link LazyPage#getTotalElements()} 호출 시에 수행합니다.
+     */
     static class PagedExecution extends RequeryQueryExecution {
 
-        private final RequeryParameters parameters;
+        private final int pageableIndex;
 
         public PagedExecution(RequeryParameters parameters) {
-            this.parameters = parameters;
+            this.pageableIndex = parameters.getPageableIndex();
         }
 
         @Override
         @SuppressWarnings("unchecked")
         protected @Nullable
         Page<?> doExecute(@Nonnull final AbstractRequeryQuery query, final Object[] values) {
-            ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
-            Pageable pageable = accessor.getPageable();
+            Pageable pageable = getPageable(pageableIndex, values);
 
             QueryElement<?> queryElement = query.createQueryElement(values);
 
             if (pageable.isPaged()) {
 
-                long totals = count(query, values);
-
                 // method name에서 paging을 유추할 수 있을 수 있기 때문에 추가로 paging을 하지 않는다.
                 if (queryElement.getLimit() == null && queryElement.getOffset() == null) {
-                    queryElement = RequeryUtils.applyPageable(query.getDomainClass(), queryElement, accessor.getPageable());
+                    queryElement = RequeryUtils.applyPageable(query.getDomainClass(), queryElement, pageable);
+                }
+
+                if (query.getQueryMethod().isLazyPageQuery()) {
+                    return getLazyPage(query, queryElement, pageable, values);
                 }
+
                 Result<?> result = (Result<?>) queryElement.get();
                 List<?> contents = result.toList();
 
-                log.debug("Paged Query. totals={}, contents={}", totals, contents);
+                log.debug("Paged Query. contents size={}", contents.size());
 
-                return new PageImpl(contents, accessor.getPageable(), totals);
+                return PageableExecutionUtils.getPage((List<Object>) contents, pageable, () -> count(query, values));
             } else {
                 Result<?> result = (Result<?>) queryElement.get();
                 return new PageImpl(result.toList());
             }
         }
 
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        private LazyPage<?> getLazyPage(@Nonnull final AbstractRequeryQuery query,
+                                        @Nonnull final QueryElement<?> baseQuery,
+                                        @Nonnull final Pageable pageable,
+                                        final Object[] values) {
+            // 다음 페이지 존재 여부를 알기 위해 한 건을 더 조회합니다.
+            Integer limit = baseQuery.getLimit();
+            int pageSize = (limit != null) ? limit : pageable.getPageSize();
+            QueryElement<?> queryElement = unwrap(baseQuery.limit(pageSize + 1));
+
+            List<Object> resultList = ((Result<Object>) queryElement.get()).toList();
+            boolean hasNext = resultList.size() > pageSize;
+            List<Object> contents = hasNext ? resultList.subList(0, pageSize) : resultList;
+
+            log.debug("Lazy paged Query. contents size={}, hasNext={}", contents.size(), hasNext);
+
+            return new LazyPage<>(contents, pageable, hasNext, () -> count(query, values));
+        }
+
         @SuppressWarnings("unchecked")
         private long count(@Nonnull final AbstractRequeryQuery query, final Object[] values) {
             QueryElement<?> queryElement = unwrap(query.createQueryElement(values));
@@ -252,35 +298,49 @@ public abstract class RequeryQueryExecution {
 
     /**
      * {@link RequeryQueryExecution} executing a Java 8 Stream.
+     * 결과는 {@link RequeryOperations#stream} 으로 forward-only cursor 에서 {@link RequeryOperations#getStreamFetchSize()} 단위로 읽어오며,
+     * 마지막 row 를 읽거나 Stream 을 close 하면 ResultSet 을 close 합니다.
+     * <p>
+     * 반환 후에도 Connection 을 사용하므로 호출자의 transaction 이 있어야 하며, 없다면 {@link InvalidDataAccessApiUsageException} 을 던집니다.
+     * (see {@link SurroundingTransactionPostProcessor})
      */
     static class StreamExecution extends RequeryQueryExecution {
 
-        private final RequeryParameters parameters;
+        private final int pageableIndex;
 
         public StreamExecution(RequeryParameters parameters) {
-            this.parameters = parameters;
+            this.pageableIndex = parameters.getPageableIndex();
+        }
+
+        /**
+         * Stream 은 호출자가 읽는 동안 Connection 을 사용하므로, 실패를 null 로 숨기지 않고 예외를 그대로 전달합니다.
+         */
+        @Nullable
+        @Override
+        public Object execute(@Nonnull final AbstractRequeryQuery query, @Nonnull final Object[] values) {
+            Assert.notNull(query, "query must not be null.");
+            Assert.notNull(values, "values must not be null.");
+
+            return doExecute(query, values);
         }
 
         @Override
         @SuppressWarnings("unchecked")
         protected @Nullable Stream<?> doExecute(AbstractRequeryQuery query, Object[] values) {
 
-            ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
-            Pageable pageable = accessor.getPageable();
+            if (!SurroundingTransactionPostProcessor.isSurroundingTransactionActive(query.getOperations())) {
+                throw new InvalidDataAccessApiUsageException(SurroundingTransactionPostProcessor.NO_SURROUNDING_TRANSACTION);
+            }
+
+            Pageable pageable = getPageable(pageableIndex, values);
 
             QueryElement<?> queryElement = query.createQueryElement(values);
 
-            if (pageable.isPaged()) {
-                // method name에서 paging을 유추할 수 있을 수 있기 때문에 추가로 paging을 하지 않는다.
-                if (queryElement.getLimit() == null && queryElement.getOffset() == null) {
-                    queryElement = RequeryUtils.applyPageable(query.getDomainClass(), queryElement, accessor.getPageable());
-                }
-                Result<?> result = (Result<?>) queryElement.get();
-                return result.stream();
-            } else {
-                Result<?> result = (Result<?>) queryElement.get();
-                return result.stream();
+            // method name에서 paging을 유추할 수 있을 수 있기 때문에 추가로 paging을 하지 않는다.
+            if (pageable.isPaged() && queryElement.getLimit() == null && queryElement.getOffset() == null) {
+                queryElement = RequeryUtils.applyPageable(query.getDomainClass(), queryElement, pageable);
             }
+            return query.getOperations().stream((QueryElement<? extends Result<Object>>) queryElement);
         }
     }
 
@@ -310,7 +370,31 @@ public abstract class RequeryQueryExecution {
     }
 
     /**
-     * Exists action
+     * 단일 UPDATE 문을 수행하고, 해당 entity 수형의 cache 를 무효화합니다.
+     */
+    static class UpdateExecution extends RequeryQueryExecution {
+
+        private final RequeryOperations operations;
+
+        UpdateExecution(@Nonnull RequeryOperations operations) {
+            Assert.notNull(operations, "operations must not be null!");
+            this.operations = operations;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected @Nullable Object doExecute(AbstractRequeryQuery query, Object[] values) {
+            QueryElement<? extends Scalar<Integer>> updateQuery = (QueryElement<? extends Scalar<Integer>>) query.createQueryElement(values);
+
+            Integer updatedCount = updateQuery.get().value();
+            operations.getEntityCache().invalidate(query.getDomainClass());
+
+            return updatedCount;
+        }
+    }
+
+    /**
+     * Exists action. 존재 여부를 조회합니다. 질의는 entity 대신 상수를 select 하므로 ({@link RequeryOperations#selectExists(Class)}) entity 를 로드하지 않습니다.
      */
     static class ExistsExecution extends RequeryQueryExecution {
         @Override
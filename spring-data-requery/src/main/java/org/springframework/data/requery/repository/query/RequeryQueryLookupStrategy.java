@@ -108,6 +108,10 @@ public final class RequeryQueryLookupStrategy {
         protected RepositoryQuery resolveQuery(@Nonnull final RequeryQueryMethod method,
                                                @Nonnull final RequeryOperations operations,
                                                @Nullable NamedQueries namedQueries) {
+            if (PartTreeUpdateRequeryQuery.isUpdateMethod(method.getName())) {
+                log.debug("Create PartTreeUpdateRequeryQuery, queryMethod={}", method);
+                return new PartTreeUpdateRequeryQuery(method, operations);
+            }
             log.debug("Create PartTreeRequeryQuery, queryMethod={}", method);
             return new PartTreeRequeryQuery(method, operations);
         }
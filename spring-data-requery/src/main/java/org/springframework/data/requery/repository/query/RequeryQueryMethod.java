@@ -25,7 +25,13 @@ import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.util.ReactiveWrappers;
+import org.springframework.data.requery.annotation.FetchAssociations;
+import org.springframework.data.requery.annotation.Modifying;
 import org.springframework.data.requery.annotation.Query;
+import org.springframework.data.requery.annotation.QueryHints;
+import org.springframework.data.requery.core.StatementHints;
+import org.springframework.data.requery.domain.LazyPage;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -36,6 +42,7 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Requery specific extension of {@link QueryMethod}.
@@ -49,6 +56,11 @@ public class RequeryQueryMethod extends QueryMethod {
 
     private static final Set<Class<?>> NATIVE_ARRAY_TYPES;
 
+    /**
+     * {@code in ?}, {@code in (?)}, {@code in :name} 처럼 IN 절에 사용하는 parameter
+     */
+    private static final Pattern IN_LIST_PARAMETER = Pattern.compile("\\bin\\s*\\(?\\s*(\\?|:\\w)", Pattern.CASE_INSENSITIVE);
+
     static {
         Set<Class<?>> types = new HashSet<>();
         types.add(byte[].class);
@@ -86,15 +98,15 @@ public class RequeryQueryMethod extends QueryMethod {
         Assert.isTrue(!(isModifyingQuery() && getParameters().hasSpecialParameter()),
                       String.format("Modifying queryMethod must not contains %s!", Parameters.TYPES));
 
-        if (isAnnotatedQuery()) {
-            log.info("requery가 아직 named parameter 를 지원히지 않으므로, @Query 내에서는 `?` 만 사용하세요.");
+        // batch 질의의 named parameter 값은 인자가 아닌 요소별 Map 으로 전달됩니다.
+        if (isAnnotatedQuery() && !isBatchModifyingQuery()) {
             assertParamterNamesInAnnotatedQuery();
         }
     }
 
     /**
-     * TODO: requery 1.6.0 까지는 지원하지 않으므로, 사용할 수 없습니다.
      * Check for named paraemter in AnnotatedQuery
+     * (named parameter 는 {@link org.springframework.data.requery.core.NamedPreparedQueryOperation} 이 위치 기반 parameter 로 변환합니다)
      */
     private void assertParamterNamesInAnnotatedQuery() {
         String annotatedQuery = getAnnotatedQuery();
@@ -114,7 +126,6 @@ public class RequeryQueryMethod extends QueryMethod {
                 log.trace("paramName={}", paramName);
 
                 if (StringUtils.hasText(paramName)) {
-                    // TODO: 현재 requery 1.6.0 에서는 Named parameter를 지원하지 않으므로 Named parameter가 있는 경우에 예외를 발생시킨다.
                     boolean hasNamedParameter = annotatedQuery.contains(":" + paramName) || annotatedQuery.contains("#" + paramName);
 
                     if (!hasNamedParameter) {
@@ -136,7 +147,20 @@ public class RequeryQueryMethod extends QueryMethod {
 
     @Override
     public boolean isModifyingQuery() {
-        return false;
+        return null != AnnotationUtils.findAnnotation(method, Modifying.class);
+    }
+
+    /**
+     * parameter 값 목록 ({@code Iterable}) 인자 하나로 같은 문장을 JDBC batch 로 수행하는 {@link Modifying} 질의인지 여부
+     * ({@code in ?} 처럼 IN 절에 사용하는 인자는 값 목록으로 binding 하므로 batch 로 수행하지 않습니다)
+     */
+    boolean isBatchModifyingQuery() {
+        if (!isModifyingQuery() || !isAnnotatedQuery() || getParameters().getNumberOfParameters() != 1) {
+            return false;
+        }
+        Parameter parameter = getParameters().getParameter(0);
+        return Iterable.class.isAssignableFrom(parameter.getType()) &&
+               !IN_LIST_PARAMETER.matcher(getAnnotatedQuery()).find();
     }
 
     public boolean isAnnotatedQuery() {
@@ -177,6 +201,22 @@ public class RequeryQueryMethod extends QueryMethod {
     }
 
 
+    /**
+     * {@link FetchAssociations} 로 지정한, 결과 entity 들에 대해 미리 로드할 association 속성명 목록
+     */
+    @Nonnull
+    String[] getFetchAssociations() {
+        return getMergedOrDefaultAnnotationValue("value", FetchAssociations.class, String[].class);
+    }
+
+    /**
+     * {@link QueryHints} 로 지정한 JDBC Statement 설정
+     */
+    @Nonnull
+    StatementHints getStatementHints() {
+        return StatementHints.from(AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class));
+    }
+
     @SuppressWarnings("SameParameterValue")
     private String getAnnotationValue(String attribute, Class<String> type) {
         return getMergedOrDefaultAnnotationValue(attribute, Query.class, type);
@@ -205,8 +245,21 @@ public class RequeryQueryMethod extends QueryMethod {
         return (RequeryParameters) super.getParameters();
     }
 
+    /**
+     * 반환 수형이 {@link LazyPage} 인 경우, 전체 건수는 요청 시에만 조회합니다.
+     */
+    public boolean isLazyPageQuery() {
+        return isPageQuery() && LazyPage.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * {@code Flux} 처럼 여러 요소를 발행하는 reactive 수형은 collection 질의로 수행합니다.
+     */
     @Override
     public boolean isCollectionQuery() {
+        if (ReactiveWrappers.supports(method.getReturnType())) {
+            return ReactiveWrappers.isMultiValueType(method.getReturnType());
+        }
         return super.isCollectionQuery() && !NATIVE_ARRAY_TYPES.contains(method.getReturnType());
     }
 
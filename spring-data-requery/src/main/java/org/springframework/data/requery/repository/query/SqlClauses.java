@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.data.requery.repository.query;
+
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Raw 질의에서 괄호, 문자열 literal, 주석 밖에 있는 최상위 절의 위치를 찾습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+final class SqlClauses {
+
+    /**
+     * 질의의 최상위 절을 분석합니다.
+     *
+     * @param sql {@code ?} parameter 를 사용하는 질의
+     * @return {@link SqlClauses} instance
+     */
+    @Nonnull
+    static SqlClauses scan(@Nonnull final String sql) {
+        SqlClauses clauses = new SqlClauses();
+        String previousWord = null;
+        int depth = 0;
+        int length = sql.length();
+        int i = 0;
+
+        while (i < length) {
+            char ch = sql.charAt(i);
+
+            if (ch == '\'' || ch == '"') {
+                int end = sql.indexOf(ch, i + 1);
+                i = (end < 0) ? length : end + 1;
+            } else if (ch == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = (end < 0) ? length : end;
+            } else if (ch == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = (end < 0) ? length : end + 2;
+            } else if (ch == '(') {
+                depth++;
+                i++;
+            } else if (ch == ')') {
+                depth--;
+                i++;
+            } else if (ch == '?') {
+                clauses.parameters.add(i);
+                i++;
+            } else if (Character.isJavaIdentifierStart(ch)) {
+                int end = i + 1;
+                while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                if (depth == 0) {
+                    String word = sql.substring(i, end).toLowerCase(Locale.ROOT);
+                    clauses.accept(word, previousWord, i);
+                    previousWord = word;
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return clauses;
+    }
+
+    private boolean startsWithSelect;
+    private boolean distinct;
+    private boolean grouped;
+    private boolean combined;
+    private boolean limited;
+
+    /**
+     * 최상위 FROM 의 위치 (없으면 -1)
+     */
+    private int from = -1;
+
+    /**
+     * 최상위 ORDER BY 의 위치 (없으면 -1)
+     */
+    private int orderBy = -1;
+
+    /**
+     * ORDER BY 뒤에 와야 하는 최상위 LIMIT, OFFSET, FETCH, FOR (UPDATE) 절 중 첫 위치 (없으면 -1)
+     */
+    private int trailing = -1;
+
+    /**
+     * {@code ?} parameter 의 위치
+     */
+    private final List<Integer> parameters = new ArrayList<>();
+
+    private SqlClauses() {}
+
+    /**
+     * select 목록을 바꾸어도 결과 row 수가 같은 단순 질의인지 여부
+     */
+    boolean isSimpleSelect() {
+        return startsWithSelect && from > 0 && !distinct && !grouped && !combined;
+    }
+
+    List<Integer> getParameters() {
+        return Collections.unmodifiableList(parameters);
+    }
+
+    private void markTrailing(final int position) {
+        if (trailing < 0 && position > from) {
+            trailing = position;
+        }
+    }
+
+    private void accept(@Nonnull final String word, final String previousWord, final int position) {
+        if (previousWord == null) {
+            startsWithSelect = "select".equals(word);
+            return;
+        }
+        switch (word) {
+            case "distinct":
+                distinct |= "select".equals(previousWord);
+                break;
+            case "from":
+                if (from < 0) {
+                    from = position;
+                }
+                break;
+            case "group":
+            case "having":
+                grouped = true;
+                break;
+            case "union":
+            case "intersect":
+            case "except":
+            case "minus":
+                combined = true;
+                break;
+            case "order":
+                orderBy = position;
+                break;
+            case "limit":
+            case "offset":
+            case "fetch":
+                limited = true;
+                markTrailing(position);
+                break;
+            case "top":
+                limited = true;
+                break;
+            case "for":
+                markTrailing(position);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.query.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.PreferredConstructorDiscoverer;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raw 질의 결과 {@link Tuple} 을 DTO, record 형태의 class, interface projection 으로 변환하는 mapper 입니다.
+ * <p>
+ * 생성자, setter 는 {@link MethodHandle} 로 반환 수형별로 한 번만 compile 하므로, row 마다 reflection 비용이 들지 않습니다.
+ * <ul>
+ * <li>컬럼 수와 인자 수가 같은 생성자가 있다면 컬럼 순서대로 생성자 인자로 사용합니다.
+ * 인자 수가 같은 생성자가 여럿이라면 컬럼 값의 수형이 맞는 생성자를 사용하고, {@link PreferredConstructorDiscoverer} 의 생성자를 먼저 확인합니다.</li>
+ * <li>기본 생성자가 있다면 생성 후 property name 과 같은 이름의 컬럼 (또는 snake_case 컬럼) 값을 setter 로 설정합니다.</li>
+ * <li>interface projection 은 property name 을 key 로 하는 Map 을 proxy 로 감쌉니다.</li>
+ * </ul>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+final class TupleMapper {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Map<Class<?>, TupleMapper> mappers = new ConcurrentHashMap<>();
+    private static final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+    private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * {@link Tuple} 을 변환할 수 있는 반환 수형인지 여부 (단순 값, Tuple, Map, Collection, 배열은 변환하지 않습니다)
+     */
+    static boolean canMap(@Nonnull final ReturnedType type) {
+        Class<?> returnedClass = type.getReturnedType();
+
+        return type.isProjecting() &&
+               !BeanUtils.isSimpleValueType(returnedClass) &&
+               !returnedClass.isArray() &&
+               !Object.class.equals(returnedClass) &&
+               !Tuple.class.isAssignableFrom(returnedClass) &&
+               !Map.class.isAssignableFrom(returnedClass) &&
+               !Collection.class.isAssignableFrom(returnedClass);
+    }
+
+    /**
+     * 반환 수형에 해당하는 mapper 를 반환합니다.
+     */
+    @Nonnull
+    static TupleMapper of(@Nonnull final ReturnedType type) {
+        return mappers.computeIfAbsent(type.getReturnedType(), TupleMapper::new);
+    }
+
+    private final Class<?> returnedClass;
+
+    /**
+     * 생성자 인자 수별 mapper
+     */
+    private final Map<Integer, PositionalRowMapper> positionalMappers;
+
+    /**
+     * 컬럼 이름으로 변환하는 mapper (기본 생성자 + setter, 또는 interface projection)
+     */
+    @Nullable private final RowMapper namedMapper;
+
+    private TupleMapper(@Nonnull final Class<?> returnedClass) {
+        this.returnedClass = returnedClass;
+
+        if (returnedClass.isInterface()) {
+            this.positionalMappers = new HashMap<>();
+            this.namedMapper = createProjectionMapper(returnedClass);
+        } else {
+            this.positionalMappers = createConstructorMappers(returnedClass);
+            this.namedMapper = createBeanMapper(returnedClass);
+        }
+
+        log.debug("Compile TupleMapper. returnedClass={}, constructor arities={}, named={}",
+                  returnedClass.getSimpleName(), positionalMappers.keySet(), namedMapper != null);
+    }
+
+    /**
+     * 질의 결과를 반환 수형으로 변환합니다. {@link Tuple} 이 아니라면 그대로 반환합니다.
+     *
+     * @param source 질의 결과 row
+     * @return 변환된 객체
+     */
+    @Nullable
+    Object map(@Nullable final Object source) {
+        if (!(source instanceof Tuple)) {
+            return source;
+        }
+
+        Tuple tuple = (Tuple) source;
+        RowMapper mapper = positionalMappers.get(tuple.count());
+        if (mapper == null) {
+            mapper = namedMapper;
+        }
+        if (mapper == null) {
+            throw new MappingException("Cannot map " + tuple.count() + " columns to " + returnedClass.getName() +
+                                       ". Needs a constructor with " + tuple.count() + " parameters or a default constructor.");
+        }
+        return mapper.map(tuple);
+    }
+
+    /**
+     * 결과 목록을 반환 수형으로 변환합니다.
+     */
+    @Nonnull
+    List<Object> mapAll(@Nonnull final Iterable<?> sources) {
+        List<Object> results = (sources instanceof Collection) ? new ArrayList<>(((Collection<?>) sources).size()) : new ArrayList<>();
+        for (Object source : sources) {
+            results.add(map(source));
+        }
+        return results;
+    }
+
+    /**
+     * 인자 이름이 주어진 property 들과 같은 생성자로 값 배열을 변환하는 mapper 를 찾습니다.
+     * 인자 이름을 알 수 없다면 인자 수가 같은 유일한 생성자이거나 preferred constructor 인 경우에만 사용합니다.
+     *
+     * @param properties 생성자 인자 순서의 property name ({@link ReturnedType#getInputProperties()})
+     * @return 값 배열을 변환하는 mapper, 해당하는 생성자가 없다면 null
+     */
+    @Nullable
+    ValuesMapper getConstructorMapper(@Nonnull final List<String> properties) {
+        PositionalRowMapper mapper = positionalMappers.get(properties.size());
+        if (mapper instanceof ConstructorRowMapper) {
+            ConstructorRowMapper constructorMapper = (ConstructorRowMapper) mapper;
+            return constructorMapper.matches(properties) ? constructorMapper : null;
+        }
+        if (mapper instanceof OverloadedRowMapper) {
+            return ((OverloadedRowMapper) mapper).candidates.stream()
+                .filter(candidate -> candidate.matches(properties))
+                .findFirst()
+                .orElse(null);
+        }
+        return null;
+    }
+
+    /**
+     * 생성자를 인자 배열로 호출하는 {@link MethodHandle} 을 생성합니다. ({@code (Object[]) -> Object})
+     */
+    @Nonnull
+    private static MethodHandle constructorHandle(@Nonnull final Constructor<?> constructor) {
+        try {
+            ReflectionUtils.makeAccessible(constructor);
+            return lookup.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(SPREAD_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new MappingException("Fail to access constructor. constructor=" + constructor, e);
+        }
+    }
+
+    /**
+     * {@link #constructorHandle(Constructor)} 로 생성한 handle 로 객체를 생성합니다.
+     */
+    @Nonnull
+    private static Object instantiate(@Nonnull final MethodHandle constructor, @Nonnull final Object[] args) {
+        try {
+            return (Object) constructor.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new MappingException("Fail to instantiate. constructor=" + constructor, t);
+        }
+    }
+
+    @Nullable
+    private static Object convert(@Nullable final Object value, @Nonnull final Class<?> targetType) {
+        return (value == null || targetType.isInstance(value)) ? value : conversionService.convert(value, targetType);
+    }
+
+    private static Map<Integer, PositionalRowMapper> createConstructorMappers(final Class<?> clazz) {
+        Map<Integer, PositionalRowMapper> mappers = new HashMap<>();
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return mappers;
+        }
+
+        Map<Integer, List<Constructor<?>>> candidates = new HashMap<>();
+        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            int arity = constructor.getParameterCount();
+            if (arity > 0 && !constructor.isSynthetic()) {
+                candidates.computeIfAbsent(arity, it -> new ArrayList<>()).add(constructor);
+            }
+        }
+
+        Constructor<?> preferred = findPreferredConstructor(clazz);
+        candidates.forEach((arity, constructors) -> {
+            if (constructors.size() == 1) {
+                mappers.put(arity, new ConstructorRowMapper(constructors.get(0), true));
+            } else {
+                mappers.put(arity, new OverloadedRowMapper(clazz, constructors, preferred));
+            }
+        });
+        return mappers;
+    }
+
+    /**
+     * Spring Data 가 DTO projection 의 input property 를 정할 때 사용하는 생성자
+     */
+    @Nullable
+    private static Constructor<?> findPreferredConstructor(final Class<?> clazz) {
+        try {
+            PreferredConstructor<?, ?> constructor = PreferredConstructorDiscoverer.discover(clazz);
+            return (constructor != null) ? constructor.getConstructor() : null;
+        } catch (RuntimeException e) {
+            log.debug("Fail to discover preferred constructor. class={}", clazz.getName(), e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static RowMapper createBeanMapper(final Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+
+        Constructor<?> defaultConstructor;
+        try {
+            defaultConstructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+
+        List<PropertyDescriptor> properties = new ArrayList<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(clazz)) {
+            if (descriptor.getWriteMethod() != null) {
+                properties.add(descriptor);
+            }
+        }
+        return new BeanRowMapper(defaultConstructor, properties);
+    }
+
+    @Nullable
+    private static RowMapper createProjectionMapper(final Class<?> projectionType) {
+        List<String> names = new ArrayList<>();
+        for (PropertyDescriptor descriptor : projectionFactory.getProjectionInformation(projectionType).getInputProperties()) {
+            names.add(descriptor.getName());
+        }
+        return names.isEmpty() ? null : new ProjectionRowMapper(projectionType, names);
+    }
+
+    /**
+     * camelCase property name 에 해당하는 snake_case 컬럼명. 다르지 않다면 null
+     */
+    @Nullable
+    private static String toSnakeCase(@Nonnull final String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (char ch : name.toCharArray()) {
+            if (Character.isUpperCase(ch)) {
+                builder.append('_').append(Character.toLowerCase(ch));
+            } else {
+                builder.append(ch);
+            }
+        }
+        String snakeCase = builder.toString();
+        return snakeCase.equals(name) ? null : snakeCase;
+    }
+
+    /**
+     * 컬럼명으로 값을 읽습니다. property name 에 해당하는 컬럼 값이 없다면 snake_case 컬럼 값을 읽습니다.
+     */
+    @Nullable
+    private static Object getValue(@Nonnull final Tuple tuple, @Nonnull final String name, @Nullable final String alternateName) {
+        Object value = tuple.get(name);
+        if (value == null && alternateName != null) {
+            value = tuple.get(alternateName);
+        }
+        return value;
+    }
+
+    private interface RowMapper {
+        Object map(Tuple tuple);
+    }
+
+    /**
+     * 생성자 인자 순서의 값 배열을 반환 수형으로 변환합니다.
+     */
+    interface ValuesMapper {
+        Object map(Object[] values);
+    }
+
+    private interface PositionalRowMapper extends RowMapper, ValuesMapper {
+
+        @Override
+        default Object map(final Tuple tuple) {
+            Object[] values = new Object[tuple.count()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = tuple.get(i);
+            }
+            return map(values);
+        }
+    }
+
+    private static final class ConstructorRowMapper implements PositionalRowMapper {
+
+        private final MethodHandle constructor;
+        private final Class<?>[] parameterTypes;
+        private final boolean[] primitives;
+        @Nullable private final String[] parameterNames;
+
+        /**
+         * 인자 이름을 알 수 없을 때 {@link #matches(List)} 에서 사용할 수 있는 생성자인지 여부
+         * (인자 수가 같은 유일한 생성자이거나 preferred constructor)
+         */
+        private final boolean preferred;
+
+        ConstructorRowMapper(final Constructor<?> constructor, final boolean preferred) {
+            this.constructor = constructorHandle(constructor);
+            this.parameterNames = parameterNameDiscoverer.getParameterNames(constructor);
+            this.preferred = preferred;
+
+            Class<?>[] types = constructor.getParameterTypes();
+            this.parameterTypes = new Class<?>[types.length];
+            this.primitives = new boolean[types.length];
+            for (int i = 0; i < types.length; i++) {
+                parameterTypes[i] = ClassUtils.resolvePrimitiveIfNecessary(types[i]);
+                primitives[i] = types[i].isPrimitive();
+            }
+        }
+
+        boolean matches(final List<String> properties) {
+            if (parameterNames == null) {
+                return preferred;
+            }
+            return Arrays.asList(parameterNames).equals(properties);
+        }
+
+        /**
+         * 값의 수형이 생성자 인자 수형과 같은지 (strict) 또는 변환할 수 있는지 여부
+         */
+        boolean accepts(final Object[] values, final boolean strict) {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    if (primitives[i]) {
+                        return false;
+                    }
+                } else if (!parameterTypes[i].isInstance(value) &&
+                           (strict || !conversionService.canConvert(value.getClass(), parameterTypes[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object map(final Object[] values) {
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = convert(values[i], parameterTypes[i]);
+            }
+            return instantiate(constructor, args);
+        }
+    }
+
+    /**
+     * 인자 수가 같은 생성자가 여럿인 경우, 값의 수형이 같은 생성자를 먼저 찾고 없다면 변환할 수 있는 생성자를 사용합니다.
+     * preferred constructor 를 가장 먼저 확인합니다.
+     */
+    private static final class OverloadedRowMapper implements PositionalRowMapper {
+
+        private final Class<?> returnedClass;
+        private final List<ConstructorRowMapper> candidates;
+
+        OverloadedRowMapper(final Class<?> returnedClass,
+                            final List<Constructor<?>> constructors,
+                            @Nullable final Constructor<?> preferred) {
+            this.returnedClass = returnedClass;
+            this.candidates = new ArrayList<>(constructors.size());
+            for (Constructor<?> constructor : constructors) {
+                if (constructor.equals(preferred)) {
+                    candidates.add(0, new ConstructorRowMapper(constructor, true));
+                } else {
+                    candidates.add(new ConstructorRowMapper(constructor, false));
+                }
+            }
+        }
+
+        @Override
+        public Object map(final Object[] values) {
+            for (ConstructorRowMapper candidate : candidates) {
+                if (candidate.accepts(values, true)) {
+                    return candidate.map(values);
+                }
+            }
+            for (ConstructorRowMapper candidate : candidates) {
+                if (candidate.accepts(values, false)) {
+                    return candidate.map(values);
+                }
+            }
+            throw new MappingException("Cannot find constructor of " + returnedClass.getName() +
+                                       " for values " + Arrays.toString(values));
+        }
+    }
+
+    private static final class BeanRowMapper implements RowMapper {
+
+        private final MethodHandle constructor;
+        private final String[] names;
+        private final String[] alternateNames;
+        private final MethodHandle[] setters;
+        private final Class<?>[] types;
+
+        BeanRowMapper(final Constructor<?> defaultConstructor, final List<PropertyDescriptor> properties) {
+            this.constructor = constructorHandle(defaultConstructor);
+
+            int size = properties.size();
+            this.names = new String[size];
+            this.alternateNames = new String[size];
+            this.setters = new MethodHandle[size];
+            this.types = new Class<?>[size];
+
+            for (int i = 0; i < size; i++) {
+                PropertyDescriptor property = properties.get(i);
+                names[i] = property.getName();
+                alternateNames[i] = toSnakeCase(property.getName());
+                types[i] = ClassUtils.resolvePrimitiveIfNecessary(property.getPropertyType());
+                try {
+                    ReflectionUtils.makeAccessible(property.getWriteMethod());
+                    setters[i] = lookup.unreflect(property.getWriteMethod()).asType(SETTER_TYPE);
+                } catch (IllegalAccessException e) {
+                    throw new MappingException("Fail to access setter. property=" + property.getName(), e);
+                }
+            }
+        }
+
+        @Override
+        public Object map(final Tuple tuple) {
+            Object bean = instantiate(constructor, new Object[0]);
+            for (int i = 0; i < setters.length; i++) {
+                Object value = getValue(tuple, names[i], alternateNames[i]);
+                if (value != null) {
+                    try {
+                        setters[i].invokeExact(bean, convert(value, types[i]));
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new MappingException("Fail to set property. property=" + names[i], t);
+                    }
+                }
+            }
+            return bean;
+        }
+    }
+
+    private static final class ProjectionRowMapper implements RowMapper {
+
+        private final Class<?> projectionType;
+        private final String[] names;
+        private final String[] alternateNames;
+
+        ProjectionRowMapper(final Class<?> projectionType, final List<String> names) {
+            this.projectionType = projectionType;
+            this.names = names.toArray(new String[0]);
+            this.alternateNames = new String[this.names.length];
+            for (int i = 0; i < this.names.length; i++) {
+                alternateNames[i] = toSnakeCase(this.names[i]);
+            }
+        }
+
+        @Override
+        public Object map(final Tuple tuple) {
+            Map<String, Object> values = new LinkedHashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                values.put(names[i], getValue(tuple, names[i], alternateNames[i]));
+            }
+            return projectionFactory.createProjection(projectionType, values);
+        }
+    }
+}
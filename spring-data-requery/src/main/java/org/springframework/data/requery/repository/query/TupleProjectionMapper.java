@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import io.requery.meta.Attribute;
+import io.requery.meta.EntityModel;
+import io.requery.meta.Type;
+import io.requery.query.Expression;
+import io.requery.query.Tuple;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.ReturnedType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projection 대상 속성만 조회한 {@link Tuple} 을 DTO 또는 Interface projection 으로 변환합니다.
+ * <p>
+ * 조회할 컬럼, DTO 생성자 등은 (domain type, returned type) 별로 한 번만 계산하여 재사용합니다.
+ * DTO 는 {@link ReturnedType#getInputProperties()} 를 인자 이름으로 가지는 생성자 (preferred constructor) 로
+ * {@link TupleMapper} 를 통해 생성합니다.
+ * association 속성이나 open projection (@Value) 처럼 컬럼만으로 만들 수 없는 경우에는 entity 전체를 조회합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+public class TupleProjectionMapper implements Converter<Object, Object> {
+
+    private static final Map<List<Class<?>>, TupleProjectionMapper> mappers = new ConcurrentHashMap<>();
+    private static final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    /**
+     * {@link ReturnedType} 에 해당하는 mapper 를 반환합니다.
+     *
+     * @param entityModel requery entity model
+     * @param type        query method 의 반환 수형
+     * @return {@link TupleProjectionMapper} instance
+     */
+    @Nonnull
+    public static TupleProjectionMapper of(@Nonnull final EntityModel entityModel, @Nonnull final ReturnedType type) {
+        List<Class<?>> key = Arrays.asList(type.getDomainType(), type.getReturnedType());
+        return mappers.computeIfAbsent(key, it -> new TupleProjectionMapper(entityModel, type));
+    }
+
+    private final Class<?> domainClass;
+    private final Class<?> returnedClass;
+    private final List<String> properties;
+
+    /**
+     * 조회할 컬럼 expression, 컬럼만 조회할 수 없다면 empty list
+     */
+    @Getter
+    private final List<Expression<?>> selection;
+
+    /**
+     * DTO 생성자로 값을 변환하는 mapper (interface projection 이거나 생성자가 없다면 null)
+     */
+    @Nullable private final TupleMapper.ValuesMapper constructorMapper;
+
+    private TupleProjectionMapper(@Nonnull final EntityModel entityModel, @Nonnull final ReturnedType type) {
+        this.domainClass = type.getDomainType();
+        this.returnedClass = type.getReturnedType();
+        this.properties = type.getInputProperties();
+        this.constructorMapper = (returnedClass.isInterface() || properties.isEmpty())
+                                 ? null
+                                 : TupleMapper.of(type).getConstructorMapper(properties);
+        this.selection = resolveSelection(entityModel, type);
+
+        log.debug("Create TupleProjectionMapper. domainClass={}, returnedClass={}, selection={}",
+                  domainClass.getSimpleName(), returnedClass.getSimpleName(), properties);
+    }
+
+    /**
+     * projection 대상 컬럼만 조회할 수 있는지 여부
+     */
+    public boolean isColumnPruned() {
+        return !selection.isEmpty();
+    }
+
+    /**
+     * 조회 결과를 projection 수형으로 변환합니다.
+     * DTO 는 생성자로 직접 생성하고, Interface projection 은 {@link org.springframework.data.repository.query.ResultProcessor} 가
+     * proxy 를 생성할 수 있도록 property name 을 key 로 하는 {@link Map} 으로 변환합니다.
+     */
+    @Nullable
+    @Override
+    public Object convert(@Nullable final Object source) {
+        if (source == null || !isColumnPruned() || returnedClass.isInstance(source) || domainClass.isInstance(source)) {
+            return source;
+        }
+
+        Object[] values = new Object[properties.size()];
+        if (source instanceof Tuple) {
+            Tuple tuple = (Tuple) source;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = tuple.get(i);
+            }
+        } else if (values.length == 1) {
+            // 단일 컬럼 Tuple 은 RequeryResultConverter 에서 값으로 변환됩니다.
+            values[0] = source;
+        } else {
+            return source;
+        }
+
+        return (constructorMapper != null) ? constructorMapper.map(values) : toMap(values);
+    }
+
+    private Map<String, Object> toMap(final Object[] values) {
+        Map<String, Object> map = new LinkedHashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            map.put(properties.get(i), values[i]);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Expression<?>> resolveSelection(final EntityModel entityModel, final ReturnedType type) {
+        if (!type.isProjecting() || properties.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (returnedClass.isInterface()) {
+            ProjectionInformation information = projectionFactory.getProjectionInformation(returnedClass);
+            if (!information.isClosed()) {
+                return Collections.emptyList();
+            }
+        } else if (constructorMapper == null) {
+            return Collections.emptyList();
+        }
+
+        Type<?> entityType;
+        try {
+            entityType = entityModel.typeOf(domainClass);
+        } catch (Exception e) {
+            log.debug("Not found requery type. domainClass={}", domainClass);
+            return Collections.emptyList();
+        }
+
+        List<Expression<?>> expressions = new ArrayList<>(properties.size());
+        for (String property : properties) {
+            Attribute<?, ?> attribute = entityType.getAttributes().stream()
+                .filter(it -> it.getPropertyName().equals(property))
+                .findFirst()
+                .orElse(null);
+
+            if (attribute == null || attribute.isAssociation() || !(attribute instanceof Expression)) {
+                log.debug("Cannot prune columns. property [{}] is not a column of {}", property, domainClass.getSimpleName());
+                return Collections.emptyList();
+            }
+            expressions.add((Expression<?>) attribute);
+        }
+        return Collections.unmodifiableList(expressions);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.data.requery.core.RequeryOperations;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * {@link CompletableFuture} 를 반환하는 repository method 를 {@link RequeryOperations#getQueryExecutor()} 에서 수행하도록 합니다.
+ * <p>
+ * Transaction interceptor 보다 바깥에서 수행되므로, transaction 은 executor 의 thread 에서 시작되고 끝납니다.
+ * executor 가 지정되지 않았거나 이미 executor 의 thread 에서 호출된 경우에는 호출한 thread 에서 수행합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+class AsyncRepositoryMethodPostProcessor implements RepositoryProxyPostProcessor {
+
+    private static final ThreadLocal<Boolean> asyncInvocation = new ThreadLocal<>();
+
+    /**
+     * 현재 thread 가 비동기 repository method 를 수행 중인지 여부.
+     * 같은 executor 에 작업을 다시 맡기고 기다리면 executor 가 고갈될 수 있으므로, 이 경우 호출한 thread 에서 수행해야 합니다.
+     */
+    static boolean isAsyncInvocation() {
+        return Boolean.TRUE.equals(asyncInvocation.get());
+    }
+
+    private final RequeryOperations operations;
+
+    AsyncRepositoryMethodPostProcessor(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public void postProcess(@Nonnull final ProxyFactory factory,
+                            @Nonnull final RepositoryInformation repositoryInformation) {
+        factory.addAdvice(new AsyncMethodInterceptor(operations));
+    }
+
+    private static class AsyncMethodInterceptor implements MethodInterceptor {
+
+        private final RequeryOperations operations;
+
+        AsyncMethodInterceptor(@Nonnull final RequeryOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object invoke(@Nonnull final MethodInvocation invocation) throws Throwable {
+            Executor executor = operations.getQueryExecutor();
+
+            if (executor == null || isAsyncInvocation() || !CompletableFuture.class.equals(invocation.getMethod().getReturnType())) {
+                return invocation.proceed();
+            }
+
+            log.trace("Invoke repository method asynchronously. method={}", invocation.getMethod());
+            return CompletableFuture
+                .supplyAsync(() -> proceed(invocation), executor)
+                .thenCompose(Function.identity());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static CompletableFuture<Object> proceed(@Nonnull final MethodInvocation invocation) {
+            asyncInvocation.set(Boolean.TRUE);
+            try {
+                Object result = invocation.proceed();
+                return (result instanceof CompletableFuture)
+                       ? (CompletableFuture<Object>) result
+                       : CompletableFuture.completedFuture(result);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new CompletionException(t);
+            } finally {
+                asyncInvocation.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.util.ReactiveWrapperConverters;
+import org.springframework.data.repository.util.ReactiveWrappers;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * blocking {@link RepositoryQuery} 를 {@link ReactiveRequeryTemplate} 의 JDBC scheduler 에서 수행하는 query 입니다.
+ * 여러 요소를 발행하는 수형 (예: {@code Flux}) 은 collection 질의 결과를, 그 외 수형 (예: {@code Mono}) 은 단건 결과를 발행합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+class ReactiveRequeryQuery implements RepositoryQuery {
+
+    private final RepositoryQuery delegate;
+    private final Class<?> returnType;
+    private final boolean multiValue;
+    private final ReactiveRequeryTemplate template;
+
+    ReactiveRequeryQuery(@Nonnull final RepositoryQuery delegate,
+                         @Nonnull final Class<?> returnType,
+                         @Nonnull final ReactiveRequeryTemplate template) {
+        this.delegate = delegate;
+        this.returnType = returnType;
+        this.multiValue = ReactiveWrappers.isMultiValueType(returnType);
+        this.template = template;
+
+        log.debug("Create ReactiveRequeryQuery. method={}, multiValue={}", delegate.getQueryMethod(), multiValue);
+    }
+
+    @Override
+    public Object execute(@Nonnull final Object[] parameters) {
+        Object result = multiValue
+                        ? template.executeMany(operations -> toIterable(delegate.execute(parameters)))
+                        : template.execute(operations -> delegate.execute(parameters));
+
+        return ReactiveWrapperConverters.toWrapper(result, returnType);
+    }
+
+    @Override
+    public QueryMethod getQueryMethod() {
+        return delegate.getQueryMethod();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<Object> toIterable(@Nullable final Object result) {
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        if (result instanceof Iterable) {
+            return (Iterable<Object>) result;
+        }
+        if (result instanceof Stream) {
+            try (Stream<Object> stream = (Stream<Object>) result) {
+                return stream.collect(Collectors.toList());
+            }
+        }
+        return Collections.singletonList(result);
+    }
+}
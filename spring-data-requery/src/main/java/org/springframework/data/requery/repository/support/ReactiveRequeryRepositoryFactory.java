@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.ReactiveRepositoryFactorySupport;
+import org.springframework.data.repository.query.EvaluationContextProvider;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+import org.springframework.data.requery.repository.query.RequeryQueryLookupStrategy;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * {@link org.springframework.data.requery.repository.ReactiveRequeryRepository} 를 생성하는 repository factory.
+ * <p>
+ * query method 는 {@link RequeryQueryLookupStrategy} 로 생성한 blocking 질의를 {@link ReactiveRequeryTemplate} 의
+ * JDBC scheduler 에서 수행하고, 결과를 {@code Mono}, {@code Flux} 로 반환합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+public class ReactiveRequeryRepositoryFactory extends ReactiveRepositoryFactorySupport {
+
+    @Nonnull private final ReactiveRequeryTemplate template;
+
+    public ReactiveRequeryRepositoryFactory(@Nonnull final ReactiveRequeryTemplate template) {
+        Assert.notNull(template, "template must not be null!");
+        log.info("Create ReactiveRequeryRepositoryFactory with template={}", template);
+
+        this.template = template;
+    }
+
+    @Nonnull
+    @Override
+    protected Object getTargetRepository(@Nonnull final RepositoryInformation information) {
+        log.debug("Get target repository. information={}", information);
+
+        RequeryEntityInformation<?, ?> entityInformation = getEntityInformation(information.getDomainType());
+        return getTargetRepositoryViaReflection(information, entityInformation, template);
+    }
+
+    @Nonnull
+    @Override
+    protected Class<?> getRepositoryBaseClass(@Nonnull final RepositoryMetadata metadata) {
+        return SimpleReactiveRequeryRepository.class;
+    }
+
+    @Nonnull
+    @Override
+    protected Optional<QueryLookupStrategy> getQueryLookupStrategy(@Nullable final QueryLookupStrategy.Key key,
+                                                                   @Nonnull final EvaluationContextProvider evaluationContextProvider) {
+        log.debug("Create reactive QueryLookupStrategy by key={}", key);
+
+        QueryLookupStrategy strategy = RequeryQueryLookupStrategy.create(template.getOperations(), key, evaluationContextProvider);
+        return Optional.of(new ReactiveQueryLookupStrategy(strategy, template));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <T, ID> RequeryEntityInformation<T, ID> getEntityInformation(@Nonnull final Class<T> domainClass) {
+        return (RequeryEntityInformation<T, ID>) RequeryEntityInformationSupport.getEntityInformation(domainClass,
+                                                                                                     template.getOperations());
+    }
+
+    /**
+     * blocking 질의를 {@link ReactiveRequeryQuery} 로 감싸는 {@link QueryLookupStrategy}
+     */
+    private static class ReactiveQueryLookupStrategy implements QueryLookupStrategy {
+
+        private final QueryLookupStrategy delegate;
+        private final ReactiveRequeryTemplate template;
+
+        ReactiveQueryLookupStrategy(@Nonnull final QueryLookupStrategy delegate, @Nonnull final ReactiveRequeryTemplate template) {
+            this.delegate = delegate;
+            this.template = template;
+        }
+
+        @Override
+        public RepositoryQuery resolveQuery(Method method,
+                                            RepositoryMetadata metadata,
+                                            ProjectionFactory factory,
+                                            NamedQueries namedQueries) {
+            RepositoryQuery query = delegate.resolveQuery(method, metadata, factory, namedQueries);
+            return new ReactiveRequeryQuery(query, method.getReturnType(), template);
+        }
+    }
+}
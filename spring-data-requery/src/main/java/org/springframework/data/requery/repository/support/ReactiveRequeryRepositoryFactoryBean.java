@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * {@link org.springframework.data.requery.repository.ReactiveRequeryRepository} 를 Spring Bean 으로 생성하는 factory bean.
+ * <p>
+ * transaction 은 {@link ReactiveRequeryTemplate} 이 호출 단위로 적용하므로, transaction interceptor 를 등록하지 않습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+public class ReactiveRequeryRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
+    extends RepositoryFactoryBeanSupport<T, S, ID> {
+
+    @Nullable
+    private ReactiveRequeryTemplate template;
+
+    public ReactiveRequeryRepositoryFactoryBean(@Nonnull final Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Autowired(required = false)
+    public void setTemplate(@Nullable final ReactiveRequeryTemplate template) {
+        this.template = template;
+    }
+
+    @Nonnull
+    @Override
+    protected RepositoryFactorySupport createRepositoryFactory() {
+        Assert.state(template != null, "ReactiveRequeryTemplate must not be null!");
+        return new ReactiveRequeryRepositoryFactory(template);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(template != null, "ReactiveRequeryTemplate must not be null! Register a ReactiveRequeryTemplate bean.");
+        super.afterPropertiesSet();
+    }
+}
@@ -48,6 +48,12 @@ public class RequeryRepositoryFactory extends RepositoryFactorySupport {
 
         this.operations = operations;
         this.crudMethodMetadataPostProcessor = new CrudMethodMetadataPostProcessor();
+
+        // transaction interceptor 보다 먼저 등록해야 transaction 이 executor 의 thread 에서 수행됩니다.
+        addRepositoryProxyPostProcessor(new AsyncRepositoryMethodPostProcessor(operations));
+        addRepositoryProxyPostProcessor(new StatementHintsPostProcessor(operations));
+        // transaction interceptor 보다 먼저 등록해야 호출자의 transaction 여부를 알 수 있습니다.
+        addRepositoryProxyPostProcessor(new SurroundingTransactionPostProcessor(operations));
     }
 
     @Override
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+import org.springframework.data.requery.repository.ReactiveRequeryRepository;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+
+/**
+ * {@link ReactiveRequeryRepository} 의 기본 구현체입니다.
+ * {@link SimpleRequeryRepository} 의 blocking 작업을 {@link ReactiveRequeryTemplate} 의 JDBC scheduler 에서 수행합니다.
+ * 저장, 삭제는 호출마다 하나의 transaction 으로 수행됩니다.
+ * 전체 조회는 scheduler 의 thread 에서 결과를 모두 읽은 후 반환합니다. (cursor 를 열어둘 transaction 이 scheduler thread 에 고정되지 않기 때문입니다)
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+public class SimpleReactiveRequeryRepository<T, ID> implements ReactiveRequeryRepository<T, ID> {
+
+    @Getter
+    @Nonnull private final ReactiveRequeryTemplate template;
+    @Nonnull private final SimpleRequeryRepository<T, ID> repository;
+
+    public SimpleReactiveRequeryRepository(@Nonnull final RequeryEntityInformation<T, ID> entityInformation,
+                                           @Nonnull final ReactiveRequeryTemplate template) {
+        Assert.notNull(template, "template must not be null!");
+        log.debug("Create SimpleReactiveRequeryRepository. domainClass={}", entityInformation.getJavaType());
+
+        this.template = template;
+        this.repository = new SimpleRequeryRepository<>(entityInformation, template.getOperations());
+    }
+
+    @Nonnull
+    @Override
+    public <S extends T> Mono<S> save(@Nonnull final S entity) {
+        return template.inTransaction(operations -> repository.save(entity));
+    }
+
+    @Nonnull
+    @Override
+    public <S extends T> Flux<S> saveAll(@Nonnull final Iterable<S> entities) {
+        return template.inTransactionMany(operations -> repository.saveAll(entities));
+    }
+
+    /**
+     * {@link org.springframework.data.requery.core.RequeryOperations#getBatchUpdateSize()} 개씩 묶어 저장합니다.
+     */
+    @Nonnull
+    @Override
+    public <S extends T> Flux<S> saveAll(@Nonnull final Publisher<S> entityStream) {
+        return Flux.from(entityStream).buffer(bufferSize(template.getOperations().getBatchUpdateSize())).concatMap(this::saveAll);
+    }
+
+    @Nonnull
+    @Override
+    public Mono<T> findById(@Nonnull final ID id) {
+        return template.execute(operations -> repository.findById(id).orElse(null));
+    }
+
+    @Nonnull
+    @Override
+    public Mono<T> findById(@Nonnull final Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Boolean> existsById(@Nonnull final ID id) {
+        return template.execute(operations -> repository.existsById(id));
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Boolean> existsById(@Nonnull final Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Nonnull
+    @Override
+    public Flux<T> findAll() {
+        return template.executeMany(operations -> repository.findAll());
+    }
+
+    @Nonnull
+    @Override
+    public Flux<T> findAll(@Nonnull final Sort sort) {
+        return template.executeMany(operations -> repository.findAll(sort));
+    }
+
+    @Nonnull
+    @Override
+    public Flux<T> findAllById(@Nonnull final Iterable<ID> ids) {
+        return template.executeMany(operations -> repository.findAllById(ids));
+    }
+
+    /**
+     * {@link org.springframework.data.requery.core.RequeryOperations#getInListChunkSize()} 개씩 묶어 조회합니다.
+     */
+    @Nonnull
+    @Override
+    public Flux<T> findAllById(@Nonnull final Publisher<ID> idStream) {
+        return Flux.from(idStream).buffer(bufferSize(template.getOperations().getInListChunkSize())).concatMap(this::findAllById);
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Long> count() {
+        return template.execute(operations -> repository.count());
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Void> deleteById(@Nonnull final ID id) {
+        return inTransaction(() -> repository.deleteById(id));
+    }
+
+    @Nonnull
+    public Mono<Void> deleteById(@Nonnull final Publisher<ID> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Void> delete(@Nonnull final T entity) {
+        return inTransaction(() -> repository.delete(entity));
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Void> deleteAll(@Nonnull final Iterable<? extends T> entities) {
+        return inTransaction(() -> repository.deleteAll(entities));
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Void> deleteAll(@Nonnull final Publisher<? extends T> entityStream) {
+        return Flux.from(entityStream)
+            .buffer(bufferSize(template.getOperations().getInListChunkSize()))
+            .concatMap(this::deleteAll)
+            .then();
+    }
+
+    @Nonnull
+    @Override
+    public Mono<Void> deleteAll() {
+        return inTransaction(repository::deleteAll);
+    }
+
+    @Nonnull
+    private Mono<Void> inTransaction(@Nonnull final Runnable block) {
+        return template.inTransaction(operations -> {
+            block.run();
+            return null;
+        }).then();
+    }
+
+    private static int bufferSize(final int size) {
+        return (size > 0) ? size : Integer.MAX_VALUE;
+    }
+}
@@ -16,42 +16,72 @@
 
 package org.springframework.data.requery.repository.support;
 
+import io.requery.CascadeAction;
+import io.requery.PostDelete;
+import io.requery.PreDelete;
 import io.requery.meta.Attribute;
+import io.requery.meta.Type;
 import io.requery.query.Condition;
+import io.requery.query.Expression;
 import io.requery.query.LogicalCondition;
 import io.requery.query.NamedExpression;
 import io.requery.query.OrderingExpression;
 import io.requery.query.Result;
 import io.requery.query.Return;
+import io.requery.query.Scalar;
 import io.requery.query.Tuple;
 import io.requery.query.element.QueryElement;
-import io.requery.query.function.Count;
+import io.requery.util.CloseableIterator;
 import io.requery.sql.EntityDataStore;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.KeysetPageable;
+import org.springframework.data.requery.domain.KeysetWindow;
 import org.springframework.data.requery.repository.query.QueryByExampleBuilder;
+import org.springframework.data.requery.utils.Iterables;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.springframework.data.requery.utils.RequeryUtils.applyPageable;
 import static org.springframework.data.requery.utils.RequeryUtils.applySort;
+import static org.springframework.data.requery.utils.RequeryUtils.buildKeysetCondition;
 import static org.springframework.data.requery.utils.RequeryUtils.foldConditions;
 import static org.springframework.data.requery.utils.RequeryUtils.getKeyExpression;
+import static org.springframework.data.requery.utils.RequeryUtils.getKeysetSort;
+import static org.springframework.data.requery.utils.RequeryUtils.getKeysetValues;
 import static org.springframework.data.requery.utils.RequeryUtils.getOrderingExpressions;
+import static org.springframework.data.requery.utils.RequeryUtils.hasLifecycleCallbacks;
 import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
 
 /**
@@ -67,6 +97,10 @@ import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
 @Transactional(readOnly = true)
 public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplementation<T, ID> {
 
+    @SuppressWarnings("unchecked")
+    private static final List<Class<? extends Annotation>> DELETE_CALLBACK_ANNOTATIONS =
+        Arrays.asList(PreDelete.class, PostDelete.class);
+
     @Getter
     @Nonnull private final RequeryOperations operations;
     @Nonnull private final RequeryEntityInformation<T, ID> entityInformation;
@@ -74,6 +108,8 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     @Nullable private final Class<T> domainClass;
     @Nonnull private final String domainClassName;
 
+    @Nullable private volatile Boolean bulkDeletable;
+
     @Nullable private CrudMethodMetadata crudMethodMetadata;
 
     public SimpleRequeryRepository(@Nonnull final RequeryEntityInformation<T, ID> entityInformation,
@@ -150,16 +186,111 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         return operations.refreshAllProperties(entity);
     }
 
+    @Override
+    @Nonnull
+    public <S extends T> List<S> fetchAssociations(@Nonnull final Iterable<S> entities, final String... associations) {
+        return operations.fetchAssociations(entities, associations);
+    }
+
+    /*
+     * 비동기 method 는 repository proxy 가 executor 에서 수행하므로, 여기서는 동기 method 의 결과를 감싸기만 합니다.
+     */
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Optional<T>> findByIdAsync(@Nonnull final ID id) {
+        return CompletableFuture.completedFuture(findById(id));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public CompletableFuture<List<T>> findAllByIdAsync(@Nonnull final Iterable<ID> ids) {
+        return CompletableFuture.completedFuture(findAllById(ids));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Page<T>> findAllAsync(@Nonnull final Pageable pageable) {
+        return CompletableFuture.completedFuture(findAll(pageable));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<Long> countAsync() {
+        return CompletableFuture.completedFuture(count());
+    }
+
     @Transactional
+    @Nonnull
     @Override
-    public void deleteInBatch(@Nonnull final Iterable<T> entities) {
-        operations.deleteAll(entities);
+    public <S extends T> CompletableFuture<S> saveAsync(@Nonnull final S entity) {
+        return CompletableFuture.completedFuture(save(entity));
     }
 
     @Transactional
+    @Nonnull
+    @Override
+    public <S extends T> CompletableFuture<List<S>> saveAllAsync(@Nonnull final Iterable<S> entities) {
+        return CompletableFuture.completedFuture(saveAll(entities));
+    }
+
+    @Transactional
+    @Override
+    public void deleteInBatch(@Nonnull final Iterable<T> entities) {
+        deleteAll(entities);
+    }
+
+    /**
+     * 전체 entity 를 key 순서로 {@link RequeryOperations#getInListChunkSize()} 크기씩 나누어 삭제합니다.
+     * Transaction 이 없다면 slice 마다 commit 하므로, 큰 table 에서도 lock 을 오래 잡지 않습니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Override
     public int deleteAllInBatch() {
-        return operations.delete(domainClass).get().value();
+        int sliceSize = operations.getInListChunkSize();
+        if (!hasSingleKey() || sliceSize <= 0) {
+            int deletedCount = operations.delete(domainClass).get().value();
+            operations.getEntityCache().invalidate(domainClass);
+            return deletedCount;
+        }
+
+        int deletedCount = 0;
+        ID lastId = null;
+        while (true) {
+            List<ID> ids = findSliceIds(lastId, sliceSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            deletedCount += isTransactionActive()
+                            ? operations.deleteAllById(domainClass, ids)
+                            : operations.getDataStore().runInTransaction(() -> operations.deleteAllById(domainClass, ids));
+
+            if (ids.size() < sliceSize) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+        operations.getEntityCache().invalidate(domainClass);
+
+        log.debug("Delete all {} in slices. slice size={}, deleted count={}", domainClassName, sliceSize, deletedCount);
+        return deletedCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private List<ID> findSliceIds(@Nullable final ID lastId, final int sliceSize) {
+        NamedExpression<ID> keyExpr = (NamedExpression<ID>) getKeyExpression(domainClass);
+
+        QueryElement<? extends Result<Tuple>> query = (QueryElement<? extends Result<Tuple>>) unwrap(operations.select(keyExpr).from(domainClass));
+        if (lastId != null) {
+            query.where(keyExpr.greaterThan(lastId));
+        }
+        query.orderBy(keyExpr.asc()).limit(sliceSize);
+
+        return query.get().stream()
+            .map(tuple -> tuple.<ID>get(0))
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -204,9 +335,8 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
                               (QueryElement<? extends Result<T>>) operations.select(domainClass),
                               pageable);
             List<T> content = query.get().toList();
-            long total = operations.count(domainClass).get().value().longValue();
 
-            return new PageImpl<>(content, pageable, total);
+            return PageableExecutionUtils.getPage(content, pageable, this::count);
         } else {
             List<T> content = operations
                 .select(domainClass)
@@ -216,6 +346,90 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         }
     }
 
+    /**
+     * Stream 은 반환 후에도 Connection 을 사용하므로, 새로운 Transaction 을 시작하지 않고 호출하는 쪽의 Transaction 을 사용합니다.
+     * Transaction 범위 내에서 Stream 을 모두 사용해야 하며, Transaction 이 없다면 {@link InvalidDataAccessApiUsageException} 을 던집니다.
+     * (autocommit Connection 에서는 PostgreSQL 이 fetch size 를 무시하고, MySQL 은 {@code useCursorFetch=true} 가 필요합니다)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public Stream<T> streamAll() {
+        log.debug("Stream all {}", domainClassName);
+        assertStreamingTransaction();
+        return operations.streamAll(domainClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public Stream<T> streamAll(@Nonnull final Sort sort) {
+        log.debug("Stream all {} with sort, sort={}", domainClassName, sort);
+        assertStreamingTransaction();
+
+        QueryElement<?> query = applySort(domainClass, unwrap(operations.select(domainClass)), sort);
+        return operations.stream((QueryElement<? extends Result<T>>) query);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public Stream<T> streamAll(@Nonnull final Iterable<Condition<T, ?>> conditions) {
+        assertStreamingTransaction();
+        LogicalCondition<T, ?> condition = foldConditions(conditions);
+
+        QueryElement<?> query = unwrap(operations.select(domainClass));
+        if (condition != null) {
+            query = unwrap(query.where(condition));
+        }
+        return operations.stream((QueryElement<? extends Result<T>>) query);
+    }
+
+    /**
+     * Stream 과 마찬가지로 반환 후에도 Connection 을 사용하므로, 호출하는 쪽의 Transaction 이 있어야 합니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public CloseableIterator<List<T>> iterateAll(final int chunkSize) {
+        log.debug("Iterate all {} in chunks. chunkSize={}", domainClassName, chunkSize);
+        assertStreamingTransaction();
+        return operations.iterateInChunks(operations.select(domainClass), chunkSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public KeysetWindow<T> findAll(@Nonnull final KeysetPageable pageable) {
+
+        log.debug("Find all {} with keyset paging, pageable={}", domainClassName, pageable);
+
+        Sort sort = getKeysetSort(domainClass, pageable.getSort());
+        LogicalCondition<?, ?> seekCondition = buildKeysetCondition(domainClass, sort, pageable.getKeys());
+
+        QueryElement<?> query = unwrap(operations.select(domainClass));
+        if (seekCondition != null) {
+            query = unwrap(query.where(seekCondition));
+        }
+        query = applySort(domainClass, query, sort);
+
+        // 다음 Window 존재 여부를 알기 위해 하나 더 조회합니다.
+        int size = pageable.getSize();
+        query = unwrap(query.limit(size + 1));
+
+        List<T> rows = ((QueryElement<? extends Result<T>>) query).get().toList();
+        if (rows.size() <= size) {
+            return new KeysetWindow<>(rows, pageable, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        Object[] nextKeys = getKeysetValues(content.get(size - 1), sort);
+
+        return new KeysetWindow<>(content, pageable, nextKeys);
+    }
+
     @Transactional
     @Nonnull
     @Override
@@ -227,7 +441,7 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     @Nonnull
     @Override
     public <S extends T> List<S> saveAll(@Nonnull final Iterable<S> entities) {
-        return operations.upsertAll(entities);
+        return operations.saveAll(entities, entityInformation::isNew);
     }
 
     @Nonnull
@@ -239,15 +453,7 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     @SuppressWarnings("unchecked")
     @Override
     public boolean existsById(@Nonnull final ID id) {
-        NamedExpression<ID> keyExpr = (NamedExpression<ID>) getKeyExpression(domainClass);
-
-        Tuple result = operations
-            .select(Count.count(domainClass))
-            .where(keyExpr.eq(id))
-            .get()
-            .first();
-
-        return result.<Integer>get(0) > 0;
+        return operations.existsById(domainClass, id);
     }
 
     @Nonnull
@@ -256,26 +462,107 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         return operations.findAll(domainClass);
     }
 
-    @SuppressWarnings("unchecked")
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     @Nonnull
     @Override
     public List<T> findAllById(@Nonnull final Iterable<ID> ids) {
-        HashSet<ID> idSet = new HashSet<>();
+        return findAllById(ids, false);
+    }
+
+    /**
+     * id 목록을 {@link RequeryOperations#getInListChunkSize()} 크기로 나누어 조회합니다.
+     * Transaction 이 없고 {@link RequeryOperations#getQueryExecutor()} 가 지정되어 있다면 나누어진 질의들을 병렬로 수행합니다.
+     * 비동기 repository method 안에서 호출된 경우에는 executor 고갈을 막기 위해 순차적으로 수행합니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Nonnull
+    @Override
+    public List<T> findAllById(@Nonnull final Iterable<ID> ids, final boolean preserveOrder) {
+        Set<ID> idSet = new LinkedHashSet<>();
         for (ID id : ids) {
             idSet.add(id);
         }
         if (idSet.isEmpty()) {
             return Collections.emptyList();
         }
+
+        List<List<ID>> chunks = Iterables.chunked(idSet, operations.getInListChunkSize());
+        Executor executor = operations.getQueryExecutor();
+
+        List<T> results;
+        if (chunks.size() > 1 && executor != null && !isTransactionActive() && !AsyncRepositoryMethodPostProcessor.isAsyncInvocation()) {
+            log.debug("Find all {} by ids in parallel. id count={}, chunk count={}", domainClassName, idSet.size(), chunks.size());
+            results = findAllByIdInParallel(chunks, executor);
+        } else {
+            results = new ArrayList<>(idSet.size());
+            for (List<ID> chunk : chunks) {
+                results.addAll(findAllByIdChunk(chunk));
+            }
+        }
+
+        return preserveOrder ? sortByIds(results, idSet) : results;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private List<T> findAllByIdChunk(@Nonnull final Collection<ID> ids) {
         NamedExpression<ID> keyExpr = (NamedExpression<ID>) getKeyExpression(domainClass);
 
         return operations
             .select(domainClass)
-            .where(keyExpr.in(idSet))
+            .where(keyExpr.in(ids))
             .get()
             .toList();
     }
 
+    @Nonnull
+    private List<T> findAllByIdInParallel(@Nonnull final List<List<ID>> chunks, @Nonnull final Executor executor) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(chunks.size());
+        for (List<ID> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> findAllByIdChunk(chunk), executor));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Nonnull
+    private List<T> sortByIds(@Nonnull final List<T> entities, @Nonnull final Set<ID> ids) {
+        Map<ID, T> entityMap = new HashMap<>(entities.size());
+        for (T entity : entities) {
+            entityMap.put(entityInformation.getId(entity), entity);
+        }
+
+        List<T> sorted = new ArrayList<>(entities.size());
+        for (ID id : ids) {
+            T entity = entityMap.get(id);
+            if (entity != null) {
+                sorted.add(entity);
+            }
+        }
+        return sorted;
+    }
+
+    private boolean isTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive() || operations.transaction().active();
+    }
+
+    private void assertStreamingTransaction() {
+        if (!isTransactionActive()) {
+            throw new InvalidDataAccessApiUsageException(SurroundingTransactionPostProcessor.NO_SURROUNDING_TRANSACTION);
+        }
+    }
+
     @Override
     public long count() {
         return operations
@@ -299,6 +586,8 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
             .get()
             .value();
 
+        operations.getEntityCache().invalidate(domainClass, id);
+
         log.debug("Deleted entity={}, count={}", domainClassName, deletedCount);
     }
 
@@ -308,10 +597,53 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         operations.delete(entity);
     }
 
+    /**
+     * cascade 삭제, version 검사, 삭제 callback 이 필요없는 entity 라면 id 목록으로 {@code DELETE ... WHERE id IN (...)} 을 수행합니다.
+     */
     @Transactional
     @Override
     public void deleteAll(@Nonnull final Iterable<? extends T> entities) {
-        operations.deleteAll(entities);
+        if (!isBulkDeletable()) {
+            operations.deleteAll(entities);
+            return;
+        }
+
+        Set<ID> ids = new LinkedHashSet<>();
+        for (T entity : entities) {
+            ID id = entityInformation.getId(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        int deletedCount = operations.deleteAllById(domainClass, ids);
+        log.debug("Delete {} entities by ids. id count={}, deleted count={}", domainClassName, ids.size(), deletedCount);
+    }
+
+    private boolean hasSingleKey() {
+        return getEntityType().getKeyAttributes().size() == 1;
+    }
+
+    /**
+     * entity 를 로드하지 않고 id 로 삭제해도 되는지 여부
+     * (단일 key 이고, version 속성, collection association, 삭제 cascade, PreDelete/PostDelete callback 이 없는 경우)
+     */
+    private boolean isBulkDeletable() {
+        Boolean result = bulkDeletable;
+        if (result == null) {
+            result = hasSingleKey() &&
+                     getEntityType().getAttributes().stream().noneMatch(attr ->
+                         attr.isVersion() ||
+                         (attr.isAssociation() && Iterable.class.isAssignableFrom(attr.getClassType())) ||
+                         (attr.getCascadeActions() != null && attr.getCascadeActions().contains(CascadeAction.DELETE))) &&
+                     !hasLifecycleCallbacks(domainClass, DELETE_CALLBACK_ANNOTATIONS);
+            bulkDeletable = result;
+        }
+        return result;
+    }
+
+    @Nonnull
+    private Type<?> getEntityType() {
+        return operations.getEntityModel().typeOf(domainClass);
     }
 
     @Transactional
@@ -320,6 +652,7 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         log.debug("Delete All entities. entity name={} ...", domainClassName);
 
         Integer deletedCount = operations.delete(domainClass).get().value();
+        operations.getEntityCache().invalidate(domainClass);
 
         log.debug("Delete All entities. entity name={}, deleted count={}", domainClassName, deletedCount);
     }
@@ -352,15 +685,12 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     @Override
     public <S extends T> Page<S> findAll(@Nonnull final Example<S> example, @Nonnull final Pageable pageable) {
 
-        QueryElement<?> baseQuery = unwrap(buildQueryByExample(example));
-        long total = count((QueryElement<? extends Result<T>>) baseQuery);
-
         QueryElement<?> query = applyPageable(domainClass,
                                               unwrap(buildQueryByExample(example)),
                                               pageable);
-        return new PageImpl<>(((QueryElement<? extends Result<S>>) query).get().toList(),
-                              pageable,
-                              total);
+        List<S> content = ((QueryElement<? extends Result<S>>) query).get().toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(example));
     }
 
     @SuppressWarnings("unchecked")
@@ -372,7 +702,7 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     @SuppressWarnings("unchecked")
     @Override
     public <S extends T> boolean exists(@Nonnull Example<S> example) {
-        return buildQueryByExample(example).limit(1).get().firstOrNull() != null;
+        return operations.exists(domainClass, (QueryElement<? extends Result<T>>) buildQueryByExample(example));
     }
 
     @SuppressWarnings("unchecked")
@@ -406,12 +736,11 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
     public Page<T> findAll(@Nonnull final QueryElement<? extends Result<T>> whereClause,
                            @Nonnull final Pageable pageable) {
 
-        int total = count(whereClause);
-
+        // count 질의는 where 절만을 사용하므로, limit/offset 적용과 무관합니다.
         Return<?> query = applyPageable(domainClass, whereClause, pageable);
         List<T> contents = ((Return<? extends Result<T>>) query).get().toList();
 
-        return new PageImpl<>(contents, pageable, total);
+        return PageableExecutionUtils.getPage(contents, pageable, () -> count(whereClause));
     }
 
     @SuppressWarnings("unchecked")
@@ -425,6 +754,31 @@ public class SimpleRequeryRepository<T, ID> implements RequeryRepositoryImplemen
         return ((QueryElement<? extends Result<T>>) applySort(domainClass, query, sort)).get().toList();
     }
 
+    @SuppressWarnings("unchecked")
+    @Transactional
+    @Override
+    public int updateAll(@Nonnull final Iterable<Condition<T, ?>> conditions,
+                         @Nonnull final Map<? extends Attribute<T, ?>, ?> assignments) {
+        Assert.notEmpty(assignments, "assignments must not be empty.");
+
+        QueryElement<? extends Scalar<Integer>> update = (QueryElement<? extends Scalar<Integer>>) unwrap(operations.update(domainClass));
+        assignments.forEach((attribute, value) -> {
+            Assert.isInstanceOf(Expression.class, attribute, "attribute must be a query attribute.");
+            update.set((Expression<Object>) attribute, value);
+        });
+
+        LogicalCondition<T, ?> condition = foldConditions(conditions);
+        if (condition != null) {
+            update.where(condition);
+        }
+
+        int updatedCount = update.get().value();
+        operations.getEntityCache().invalidate(domainClass);
+
+        log.debug("Update all {}. assignments={}, updated count={}", domainClassName, assignments.keySet(), updatedCount);
+        return updatedCount;
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     @Override
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.data.requery.annotation.QueryHints;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.StatementHints;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository method 수행 중에 실행되는 JDBC Statement 에 {@link RequeryOperations#getStatementHints()} 와
+ * method 에 지정한 {@link QueryHints} 를 적용합니다. CRUD method 도 repository interface 에 재선언하여 {@link QueryHints} 를 지정할 수 있습니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Slf4j
+class StatementHintsPostProcessor implements RepositoryProxyPostProcessor {
+
+    private final RequeryOperations operations;
+
+    StatementHintsPostProcessor(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public void postProcess(@Nonnull final ProxyFactory factory,
+                            @Nonnull final RepositoryInformation repositoryInformation) {
+        factory.addAdvice(new StatementHintsMethodInterceptor(operations));
+    }
+
+    private static class StatementHintsMethodInterceptor implements MethodInterceptor {
+
+        private final RequeryOperations operations;
+        private final ConcurrentHashMap<Method, StatementHints> hintsCache = new ConcurrentHashMap<>();
+
+        StatementHintsMethodInterceptor(@Nonnull final RequeryOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object invoke(@Nonnull final MethodInvocation invocation) throws Throwable {
+            StatementHints methodHints = hintsCache.computeIfAbsent(invocation.getMethod(), method ->
+                StatementHints.from(AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class)));
+
+            StatementHints hints = StatementHints.resolve(operations.getStatementHints(), methodHints);
+            if (hints.isEmpty() || hints == StatementHints.current()) {
+                return invocation.proceed();
+            }
+
+            log.trace("Apply statement hints. method={}, hints={}", invocation.getMethod().getName(), hints);
+            try {
+                return StatementHints.withHints(hints, () -> {
+                    try {
+                        return invocation.proceed();
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new InvocationFailure(t);
+                    }
+                });
+            } catch (InvocationFailure e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * {@link java.util.function.Supplier} 밖으로 checked exception 을 전달하기 위한 예외
+     */
+    private static class InvocationFailure extends RuntimeException {
+        private static final long serialVersionUID = 5185312373485743256L;
+
+        InvocationFailure(@Nonnull final Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Repository method 를 호출한 시점에 (repository 의 transaction interceptor 가 transaction 을 시작하기 전) transaction 이 있었는지 기록합니다.
+ * <p>
+ * {@link Stream} 을 반환하는 query method 는 반환 후에도 Connection 을 사용하므로, 호출자의 transaction 안에서 수행해야 합니다.
+ * transaction 이 없다면 질의마다 autocommit Connection 을 사용하므로 PostgreSQL 은 fetch size 를 무시하고 모든 row 를 읽어오며,
+ * MySQL 은 {@code useCursorFetch=true} 가 필요합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class SurroundingTransactionPostProcessor implements RepositoryProxyPostProcessor {
+
+    /**
+     * transaction 없이 Stream 을 조회할 때의 예외 메시지
+     */
+    public static final String NO_SURROUNDING_TRANSACTION =
+        "You're trying to stream query results without a surrounding transaction that keeps the connection open. " +
+        "Consume the stream inside @Transactional(readOnly = true) or RequeryOperations#runInTransaction.";
+
+    private static final ThreadLocal<Boolean> surroundingTransactionActive = new ThreadLocal<>();
+
+    /**
+     * 현재 수행 중인 repository method 를 호출할 때 transaction 이 있었는지 여부.
+     * repository proxy 밖에서 호출했다면 현재 transaction 여부를 반환합니다.
+     *
+     * @param operations {@link RequeryOperations} instance
+     * @return 호출자의 transaction 이 있다면 true
+     */
+    public static boolean isSurroundingTransactionActive(@Nonnull final RequeryOperations operations) {
+        Boolean active = surroundingTransactionActive.get();
+        return (active != null) ? active : isTransactionActive(operations);
+    }
+
+    private static boolean isTransactionActive(final RequeryOperations operations) {
+        return TransactionSynchronizationManager.isActualTransactionActive() || operations.transaction().active();
+    }
+
+    private final RequeryOperations operations;
+
+    SurroundingTransactionPostProcessor(@Nonnull final RequeryOperations operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public void postProcess(@Nonnull final ProxyFactory factory,
+                            @Nonnull final RepositoryInformation repositoryInformation) {
+        boolean hasStreamMethod = Arrays.stream(repositoryInformation.getRepositoryInterface().getMethods())
+            .anyMatch(method -> Stream.class.isAssignableFrom(method.getReturnType()));
+
+        if (hasStreamMethod) {
+            factory.addAdvice(new SurroundingTransactionDetectorMethodInterceptor(operations));
+        }
+    }
+
+    private static class SurroundingTransactionDetectorMethodInterceptor implements MethodInterceptor {
+
+        private final RequeryOperations operations;
+
+        SurroundingTransactionDetectorMethodInterceptor(@Nonnull final RequeryOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object invoke(@Nonnull final MethodInvocation invocation) throws Throwable {
+            Boolean previous = surroundingTransactionActive.get();
+            surroundingTransactionActive.set(isTransactionActive(operations));
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    surroundingTransactionActive.remove();
+                } else {
+                    surroundingTransactionActive.set(previous);
+                }
+            }
+        }
+    }
+}
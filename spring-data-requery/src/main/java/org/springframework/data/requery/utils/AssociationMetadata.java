@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.utils;
+
+import io.requery.ManyToMany;
+import io.requery.OneToMany;
+import io.requery.OneToOne;
+import io.requery.meta.Attribute;
+import io.requery.meta.EntityModel;
+import io.requery.meta.Type;
+import lombok.Getter;
+import org.springframework.data.requery.NotSupportedException;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * association 속성의 FK 위치, 대상 entity, junction table 정보를 해석합니다.
+ * <p>
+ * derived query 의 association 조건과 association batch fetch 가 같은 association 을 같은 방식으로 해석하도록 함께 사용합니다.
+ * <ul>
+ * <li>{@link Kind#REFERENCED}: FK 가 source 에 있는 association (ManyToOne, OneToOne)</li>
+ * <li>{@link Kind#MAPPED}: FK 가 target 에 있는 association (OneToMany, mappedBy 를 지정한 OneToOne)</li>
+ * <li>{@link Kind#MANY_TO_MANY}: junction table 을 통한 association</li>
+ * </ul>
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+public final class AssociationMetadata {
+
+    /**
+     * FK 위치에 따른 association 종류
+     */
+    public enum Kind {
+        REFERENCED,
+        MAPPED,
+        MANY_TO_MANY
+    }
+
+    /**
+     * association 속성을 해석합니다.
+     *
+     * @param model     entity model
+     * @param source    association 속성을 가진 entity 수형
+     * @param attribute association 속성
+     * @return {@link AssociationMetadata} instance
+     * @throws NotSupportedException FK 나 junction table 을 찾을 수 없는 경우
+     */
+    @Nonnull
+    public static AssociationMetadata of(@Nonnull final EntityModel model,
+                                         @Nonnull final Type<?> source,
+                                         @Nonnull final Attribute<?, ?> attribute) {
+        Assert.notNull(model, "model must not be null!");
+        Assert.notNull(source, "source must not be null!");
+        Assert.isTrue(attribute.isAssociation(), "attribute must be association. attribute=" + attribute.getPropertyName());
+
+        return new AssociationMetadata(model, source, attribute);
+    }
+
+    private final Type<?> source;
+    private final Attribute<?, ?> attribute;
+    private final Type<?> target;
+    private final Kind kind;
+
+    /**
+     * {@link Kind#MAPPED} 에서 source 를 참조하는 target 의 FK 속성
+     */
+    @Nullable private final Attribute<?, ?> mappedAttribute;
+
+    /**
+     * {@link Kind#MANY_TO_MANY} 의 junction table 수형
+     */
+    @Nullable private final Type<?> junction;
+
+    /**
+     * {@link Kind#MANY_TO_MANY} 에서 source 를 참조하는 junction table 의 FK 속성
+     */
+    @Nullable private final Attribute<?, ?> ownerForeignKey;
+
+    /**
+     * {@link Kind#MANY_TO_MANY} 에서 target 을 참조하는 junction table 의 FK 속성
+     */
+    @Nullable private final Attribute<?, ?> elementForeignKey;
+
+    private AssociationMetadata(final EntityModel model, final Type<?> source, final Attribute<?, ?> attribute) {
+        this.source = source;
+        this.attribute = attribute;
+        this.target = model.typeOf(getTargetClass(attribute));
+
+        Field field = RequeryUtils.findField(source.getClassType(), attribute.getPropertyName());
+
+        if (field != null && field.isAnnotationPresent(ManyToMany.class)) {
+            Class<?> junctionClass = attribute.getReferencedClass();
+            if (junctionClass == null || junctionClass == attribute.getElementClass()) {
+                throw new NotSupportedException("Not found junction table of association. attribute=" + attribute.getPropertyName());
+            }
+            this.kind = Kind.MANY_TO_MANY;
+            this.junction = model.typeOf(junctionClass);
+
+            // requery 의 ManyToMany 조회와 같은 방식으로 source 를 먼저 참조하는 FK 를 owner 쪽 FK 로 사용합니다.
+            Attribute<?, ?> ownerFk = null;
+            Attribute<?, ?> elementFk = null;
+            for (Attribute<?, ?> junctionAttr : junction.getAttributes()) {
+                Class<?> referenced = junctionAttr.getReferencedClass();
+                if (referenced != null) {
+                    if (ownerFk == null && isRelated(source, referenced)) {
+                        ownerFk = junctionAttr;
+                    } else if (elementFk == null && isRelated(target, referenced)) {
+                        elementFk = junctionAttr;
+                    }
+                }
+            }
+            if (ownerFk == null || elementFk == null) {
+                throw new NotSupportedException("Not found foreign keys of junction table. junction=" + junction.getName());
+            }
+            this.ownerForeignKey = ownerFk;
+            this.elementForeignKey = elementFk;
+            this.mappedAttribute = null;
+
+        } else if (isMappedOnTarget(field, attribute)) {
+            this.kind = Kind.MAPPED;
+            this.mappedAttribute = findMappedAttribute(field, attribute, source, target);
+            this.junction = null;
+            this.ownerForeignKey = null;
+            this.elementForeignKey = null;
+
+        } else {
+            this.kind = Kind.REFERENCED;
+            this.mappedAttribute = null;
+            this.junction = null;
+            this.ownerForeignKey = null;
+            this.elementForeignKey = null;
+        }
+    }
+
+    /**
+     * FK 속성이 참조하는 key 속성. 참조 정보가 없다면 참조 대상의 단일 key 속성을 사용합니다.
+     *
+     * @param foreignKey     FK 속성
+     * @param referencedType FK 가 참조하는 entity 수형
+     * @return 참조하는 key 속성
+     * @throws NotSupportedException 참조 대상이 복합 key 를 가진 경우
+     */
+    @Nonnull
+    public static Attribute<?, ?> getReferencedKey(@Nonnull final Attribute<?, ?> foreignKey, @Nonnull final Type<?> referencedType) {
+        if (foreignKey.getReferencedAttribute() != null) {
+            Attribute<?, ?> referenced = (Attribute<?, ?>) foreignKey.getReferencedAttribute().get();
+            if (referenced != null) {
+                return referenced;
+            }
+        }
+        if (referencedType.getKeyAttributes().size() != 1) {
+            throw new NotSupportedException("Association to entity with composite key is not supported. type=" + referencedType.getName());
+        }
+        return referencedType.getSingleKeyAttribute();
+    }
+
+    private static Class<?> getTargetClass(final Attribute<?, ?> attribute) {
+        if (attribute.getElementClass() != null) {
+            return attribute.getElementClass();
+        }
+        if (attribute.getReferencedClass() != null) {
+            return attribute.getReferencedClass();
+        }
+        return attribute.getClassType();
+    }
+
+    private static boolean isMappedOnTarget(@Nullable final Field field, final Attribute<?, ?> attribute) {
+        if (field == null) {
+            return !attribute.isForeignKey();
+        }
+        return field.isAnnotationPresent(OneToMany.class) ||
+               (field.isAnnotationPresent(OneToOne.class) && StringUtils.hasText(field.getAnnotation(OneToOne.class).mappedBy()));
+    }
+
+    /**
+     * target 에서 source 를 참조하는 FK 속성을 찾습니다. (mappedBy 를 지정하지 않았다면 source 를 참조하는 유일한 속성)
+     */
+    private static Attribute<?, ?> findMappedAttribute(@Nullable final Field field,
+                                                       final Attribute<?, ?> attribute,
+                                                       final Type<?> source,
+                                                       final Type<?> target) {
+        if (attribute.getMappedAttribute() != null && attribute.getMappedAttribute().get() != null) {
+            return (Attribute<?, ?>) attribute.getMappedAttribute().get();
+        }
+
+        String mappedBy = getMappedBy(field);
+        if (StringUtils.hasText(mappedBy)) {
+            for (Attribute<?, ?> targetAttr : target.getAttributes()) {
+                if (targetAttr.getPropertyName().equals(mappedBy)) {
+                    return targetAttr;
+                }
+            }
+            throw new NotSupportedException("Not found mapped attribute. property=" + target.getName() + "." + mappedBy);
+        }
+
+        List<Attribute<?, ?>> candidates = new ArrayList<>();
+        for (Attribute<?, ?> targetAttr : target.getAttributes()) {
+            if (targetAttr.isAssociation() && targetAttr.getReferencedClass() != null &&
+                isRelated(source, targetAttr.getReferencedClass())) {
+                candidates.add(targetAttr);
+            }
+        }
+        if (candidates.size() != 1) {
+            throw new NotSupportedException("Cannot resolve mapped attribute. Specify mappedBy. attribute=" + attribute.getPropertyName());
+        }
+        return candidates.get(0);
+    }
+
+    @Nullable
+    private static String getMappedBy(@Nullable final Field field) {
+        if (field == null) {
+            return null;
+        }
+        if (field.isAnnotationPresent(OneToMany.class)) {
+            return field.getAnnotation(OneToMany.class).mappedBy();
+        }
+        if (field.isAnnotationPresent(OneToOne.class)) {
+            return field.getAnnotation(OneToOne.class).mappedBy();
+        }
+        return null;
+    }
+
+    private static boolean isRelated(final Type<?> type, final Class<?> clazz) {
+        return type.getClassType().isAssignableFrom(clazz) || clazz.isAssignableFrom(type.getClassType());
+    }
+}
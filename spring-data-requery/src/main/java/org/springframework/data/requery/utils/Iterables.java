@@ -46,6 +46,32 @@ public class Iterables {
         }
     }
 
+    /**
+     * 지정한 크기로 요소들을 나눕니다. size 가 0 이하이면 모든 요소를 하나의 chunk 로 반환합니다.
+     *
+     * @param source 원본 요소들
+     * @param size   chunk 크기
+     * @param <T>    요소 수형
+     * @return chunk 목록
+     */
+    @Nonnull
+    public static <T> List<List<T>> chunked(@Nonnull final Iterable<T> source, final int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> chunk = new ArrayList<>();
+
+        for (T item : source) {
+            chunk.add(item);
+            if (size > 0 && chunk.size() >= size) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
     @Nonnull
     public static <T> Set<T> toSet(@Nonnull Iterable<T> source) {
         if (source instanceof Set) {
@@ -17,6 +17,7 @@
 package org.springframework.data.requery.utils;
 
 import io.requery.Embedded;
+import io.requery.EntityCache;
 import io.requery.Key;
 import io.requery.ManyToMany;
 import io.requery.ManyToOne;
@@ -43,6 +44,7 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -50,9 +52,12 @@ import org.springframework.util.ReflectionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +127,22 @@ public class RequeryUtils {
         }
     }
 
+    @SuppressWarnings("ConstantConditions")
+    @Nonnull
+    public static EntityCache getEntityCache(@Nonnull final EntityDataStore entityDataStore) {
+        Assert.notNull(entityDataStore, "entityDataStore must not be null!");
+
+        try {
+            Field field = ReflectionUtils.findField(entityDataStore.getClass(), "entityCache");
+            Assert.notNull(field, "entityCache field must not be null!");
+            field.setAccessible(true);
+
+            return (EntityCache) ReflectionUtils.getField(field, entityDataStore);
+        } catch (Exception e) {
+            throw new IllegalStateException("Fail to retrieve entity cache.", e);
+        }
+    }
+
     @Nonnull
     public static Set<Type<?>> getEntityTypes(@Nonnull final EntityDataStore entityDataStore) {
         Assert.notNull(entityDataStore, "entityDataStore must not be null!");
@@ -256,7 +277,6 @@ public class RequeryUtils {
         for (Sort.Order order : sort) {
 
             final String propertyName = order.getProperty();
-            final Sort.Direction direction = order.getDirection();
 
             // 이미 있을 수 있다 ...
             Expression<?> orderExpr = null;
@@ -272,7 +292,7 @@ public class RequeryUtils {
                 Field field = findField(domainClass, propertyName);
                 if (field != null) {
                     NamedExpression<?> expr = NamedExpression.of(propertyName, field.getType());
-                    query = unwrap(query.orderBy(direction.isAscending() ? expr.asc() : expr.desc()));
+                    query = unwrap(query.orderBy(getOrderingExpression(expr, order)));
                 }
             }
         }
@@ -293,19 +313,175 @@ public class RequeryUtils {
 
         for (Sort.Order order : sort) {
             String propertyName = order.getProperty();
-            Sort.Direction direction = order.getDirection();
 
             Field field = findField(domainClass, propertyName);
             if (field != null) {
                 NamedExpression<?> expr = NamedExpression.of(propertyName, field.getType());
-                OrderingExpression<?> orderingExpr = (order.isAscending()) ? expr.asc() : expr.desc();
-                orderingExprs.add(orderingExpr);
+                orderingExprs.add(getOrderingExpression(expr, order));
             }
         }
 
         return orderingExprs.toArray(new OrderingExpression<?>[0]);
     }
 
+    /**
+     * {@link Sort.Order} 의 방향과 null 처리 방식을 반영한 {@link OrderingExpression} 을 생성합니다.
+     * {@link Sort.NullHandling#NATIVE} 는 DB 의 기본 동작을 따릅니다.
+     */
+    @Nonnull
+    private static OrderingExpression<?> getOrderingExpression(@Nonnull final NamedExpression<?> expr,
+                                                               @Nonnull final Sort.Order order) {
+        OrderingExpression<?> orderingExpr = order.isAscending() ? expr.asc() : expr.desc();
+
+        switch (order.getNullHandling()) {
+            case NULLS_FIRST:
+                return orderingExpr.nullsFirst();
+            case NULLS_LAST:
+                return orderingExpr.nullsLast();
+            default:
+                return orderingExpr;
+        }
+    }
+
+    /**
+     * Keyset paging 을 위해 정렬 조건의 마지막에 Key 속성을 추가하여, 정렬 순서가 유일하도록 합니다.
+     * null 의 정렬 위치가 DB 마다 다르므로, {@link Sort.NullHandling#NATIVE} 인 속성은 {@code NULLS LAST} 로 고정합니다.
+     *
+     * @param domainClass type of domain entity class
+     * @param sort        sort
+     * @return Key 속성이 포함된 {@link Sort}
+     */
+    @Nonnull
+    public static Sort getKeysetSort(@Nonnull final Class<?> domainClass, @Nonnull final Sort sort) {
+        Assert.notNull(domainClass, "domainClass must not be null!");
+        Assert.notNull(sort, "sort must not be null!");
+
+        NamedExpression<?> keyExpr = getKeyExpression(domainClass);
+        Assert.state(keyExpr != UNKNOWN_KEY_EXPRESSION,
+                     "Keyset paging requires @Key property. domainClass=" + domainClass.getSimpleName());
+
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean hasKeyOrder = false;
+        Sort.Direction direction = Sort.Direction.ASC;
+
+        for (Sort.Order order : sort) {
+            if (keyExpr.getName().equals(order.getProperty())) {
+                hasKeyOrder = true;
+                orders.add(order);
+            } else {
+                orders.add(order.getNullHandling() == Sort.NullHandling.NATIVE ? order.nullsLast() : order);
+            }
+            direction = order.getDirection();
+        }
+
+        if (!hasKeyOrder) {
+            orders.add(new Sort.Order(direction, keyExpr.getName()));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Keyset paging 을 위한 seek 조건을 생성합니다.
+     * {@code (a, b) > (?, ?)} 같은 row value 비교는 DB 마다 지원 여부가 다르므로,
+     * {@code a > ? OR (a = ? AND b > ?)} 형태로 전개합니다.
+     * 키 값이 null 이면 {@code IS NULL} / {@code IS NOT NULL} 조건으로 바꾸며, 정렬의 null 처리 방식을 따릅니다.
+     *
+     * @param domainClass type of domain entity class
+     * @param sort        Key 속성을 포함한 정렬 조건 ({@link #getKeysetSort(Class, Sort)})
+     * @param keys        이전 Window 의 마지막 row 의 정렬 키 값들
+     * @return seek 조건, keys 가 없다면 null
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static LogicalCondition<?, ?> buildKeysetCondition(@Nonnull final Class<?> domainClass,
+                                                              @Nonnull final Sort sort,
+                                                              @Nullable final Object[] keys) {
+        if (keys == null || keys.length == 0) {
+            return null;
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        sort.forEach(orders::add);
+        Assert.isTrue(orders.size() == keys.length,
+                      "keys size must be equal to sort orders size. orders=" + orders.size() + ", keys=" + keys.length);
+
+        LogicalCondition<?, ?> condition = null;
+
+        for (int i = 0; i < orders.size(); i++) {
+            LogicalCondition<?, ?> seek = buildSeekCondition(getSortExpression(domainClass, orders.get(i)),
+                                                             orders.get(i),
+                                                             keys[i]);
+            // NULLS LAST 에서 null 다음에는 더 이상 row 가 없습니다.
+            if (seek == null) {
+                continue;
+            }
+
+            LogicalCondition<?, ?> term = null;
+            for (int j = 0; j < i; j++) {
+                NamedExpression expr = getSortExpression(domainClass, orders.get(j));
+                LogicalCondition<?, ?> eq = (keys[j] == null) ? expr.isNull() : expr.eq(keys[j]);
+                term = (term == null) ? eq : term.and(eq);
+            }
+            term = (term == null) ? seek : term.and(seek);
+
+            condition = (condition == null) ? term : condition.or(term);
+        }
+
+        return condition;
+    }
+
+    /**
+     * 정렬 속성 하나에 대해 key 값 다음에 오는 row 를 찾는 조건을 생성합니다.
+     * {@link Sort.NullHandling#NULLS_FIRST} 가 아니면 null 은 마지막에 정렬된다고 봅니다.
+     *
+     * @return seek 조건, 해당 속성에서 key 값 다음에 올 수 있는 값이 없다면 null
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Nullable
+    private static LogicalCondition<?, ?> buildSeekCondition(@Nonnull final NamedExpression expr,
+                                                             @Nonnull final Sort.Order order,
+                                                             @Nullable final Object key) {
+        boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+
+        if (key == null) {
+            return nullsFirst ? expr.notNull() : null;
+        }
+
+        LogicalCondition<?, ?> seek = order.isAscending() ? expr.greaterThan(key) : expr.lessThan(key);
+        return nullsFirst ? seek : seek.or(expr.isNull());
+    }
+
+    /**
+     * 엔티티에서 정렬 속성들의 값을 추출하여 Keyset paging 의 continuation token 으로 사용합니다.
+     *
+     * @param entity entity
+     * @param sort   Key 속성을 포함한 정렬 조건
+     * @return 정렬 속성 값들
+     */
+    @Nonnull
+    public static Object[] getKeysetValues(@Nonnull final Object entity, @Nonnull final Sort sort) {
+        Assert.notNull(entity, "entity must not be null!");
+
+        DirectFieldAccessFallbackBeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
+
+        List<Object> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            values.add(wrapper.getPropertyValue(order.getProperty()));
+        }
+        return values.toArray();
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Nonnull
+    private static NamedExpression getSortExpression(@Nonnull final Class<?> domainClass, @Nonnull final Sort.Order order) {
+        Field field = findField(domainClass, order.getProperty());
+        if (field == null) {
+            throw new IllegalArgumentException("Not found sort property. domainClass=" + domainClass.getSimpleName() +
+                                               ", property=" + order.getProperty());
+        }
+        return NamedExpression.of(order.getProperty(), field.getType());
+    }
+
     @SuppressWarnings("unchecked")
     @Nullable
     public static <E> LogicalCondition<E, ?> foldConditions(@Nonnull final Iterable<Condition<E, ?>> conditions) {
@@ -523,4 +699,26 @@ public class RequeryUtils {
                field.isAnnotationPresent(ManyToMany.class);
     }
 
+    /**
+     * entity class (상위 class 포함) 에 지정한 lifecycle callback (예: {@link io.requery.PreDelete}) method 가 있는지 검사합니다.
+     * callback 이 있는 entity 는 SQL 문장을 직접 수행하는 bulk 작업 대신 {@link EntityDataStore} 를 통해 처리해야 합니다.
+     *
+     * @param domainClass Requery 엔티티의 클래스
+     * @param callbacks   lifecycle callback annotation 수형
+     * @return callback method 존재 여부
+     */
+    public static boolean hasLifecycleCallbacks(@Nonnull final Class<?> domainClass,
+                                                @Nonnull final Collection<Class<? extends Annotation>> callbacks) {
+        Assert.notNull(domainClass, "domainClass must not be null!");
+
+        for (Class<?> current = domainClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (callbacks.stream().anyMatch(method::isAnnotationPresent)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * NamedPreparedQueryOperationTest
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class NamedPreparedQueryOperationTest {
+
+    private final RequeryOperations operations = mock(RequeryOperations.class);
+
+    @Test
+    public void replaceNamedParametersWithPositionalParameters() {
+        RawTupleNamedParameteredQuery query =
+            new RawTupleNamedParameteredQuery(operations, "select * from SD_User where lastname = :lastname or firstname = :name or lastname = :lastname");
+
+        assertThat(query.getQuery()).isEqualTo("select * from SD_User where lastname = ? or firstname = ? or lastname = ?");
+        assertThat(query.getParameterNames()).containsExactly("lastname", "name", "lastname");
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("lastname", "Bae");
+        values.put("name", "Sunghyouk");
+        assertThat(query.bind(values)).containsExactly("Bae", "Sunghyouk", "Bae");
+    }
+
+    @Test
+    public void ignoreLiteralsCommentsAndCasts() {
+        String sql = "select ':ignored', id::text /* :comment */ from SD_User -- :line\n where id = :id";
+        RawTupleNamedParameteredQuery query = new RawTupleNamedParameteredQuery(operations, sql);
+
+        assertThat(query.getQuery()).isEqualTo("select ':ignored', id::text /* :comment */ from SD_User -- :line\n where id = ?");
+        assertThat(query.getParameterNames()).containsExactly("id");
+        assertThat(NamedPreparedQueryOperation.hasNamedParameters("select id::text from SD_User where id = ?")).isFalse();
+    }
+
+    @Test
+    public void decorateLikeParameter() {
+        RawTupleNamedParameteredQuery query =
+            new RawTupleNamedParameteredQuery(operations, "select * from SD_User where firstname like %:firstname% or lastname like :lastname%");
+
+        assertThat(query.getQuery()).isEqualTo("select * from SD_User where firstname like ? or lastname like ?");
+
+        int[] positions = query.positionsOf(Arrays.asList("lastname", "firstname"));
+        assertThat(query.bind(positions, new Object[] { "Ba", "Sung" })).containsExactly("%Sung%", "Ba%");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mixingPositionalAndNamedParameters() {
+        new RawTupleNamedParameteredQuery(operations, "select * from SD_User where id = ? and lastname = :lastname");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingArgumentName() {
+        new RawTupleNamedParameteredQuery(operations, "select * from SD_User where id = :id")
+            .positionsOf(Collections.singletonList("lastname"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import io.requery.sql.EntityDataStore;
+import org.junit.Test;
+import org.springframework.data.requery.mapping.RequeryMappingContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * PagingDialectTest
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class PagingDialectTest {
+
+    private static final String QUERY = "select * from SD_User where lastname = ? order by id";
+
+    @Test
+    public void limitOffsetBindsLimitBeforeOffset() {
+        assertThat(PagingDialect.LIMIT_OFFSET.applyPaging(QUERY))
+            .isEqualTo("select * from SD_User where lastname = ? order by id LIMIT ? OFFSET ?");
+
+        assertThat(PagingDialect.LIMIT_OFFSET.bindPaging(new Object[] { "Bae" }, 20L, 10))
+            .containsExactly("Bae", 10, 20L);
+    }
+
+    @Test
+    public void offsetFetchBindsOffsetBeforeLimit() {
+        assertThat(PagingDialect.OFFSET_FETCH.applyPaging(QUERY))
+            .isEqualTo("select * from SD_User where lastname = ? order by id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+
+        assertThat(PagingDialect.OFFSET_FETCH.bindPaging(new Object[] { "Bae" }, 20L, 10))
+            .containsExactly("Bae", 20L, 10);
+    }
+
+    @Test
+    public void bindPagingWithoutQueryParameters() {
+        assertThat(PagingDialect.LIMIT_OFFSET.bindPaging(new Object[0], 0L, 5)).containsExactly(5, 0L);
+        assertThat(PagingDialect.OFFSET_FETCH.bindPaging(new Object[0], 0L, 5)).containsExactly(0L, 5);
+    }
+
+    @Test
+    public void resolveDialectByDatabaseProductName() {
+        assertThat(PagingDialect.of("H2")).isEqualTo(PagingDialect.LIMIT_OFFSET);
+        assertThat(PagingDialect.of("PostgreSQL")).isEqualTo(PagingDialect.LIMIT_OFFSET);
+        assertThat(PagingDialect.of("MySQL")).isEqualTo(PagingDialect.LIMIT_OFFSET);
+        assertThat(PagingDialect.of("Microsoft SQL Server")).isEqualTo(PagingDialect.OFFSET_FETCH);
+        assertThat(PagingDialect.of("Oracle")).isEqualTo(PagingDialect.OFFSET_FETCH);
+        assertThat(PagingDialect.of("DB2/LINUXX8664")).isEqualTo(PagingDialect.OFFSET_FETCH);
+        assertThat(PagingDialect.of("Apache Derby")).isEqualTo(PagingDialect.OFFSET_FETCH);
+        assertThat(PagingDialect.of(null)).isEqualTo(PagingDialect.LIMIT_OFFSET);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void configuredPagingDialectOverridesDetection() {
+        RequeryTemplate template = new RequeryTemplate(mock(EntityDataStore.class), new RequeryMappingContext());
+        template.setPagingDialect(PagingDialect.OFFSET_FETCH);
+
+        assertThat(template.getPagingDialect()).isEqualTo(PagingDialect.OFFSET_FETCH);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.requery.configs.RequeryTestConfiguration;
+import org.springframework.data.requery.domain.RandomData;
+import org.springframework.data.requery.domain.basic.BasicUser;
+import org.springframework.data.requery.domain.sample.Product;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link RequeryOperations#saveAll(Iterable, java.util.function.Predicate)} 가 기존 entity 를 JDBC batch 로 update 하는지
+ * 실행된 JDBC 문장 수로 검증합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = { SaveAllBatchUpdateTest.StatementCountingConfiguration.class })
+@Transactional
+public class SaveAllBatchUpdateTest {
+
+    @Configuration
+    static class StatementCountingConfiguration extends RequeryTestConfiguration {
+
+        @Bean
+        public StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Override
+        @Bean
+        public DataSource dataSource() {
+            return statementRecorder().wrap(super.dataSource());
+        }
+    }
+
+    /**
+     * JDBC Statement 의 실행 method 와 SQL 을 기록합니다.
+     */
+    static class StatementRecorder {
+
+        private final List<String> executions = new CopyOnWriteArrayList<>();
+
+        void clear() {
+            executions.clear();
+        }
+
+        /**
+         * @param method    JDBC 실행 method 이름 (executeUpdate, executeBatch ...)
+         * @param sqlPrefix SQL 의 시작 문자열 (대소문자 무시)
+         */
+        long count(String method, String sqlPrefix) {
+            String prefix = method + ":" + sqlPrefix.toLowerCase(Locale.ROOT);
+            return executions.stream().filter(it -> it.startsWith(prefix)).count();
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target, String sql) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    String executedSql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : sql;
+                    executions.add(method.getName() + ":" + String.valueOf(executedSql).trim().toLowerCase(Locale.ROOT));
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+                Class<?> returnType = method.getReturnType();
+                if (result != null && (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))) {
+                    String statementSql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : sql;
+                    return proxy((Class<Object>) returnType, result, statementSql);
+                }
+                return result;
+            };
+            return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler);
+        }
+    }
+
+    @Autowired RequeryOperations operations;
+    @Autowired StatementRecorder recorder;
+
+    @Before
+    public void setup() {
+        operations.deleteAll(Product.class);
+        recorder.clear();
+    }
+
+    @Test
+    public void updatesPersistedEntitiesAsJdbcBatch() {
+
+        List<Product> products = operations.insertAll(IntStream.range(0, 10)
+                                                          .mapToObj(i -> {
+                                                              Product product = new Product();
+                                                              product.setName("product-" + i);
+                                                              return product;
+                                                          })
+                                                          .collect(Collectors.toList()));
+        products.forEach(product -> product.setName("updated-" + product.getId()));
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        try {
+            template.setBatchUpdateSize(4);
+            recorder.clear();
+
+            operations.saveAll(products, product -> product.getId() == null);
+
+            // 10 개의 entity 를 4 개씩 batch 로 update 합니다. (4, 4, 2)
+            assertThat(recorder.count("executeBatch", "update")).isEqualTo(3L);
+            assertThat(recorder.count("executeUpdate", "update")).isEqualTo(0L);
+        } finally {
+            template.setBatchUpdateSize(RequeryOperations.DEFAULT_BATCH_UPDATE_SIZE);
+        }
+
+        assertThat(operations.count(Product.class).where(Product.NAME.like("updated-%")).get().value()).isEqualTo(10);
+    }
+
+    @Test
+    public void updatesEntitiesWithAssociationsOneByOne() {
+
+        List<BasicUser> users = operations.insertAll(RandomData.randomUsers(3));
+        users.forEach(user -> user.setName("updated-" + user.getId()));
+        recorder.clear();
+
+        operations.saveAll(users, user -> user.getId() == null);
+
+        // association 을 가진 entity 는 cascade 를 위해 requery 의 update 를 사용합니다.
+        assertThat(recorder.count("executeBatch", "update")).isEqualTo(0L);
+        assertThat(recorder.count("executeUpdate", "update")).isGreaterThanOrEqualTo(3L);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.domain.upsert;
+
+import io.requery.Column;
+import io.requery.Entity;
+import io.requery.Key;
+import io.requery.Table;
+import io.requery.Transient;
+import lombok.Getter;
+import org.springframework.data.requery.domain.AbstractPersistable;
+import org.springframework.data.requery.domain.ToStringBuilder;
+
+import java.util.Objects;
+
+/**
+ * 단일 문장 upsert 대상이 되는 (association 이 없고, key 를 직접 지정하는) entity
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Getter
+@Entity(name = "UpsertCode")
+@Table(name = "upsert_code")
+public abstract class AbstractUpsertCode extends AbstractPersistable<String> {
+
+    @Key
+    @Column(name = "code", length = 32)
+    protected String id;
+
+    @Column
+    protected String name;
+
+    @Column
+    protected Integer priority;
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Transient
+    @Override
+    protected ToStringBuilder buildStringHelper() {
+        return super.buildStringHelper()
+            .add("name", name)
+            .add("priority", priority);
+    }
+
+    private static final long serialVersionUID = 4473146612384728421L;
+}
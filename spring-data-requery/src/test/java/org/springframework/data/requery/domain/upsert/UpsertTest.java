@@ -18,11 +18,20 @@ package org.springframework.data.requery.domain.upsert;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.requery.domain.AbstractDomainTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 /**
@@ -30,12 +39,15 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class UpsertTest extends AbstractDomainTest {
 
+    @Autowired PlatformTransactionManager transactionManager;
+
     @Before
     public void setup() {
         requeryOperations.deleteAll(UpsertTag.class);
         requeryOperations.deleteAll(UpsertEvent.class);
         requeryOperations.deleteAll(UpsertPlace.class);
         requeryOperations.deleteAll(UpsertLocation.class);
+        requeryOperations.deleteAll(UpsertCode.class);
     }
 
     @Test
@@ -216,4 +228,52 @@ public class UpsertTest extends AbstractDomainTest {
         assertThat(events).hasSize(1).containsOnly(event2);
     }
 
+    private static List<UpsertCode> randomCodes(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> {
+                UpsertCode code = new UpsertCode();
+                code.setId("code-" + i);
+                code.setName("name-" + i);
+                code.setPriority(i);
+                return code;
+            })
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void upsert_all_with_native_statement() {
+        List<UpsertCode> codes = randomCodes(10);
+
+        requeryOperations.upsertAll(codes.subList(0, 5));
+        assertThat(requeryOperations.count(UpsertCode.class).get().value()).isEqualTo(5);
+
+        codes.subList(0, 5).forEach(code -> code.setName("updated-" + code.getPriority()));
+        requeryOperations.upsertAll(codes);
+
+        assertThat(requeryOperations.count(UpsertCode.class).get().value()).isEqualTo(10);
+
+        UpsertCode updated = requeryOperations.findById(UpsertCode.class, "code-3");
+        assertThat(updated.getName()).isEqualTo("updated-3");
+
+        UpsertCode inserted = requeryOperations.findById(UpsertCode.class, "code-7");
+        assertThat(inserted.getName()).isEqualTo("name-7");
+        assertThat(inserted.getPriority()).isEqualTo(7);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void upsert_all_with_native_statement_joins_outer_transaction() {
+        List<UpsertCode> codes = randomCodes(10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 바깥 transaction 을 commit 하지 않아야 rollback 시 upsert 한 row 도 함께 취소됩니다.
+        assertThatThrownBy(() -> transactionTemplate.execute(status -> {
+            requeryOperations.upsertAll(codes);
+            assertThat(dataStore.transaction().active()).isTrue();
+            assertThat(requeryOperations.count(UpsertCode.class).get().value()).isEqualTo(10);
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(requeryOperations.count(UpsertCode.class).get().value()).isEqualTo(0);
+    }
 }
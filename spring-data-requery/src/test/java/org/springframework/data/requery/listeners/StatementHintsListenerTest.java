@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.listeners;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.data.requery.core.StatementHints;
+
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * StatementHintsListenerTest
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class StatementHintsListenerTest {
+
+    private final StatementHintsListener listener = new StatementHintsListener();
+
+    @Test
+    public void applyFetchSizeInHintsScope() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        StatementHints.withHints(StatementHints.ofFetchSize(500), () -> {
+            listener.beforeExecuteQuery(statement, "select 1", null);
+            return null;
+        });
+
+        verify(statement).setFetchSize(500);
+        assertThat(StatementHints.current()).isNull();
+    }
+
+    @Test
+    public void applyAndResetQueryTimeoutAndMaxRows() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        StatementHints.withHints(StatementHints.of(10, 100, 0), () -> {
+            listener.beforeExecuteQuery(statement, "select 1", null);
+            listener.afterExecuteQuery(statement);
+            return null;
+        });
+
+        verify(statement).setQueryTimeout(10);
+        verify(statement).setMaxRows(100);
+        verify(statement).setQueryTimeout(0);
+        verify(statement).setMaxRows(0);
+        verify(statement, never()).setFetchSize(anyInt());
+    }
+
+    @Test
+    public void restoreOriginalFetchSize() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(statement.getFetchSize()).thenReturn(20);
+
+        StatementHints.withHints(StatementHints.ofFetchSize(500), () -> {
+            listener.beforeExecuteQuery(statement, "select 1", null);
+            listener.afterExecuteQuery(statement);
+            return null;
+        });
+
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).setFetchSize(500);
+        inOrder.verify(statement).setFetchSize(20);
+    }
+
+    @Test
+    public void applyAndResetQueryTimeoutOfUpdate() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        StatementHints.withHints(StatementHints.of(5, 100, 50), () -> {
+            listener.beforeExecuteUpdate(statement, "delete from t", null);
+            listener.afterExecuteUpdate(statement, 1);
+            return null;
+        });
+
+        verify(statement).setQueryTimeout(5);
+        verify(statement).setQueryTimeout(0);
+        verify(statement, never()).setMaxRows(anyInt());
+        verify(statement, never()).setFetchSize(anyInt());
+    }
+
+    @Test
+    public void applyAndResetQueryTimeoutOfBatchUpdate() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(statement.getQueryTimeout()).thenReturn(3);
+
+        StatementHints.withHints(StatementHints.of(5, 100, 0), () -> {
+            listener.beforeExecuteBatchUpdate(statement, "update t set a = ?");
+            listener.afterExecuteBatchUpdate(statement, new int[] { 1, 1 });
+            return null;
+        });
+
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).setQueryTimeout(5);
+        inOrder.verify(statement).setQueryTimeout(3);
+        verify(statement, never()).setMaxRows(anyInt());
+    }
+
+    @Test
+    public void noResetWithoutAppliedHints() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        StatementHints.withHints(StatementHints.of(0, 100, 0), () -> {
+            listener.beforeExecuteUpdate(statement, "delete from t", null);
+            listener.afterExecuteUpdate(statement, 1);
+            return null;
+        });
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+        verify(statement, never()).setMaxRows(anyInt());
+    }
+
+    @Test
+    public void mergeMethodHintsOverDefaults() {
+        StatementHints defaults = StatementHints.of(30, 1000, 0);
+
+        StatementHints hints = StatementHints.resolve(defaults, StatementHints.of(0, 10, 50));
+        assertThat(hints.getQueryTimeout()).isEqualTo(30);
+        assertThat(hints.getMaxRows()).isEqualTo(10);
+        assertThat(hints.getFetchSize()).isEqualTo(50);
+
+        assertThat(StatementHints.resolve(defaults, null)).isSameAs(defaults);
+        assertThat(StatementHints.resolve(StatementHints.NONE, StatementHints.NONE).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void noHintsOutOfScope() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        listener.beforeExecuteQuery(statement, "select 1", null);
+
+        verify(statement, never()).setFetchSize(anyInt());
+    }
+}
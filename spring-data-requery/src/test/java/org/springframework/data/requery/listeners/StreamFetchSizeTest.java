@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.listeners;
+
+import io.requery.cache.EmptyEntityCache;
+import io.requery.meta.EntityModel;
+import io.requery.sql.BoundParameters;
+import io.requery.sql.ConfigurationBuilder;
+import io.requery.sql.EntityDataStore;
+import io.requery.sql.StatementListener;
+import io.requery.util.CloseableIterator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.requery.annotation.QueryHints;
+import org.springframework.data.requery.configs.RequeryTestConfiguration;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.RequeryTemplate;
+import org.springframework.data.requery.domain.RandomData;
+import org.springframework.data.requery.domain.basic.BasicUser;
+import org.springframework.data.requery.mapping.RequeryMappingContext;
+import org.springframework.data.requery.repository.RequeryRepository;
+import org.springframework.data.requery.repository.support.RequeryRepositoryFactory;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stream 조회 시 {@link RequeryOperations#getStreamFetchSize()} 가 실제 JDBC Statement 에 적용되는지 검증합니다.
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = { StreamFetchSizeTest.StreamFetchSizeConfiguration.class })
+@Transactional
+public class StreamFetchSizeTest {
+
+    private static final int STREAM_FETCH_SIZE = 37;
+
+    @Configuration
+    static class StreamFetchSizeConfiguration extends RequeryTestConfiguration {
+
+        @Bean
+        public FetchSizeRecorder fetchSizeRecorder() {
+            return new FetchSizeRecorder();
+        }
+
+        @Override
+        @Bean
+        public io.requery.sql.Configuration requeryConfiguration(@Nonnull DataSource dataSource,
+                                                                 @Nonnull EntityModel entityModel) {
+            return new ConfigurationBuilder(dataSource, entityModel)
+                .setEntityCache(new EmptyEntityCache())
+                .addStatementListener(new StatementHintsListener())
+                .addStatementListener(fetchSizeRecorder())
+                .build();
+        }
+
+        @Override
+        @Bean
+        public RequeryOperations requeryOperations(@Nonnull final EntityDataStore<Object> entityDataStore,
+                                                   @Nonnull final RequeryMappingContext mappingContext) {
+            RequeryTemplate template = new RequeryTemplate(entityDataStore, mappingContext);
+            template.setStreamFetchSize(STREAM_FETCH_SIZE);
+            return template;
+        }
+    }
+
+    /**
+     * 질의가 실행된 Statement 의 fetch size 를 기록합니다.
+     */
+    static class FetchSizeRecorder implements StatementListener {
+
+        private final List<Integer> fetchSizes = new ArrayList<>();
+
+        void clear() {
+            fetchSizes.clear();
+        }
+
+        /**
+         * 마지막으로 실행한 select 질의의 fetch size
+         */
+        int lastQueryFetchSize() {
+            assertThat(fetchSizes).as("executed queries").isNotEmpty();
+            return fetchSizes.get(fetchSizes.size() - 1);
+        }
+
+        /**
+         * {@link StatementHintsListener} 가 실행 후 fetch size 를 되돌리므로, 실행 직전에 기록합니다.
+         */
+        @Override
+        public void beforeExecuteQuery(Statement statement, String sql, BoundParameters parameters) {
+            try {
+                fetchSizes.add(statement.getFetchSize());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void afterExecuteQuery(Statement statement) {
+        }
+
+        @Override
+        public void beforeExecuteUpdate(Statement statement, String sql, BoundParameters parameters) {
+        }
+
+        @Override
+        public void afterExecuteUpdate(Statement statement, int count) {
+        }
+
+        @Override
+        public void beforeExecuteBatchUpdate(Statement statement, String sql) {
+        }
+
+        @Override
+        public void afterExecuteBatchUpdate(Statement statement, int[] count) {
+        }
+    }
+
+    @Autowired RequeryOperations operations;
+    @Autowired FetchSizeRecorder recorder;
+
+    private BasicUserRepository repository;
+
+    @Before
+    public void setup() {
+        repository = new RequeryRepositoryFactory(operations).getRepository(BasicUserRepository.class);
+        repository.deleteAll();
+        repository.saveAll(RandomData.randomUsers(5));
+        recorder.clear();
+    }
+
+    @Test
+    public void streamAllAppliesStreamFetchSizeToStatement() {
+        try (Stream<BasicUser> stream = repository.streamAll()) {
+            assertThat(stream.count()).isEqualTo(5L);
+        }
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(STREAM_FETCH_SIZE);
+    }
+
+    @Test
+    public void iterateAllAppliesStreamFetchSizeToStatement() {
+        int count = 0;
+        try (CloseableIterator<List<BasicUser>> chunks = repository.iterateAll(2)) {
+            while (chunks.hasNext()) {
+                count += chunks.next().size();
+            }
+        }
+        assertThat(count).isEqualTo(5);
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(STREAM_FETCH_SIZE);
+    }
+
+    @Test
+    public void streamQueryMethodAppliesStreamFetchSizeToStatement() {
+        try (Stream<BasicUser> stream = repository.readAllByNameNotNull()) {
+            assertThat(stream.count()).isEqualTo(5L);
+        }
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(STREAM_FETCH_SIZE);
+    }
+
+    @Test
+    public void operationsStreamAppliesStreamFetchSizeToStatement() {
+        try (Stream<BasicUser> stream = operations.stream(operations.select(BasicUser.class))) {
+            assertThat(stream.count()).isEqualTo(5L);
+        }
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(STREAM_FETCH_SIZE);
+
+        try (CloseableIterator<BasicUser> iterator = operations.iterator(operations.select(BasicUser.class))) {
+            assertThat(iterator.hasNext()).isTrue();
+        }
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(STREAM_FETCH_SIZE);
+    }
+
+    @Test
+    public void listQueryDoesNotUseStreamFetchSize() {
+        assertThat(operations.select(BasicUser.class).get().toList()).hasSize(5);
+
+        assertThat(recorder.lastQueryFetchSize()).isNotEqualTo(STREAM_FETCH_SIZE);
+    }
+
+    @Test
+    public void queryHintsFetchSizeOverridesStreamFetchSize() {
+        try (Stream<BasicUser> stream = repository.readAllByEmailNotNull()) {
+            assertThat(stream.count()).isEqualTo(5L);
+        }
+        assertThat(recorder.lastQueryFetchSize()).isEqualTo(11);
+    }
+
+    interface BasicUserRepository extends RequeryRepository<BasicUser, Long> {
+
+        Stream<BasicUser> readAllByNameNotNull();
+
+        @QueryHints(fetchSize = 11)
+        Stream<BasicUser> readAllByEmailNotNull();
+    }
+}
@@ -22,6 +22,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.data.requery.configs.RequeryTestConfiguration;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.RequeryTemplate;
 import org.springframework.data.requery.domain.sample.Role;
 import org.springframework.data.requery.repository.config.EnableRequeryRepositories;
 import org.springframework.data.requery.repository.sample.RoleRepository;
@@ -31,7 +33,10 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.inject.Inject;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,6 +50,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class RoleRepositoryTest {
 
     @Inject RoleRepository repository;
+    @Inject RequeryOperations operations;
 
     @Before
     public void setup() {
@@ -110,4 +116,25 @@ public class RoleRepositoryTest {
         assertThat(reference.getName()).isNotEmpty();
         assertThat(repository.countByName(reference.getName())).isEqualTo(1L);
     }
+
+    @Test
+    public void deletesRolesInBulkAndSlices() {
+        List<Role> roles = repository.saveAll(IntStream.range(0, 10)
+                                                  .mapToObj(i -> new Role("ROLE-" + i))
+                                                  .collect(Collectors.toList()));
+
+        repository.deleteInBatch(roles.subList(0, 3));
+        assertThat(repository.count()).isEqualTo(7L);
+        assertThat(repository.existsById(roles.get(0).getId())).isFalse();
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        try {
+            template.setInListChunkSize(3);
+
+            assertThat(repository.deleteAllInBatch()).isEqualTo(7);
+            assertThat(repository.count()).isEqualTo(0L);
+        } finally {
+            template.setInListChunkSize(RequeryOperations.DEFAULT_IN_LIST_CHUNK_SIZE);
+        }
+    }
 }
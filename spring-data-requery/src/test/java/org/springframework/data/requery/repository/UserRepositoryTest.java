@@ -16,10 +16,15 @@
 
 package org.springframework.data.requery.repository;
 
+import io.requery.cache.EmptyEntityCache;
+import io.requery.meta.EntityModel;
 import io.requery.query.Result;
 import io.requery.query.Tuple;
 import io.requery.query.element.QueryElement;
-import io.requery.sql.StatementExecutionException;
+import io.requery.sql.BoundParameters;
+import io.requery.sql.ConfigurationBuilder;
+import io.requery.sql.StatementListener;
+import io.requery.util.CloseableIterator;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.Before;
@@ -41,12 +46,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.LazyPage;
 import org.springframework.data.requery.domain.sample.AbstractUser;
 import org.springframework.data.requery.domain.sample.Role;
 import org.springframework.data.requery.domain.sample.SpecialUser;
 import org.springframework.data.requery.domain.sample.User;
+import org.springframework.data.requery.domain.sample.User_Role;
+import org.springframework.data.requery.listeners.LogbackListener;
+import org.springframework.data.requery.listeners.StatementHintsListener;
 import org.springframework.data.requery.repository.config.EnableRequeryRepositories;
 import org.springframework.data.requery.repository.config.InfrastructureConfig;
+import org.springframework.data.requery.repository.sample.NameAgeDto;
+import org.springframework.data.requery.repository.sample.NameOnlyDto;
 import org.springframework.data.requery.repository.sample.RoleRepository;
 import org.springframework.data.requery.repository.sample.UserRepository;
 import org.springframework.data.requery.repository.sample.UserRepositoryImpl;
@@ -54,11 +65,16 @@ import org.springframework.data.requery.repository.support.RequeryRepositoryFact
 import org.springframework.data.requery.repository.support.SimpleRequeryRepository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.Nonnull;
+import javax.sql.DataSource;
 import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -66,8 +82,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -75,6 +94,7 @@ import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.data.domain.ExampleMatcher.matching;
 import static org.springframework.data.requery.utils.RequeryUtils.unwrap;
 
@@ -120,9 +140,69 @@ public class UserRepositoryTest {
 
             return factory.getObject();
         }
+
+        @Bean
+        public QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+
+        @Override
+        @Bean
+        public io.requery.sql.Configuration requeryConfiguration(@Nonnull DataSource dataSource,
+                                                                 @Nonnull EntityModel entityModel) {
+            return new ConfigurationBuilder(dataSource, entityModel)
+                .setEntityCache(new EmptyEntityCache())
+                .addStatementListener(new LogbackListener<>())
+                .addStatementListener(new StatementHintsListener())
+                .addStatementListener(queryRecorder())
+                .build();
+        }
+    }
+
+    /**
+     * 실행한 select 질의를 기록합니다.
+     */
+    static class QueryRecorder implements StatementListener {
+
+        private final List<String> queries = new ArrayList<>();
+
+        void clear() {
+            queries.clear();
+        }
+
+        List<String> getQueries() {
+            return queries;
+        }
+
+        @Override
+        public void beforeExecuteQuery(Statement statement, String sql, BoundParameters parameters) {
+            queries.add(sql);
+        }
+
+        @Override
+        public void afterExecuteQuery(Statement statement) {
+        }
+
+        @Override
+        public void beforeExecuteUpdate(Statement statement, String sql, BoundParameters parameters) {
+        }
+
+        @Override
+        public void afterExecuteUpdate(Statement statement, int count) {
+        }
+
+        @Override
+        public void beforeExecuteBatchUpdate(Statement statement, String sql) {
+        }
+
+        @Override
+        public void afterExecuteBatchUpdate(Statement statement, int[] count) {
+        }
     }
 
     @Autowired private RequeryOperations operations;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private QueryRecorder queryRecorder;
 
     // CUT
     @Autowired private UserRepository repository;
@@ -240,6 +320,34 @@ public class UserRepositoryTest {
         assertThat(repository.existsById(-27 * id)).isFalse();
     }
 
+    @Test
+    public void existsByIdQueriesDatabaseWhenEntityWasDeletedByQuery() {
+        flushTestUsers();
+        assertThat(repository.findById(id)).isPresent();
+
+        // entity cache 를 갱신하지 않는 삭제
+        operations.delete(User.class).where(User.ID.eq(id)).get().value();
+
+        assertThat(repository.existsById(id)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void existsKeepsJoinsOfQuery() {
+        flushTestUsers();
+
+        QueryElement<? extends Result<User>> whereOnly = (QueryElement<? extends Result<User>>)
+            unwrap(operations.select(User.class).where(User.LASTNAME.eq("Bae")));
+        assertThat(repository.exists(whereOnly)).isTrue();
+
+        // 사용자에게 role 이 없으므로 join 결과가 없습니다.
+        QueryElement<? extends Result<User>> joined = (QueryElement<? extends Result<User>>)
+            unwrap(operations.select(User.class)
+                       .join(User_Role.class).on(User_Role.SD_USER_ID.eq(User.ID))
+                       .where(User.LASTNAME.eq("Bae")));
+        assertThat(repository.exists(joined)).isFalse();
+    }
+
     @Test
     public void deletesAUserById() {
         flushTestUsers();
@@ -610,8 +718,7 @@ public class UserRepositoryTest {
         assertThat(result.getContent()).contains(firstUser).doesNotContain(secondUser, thirdUser);
     }
 
-    // NOTE: Not Supported
-    @Test(expected = AssertionError.class)
+    @Test
     public void executesQueryMethodWithDeepTraversalCorrectly() {
 
         flushTestUsers();
@@ -624,8 +731,7 @@ public class UserRepositoryTest {
         assertThat(repository.findByManagerLastname("Bae")).containsOnly(thirdUser);
     }
 
-    // NOTE: Not Supported
-    @Test(expected = AssertionError.class)
+    @Test
     public void executesFindByColleaguesLastnameCorrectly() {
 
         flushTestUsers();
@@ -634,8 +740,33 @@ public class UserRepositoryTest {
         thirdUser.getColleagues().add(firstUser);
         repository.saveAll(Arrays.asList(firstUser, thirdUser));
 
+        // colleague 관계는 단방향이므로 junction table 의 owner, element FK 가 바뀌면 결과가 달라집니다.
         assertThat(repository.findByColleaguesLastname(secondUser.getLastname())).containsOnly(firstUser);
-        assertThat(repository.findByColleaguesLastname("Bae")).containsOnly(secondUser, thirdUser);
+        assertThat(repository.findByColleaguesLastname("Bae")).containsOnly(thirdUser);
+        assertThat(repository.findByColleaguesLastname(thirdUser.getLastname())).isEmpty();
+    }
+
+    @Test
+    public void fetchesAssociationsOfQueryResultsInBatch() {
+
+        flushTestUsers();
+
+        firstUser.setManager(secondUser);
+        firstUser.getColleagues().add(thirdUser);
+        thirdUser.setManager(secondUser);
+        repository.saveAll(Arrays.asList(firstUser, thirdUser));
+        operations.getEntityCache().clear();
+
+        List<User> users = repository.findFetchedByLastname(firstUser.getLastname());
+
+        assertThat(users).hasSize(1);
+        assertThat(users.get(0).getManager().getLastname()).isEqualTo(secondUser.getLastname());
+        assertThat(users.get(0).getColleagues()).extracting(AbstractUser::getLastname).containsOnly(thirdUser.getLastname());
+
+        List<User> fetched = repository.fetchAssociations(repository.findAll(), "manager");
+        assertThat(fetched.stream().filter(user -> user.getManager() != null))
+            .extracting(AbstractUser::getEmailAddress)
+            .containsOnly(firstUser.getEmailAddress(), thirdUser.getEmailAddress());
     }
 
     @Test
@@ -655,6 +786,37 @@ public class UserRepositoryTest {
             .containsExactly(secondUser, firstUser, fourthUser, thirdUser);
     }
 
+    @Test
+    public void executesDeclaredQueryWithSortCorrectly() {
+
+        flushTestUsers();
+
+        assertThat(repository.findByEmailAddressLikeDeclared("%@%", Sort.by(Sort.Direction.ASC, "lastname")))
+            .containsExactly(secondUser, firstUser, fourthUser, thirdUser);
+        assertThat(repository.findByEmailAddressLikeDeclared("%@%", Sort.by(Sort.Direction.DESC, "lastname")))
+            .containsExactly(thirdUser, fourthUser, firstUser, secondUser);
+    }
+
+    @Test
+    public void appliesSortBeforeLimitOfDeclaredQuery() {
+
+        flushTestUsers();
+
+        assertThat(repository.findLimitedByEmailAddressLikeDeclared("%@%", Sort.by(Sort.Direction.ASC, "lastname")))
+            .containsExactly(secondUser, firstUser);
+        assertThat(repository.findLimitedByEmailAddressLikeDeclared("%@%", Sort.by(Sort.Direction.DESC, "lastname")))
+            .containsExactly(thirdUser, fourthUser);
+    }
+
+    @Test
+    public void ignoresSortPropertyNotMappedToColumnOnDeclaredQuery() {
+
+        flushTestUsers();
+
+        assertThat(repository.findByEmailAddressLikeDeclared("%@%", Sort.by("lastname; drop table SD_User")))
+            .containsOnly(firstUser, secondUser, thirdUser, fourthUser);
+    }
+
     @Test
     public void readsPageWithGroupByClauseCorrectly() {
 
@@ -786,6 +948,53 @@ public class UserRepositoryTest {
         assertThat(page.getContent()).contains(firstUser, secondUser, thirdUser, fourthUser);
     }
 
+    @Test
+    public void skipsCountQueryForLastPage() {
+
+        flushTestUsers();
+
+        // 첫 페이지는 전체 건수를 알 수 없으므로 count 질의를 수행합니다.
+        queryRecorder.clear();
+        repository.findAll(PageRequest.of(0, 3));
+        assertThat(queryRecorder.getQueries()).anyMatch(UserRepositoryTest::isCountQuery);
+
+        queryRecorder.clear();
+        Page<User> page = repository.findAll(PageRequest.of(1, 3));
+
+        assertThat(queryRecorder.getQueries()).isNotEmpty().noneMatch(UserRepositoryTest::isCountQuery);
+        assertThat(page.getNumberOfElements()).isEqualTo(1);
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    private static boolean isCountQuery(String sql) {
+        return sql.toLowerCase(Locale.US).contains("count(");
+    }
+
+    @Test
+    public void executesLazyPageQuery() {
+
+        flushTestUsers();
+
+        LazyPage<User> page = repository.findLazilyByActiveTrue(PageRequest.of(0, 3, Sort.by("id")));
+
+        assertThat(page.getNumberOfElements()).isEqualTo(3);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.isTotalResolved()).isFalse();
+
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.isTotalResolved()).isTrue();
+
+        LazyPage<User> lastPage = repository.findLazilyByActiveTrue(PageRequest.of(1, 3, Sort.by("id")));
+
+        assertThat(lastPage.getNumberOfElements()).isEqualTo(1);
+        assertThat(lastPage.hasNext()).isFalse();
+        assertThat(lastPage.isTotalResolved()).isTrue();
+        assertThat(lastPage.getTotalElements()).isEqualTo(4L);
+    }
+
     @Test
     public void executesNativeQueryForNonEntitiesCorrectly() {
 
@@ -919,8 +1128,7 @@ public class UserRepositoryTest {
         assertThat(result2).hasSize(1);
     }
 
-    // NOTE: Not supported Named parameter
-    @Test(expected = StatementExecutionException.class)
+    @Test
     public void executesManualQueryWithNamedLikeExpressionCorrectly() {
 
         flushTestUsers();
@@ -952,6 +1160,102 @@ public class UserRepositoryTest {
         assertThat(repository.existsByLastname("Donald Trump")).isFalse();
     }
 
+    @Test
+    public void executesModifyingDeclaredQuery() {
+
+        flushTestUsers();
+
+        assertThat(repository.updateActiveStateByLastnameDeclared(false, "Bae")).isEqualTo(1);
+        assertThat(repository.findByLastname("Bae")).allMatch(user -> !user.isActive());
+    }
+
+    @Test
+    public void executesModifyingDeclaredQueryAsBatch() {
+
+        flushTestUsers();
+
+        int[] counts = repository.updateActiveStates(Arrays.asList(new Object[] { false, firstUser.getId() },
+                                                                   new Object[] { false, secondUser.getId() },
+                                                                   new Object[] { false, -1 }));
+
+        assertThat(counts).containsExactly(1, 1, 0);
+        assertThat(repository.findByActiveFalse()).containsOnly(firstUser, secondUser);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void modifyingBatchJoinsOuterTransaction() {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            flushTestUsers();
+            return null;
+        });
+
+        try {
+            // batch update 가 바깥 transaction 을 commit 하지 않아야 rollback 시 변경도 함께 취소됩니다.
+            assertThatThrownBy(() -> transactionTemplate.execute(status -> {
+                repository.updateActiveStates(Arrays.asList(new Object[] { false, firstUser.getId() },
+                                                            new Object[] { false, secondUser.getId() }));
+                assertThat(repository.findByActiveFalse()).containsOnly(firstUser, secondUser);
+                throw new IllegalStateException("rollback");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(repository.findByActiveFalse()).isEmpty();
+        } finally {
+            repository.deleteAll();
+            operations.deleteAll(Role.class);
+        }
+    }
+
+    @Test
+    public void executesModifyingDeclaredQueryAsBatchWithNamedParameters() {
+
+        flushTestUsers();
+
+        Map<String, Object> first = new HashMap<>();
+        first.put("active", false);
+        first.put("lastname", firstUser.getLastname());
+
+        Map<String, Object> second = new HashMap<>();
+        second.put("active", false);
+        second.put("lastname", secondUser.getLastname());
+
+        assertThat(repository.updateActiveStatesByLastname(Arrays.asList(first, second))).isEqualTo(2L);
+        assertThat(repository.findByActiveFalse()).containsOnly(firstUser, secondUser);
+    }
+
+    @Test
+    public void rejectsModifyingBatchRowWithWrongNumberOfValues() {
+
+        flushTestUsers();
+
+        // 값이 부족한 row 가 이전 row 의 parameter 값을 재사용하지 않도록 거부합니다.
+        assertThatThrownBy(() -> repository.updateActiveStates(Arrays.asList(new Object[] { false, firstUser.getId() },
+                                                                             new Object[] { secondUser.getId() })))
+            .hasStackTraceContaining("Batch values must have 2 values");
+    }
+
+    @Test
+    public void returnsEmptyCountsForEmptyModifyingBatch() {
+        assertThat(repository.updateActiveStates(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void executesDerivedUpdateQuery() {
+
+        flushTestUsers();
+
+        assertThat(repository.updateActiveByLastname(false, "Bae")).isEqualTo(1);
+        assertThat(repository.findByLastname("Bae")).allMatch(user -> !user.isActive());
+
+        assertThat(repository.updateFirstnameAndAgeByLastnameAndActive("Sunghyouk", 51, "Bae", false)).isEqualTo(1);
+        assertThat(repository.findByLastname("Bae"))
+            .allMatch(user -> "Sunghyouk".equals(user.getFirstname()) && user.getAge() == 51);
+
+        assertThat(repository.updateActiveByLastname(false, "Donald Trump")).isEqualTo(0);
+    }
+
     @Test
     public void findAllReturnsEmptyIterableIfNoIdsGiven() {
         flushTestUsers();
@@ -1373,6 +1677,20 @@ public class UserRepositoryTest {
         }
     }
 
+    @Test
+    public void iteratesAllInChunks() {
+
+        flushTestUsers();
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        try (CloseableIterator<List<User>> chunks = repository.iterateAll(3)) {
+            while (chunks.hasNext()) {
+                chunkSizes.add(chunks.next().size());
+            }
+        }
+        assertThat(chunkSizes).containsExactly(3, 1);
+    }
+
     @Test
     public void findAllByExample() {
 
@@ -1693,7 +2011,42 @@ public class UserRepositoryTest {
         assertThat(users).hasSize(1);
     }
 
-    @Ignore("Raw SQL 의 Tuple을 Custom type 변환이 가능하도록 해야 한다.")
+    @Test
+    public void derivedQueryWithInterfaceProjection() {
+
+        flushTestUsers();
+
+        List<UserRepository.NameOnly> names = repository.findNameOnlyByLastname("Bae");
+
+        assertThat(names).hasSize(1);
+        assertThat(names.get(0).getFirstname()).isEqualTo("Debop");
+        assertThat(names.get(0).getLastname()).isEqualTo("Bae");
+
+        UserRepository.EmailOnly emailOnly = repository.findEmailOnlyById(secondUser.getId());
+        assertThat(emailOnly.getEmailAddress()).isEqualTo("diego@example.com");
+    }
+
+    @Test
+    public void derivedQueryWithDtoProjection() {
+
+        flushTestUsers();
+
+        List<NameOnlyDto> dtos = repository.findNameOnlyDtoByFirstnameLike("%De%");
+
+        assertThat(dtos).containsOnly(new NameOnlyDto("Debop", "Bae"));
+    }
+
+    @Test
+    public void dynamicProjectionWithInterface() {
+
+        flushTestUsers();
+
+        List<UserRepository.NameOnly> names = repository.findAsListByFirstnameLike("%De%", UserRepository.NameOnly.class);
+
+        assertThat(names).hasSize(1);
+        assertThat(names.get(0).getLastname()).isEqualTo("Bae");
+    }
+
     @Test
     public void supportsProjectionsWithNativeQueries() {
 
@@ -1701,14 +2054,12 @@ public class UserRepositoryTest {
 
         User user = repository.findAll().get(0);
 
-        // TODO: Raw SQL 의 Tuple을 Custom type 변환이 가능하도록 해야 한다.
         UserRepository.NameOnly result = repository.findByNativeQuery(user.getId());
 
         assertThat(result.getFirstname()).isEqualTo(user.getFirstname());
         assertThat(result.getLastname()).isEqualTo(user.getLastname());
     }
 
-    @Ignore("Raw SQL 의 Tuple을 Custom type 변환이 가능하도록 해야 한다.")
     @Test
     public void supportsProjectionsWithNativeQueriesAndCamelCaseProperty() {
 
@@ -1716,7 +2067,6 @@ public class UserRepositoryTest {
 
         User user = repository.findAll().get(0);
 
-        // TODO: Raw SQL 의 Tuple을 Custom type 변환이 가능하도록 해야 한다.
         UserRepository.EmailOnly result = repository.findEmailOnlyByNativeQuery(user.getId());
 
         String emailAddress = result.getEmailAddress();
@@ -1727,6 +2077,42 @@ public class UserRepositoryTest {
             .isNotNull();
     }
 
+    @Test
+    public void supportsDtoProjectionsWithNativeQueries() {
+
+        flushTestUsers();
+
+        List<NameOnlyDto> dtos = repository.findNameOnlyDtosByNativeQuery("Bae");
+
+        assertThat(dtos).containsOnly(new NameOnlyDto("Debop", "Bae"));
+    }
+
+    @Test
+    public void derivedQueryWithDtoProjectionUsesPreferredConstructor() {
+
+        flushTestUsers();
+
+        List<NameAgeDto> dtos = repository.findNameAgeDtoByLastname("Bae");
+
+        assertThat(dtos).hasSize(1);
+        assertThat(dtos.get(0).getFirstname()).isEqualTo("Debop");
+        assertThat(dtos.get(0).getLastname()).isEqualTo("Bae");
+        assertThat(dtos.get(0).getAge()).isNull();
+    }
+
+    @Test
+    public void nativeQueryWithDtoProjectionChoosesConstructorByColumnTypes() {
+
+        flushTestUsers();
+
+        List<NameAgeDto> dtos = repository.findNameAgeDtosByNativeQuery("Bae");
+
+        assertThat(dtos).hasSize(1);
+        assertThat(dtos.get(0).getFirstname()).isEqualTo("Debop");
+        assertThat(dtos.get(0).getLastname()).isNull();
+        assertThat(dtos.get(0).getAge()).isEqualTo(firstUser.getAge());
+    }
+
     @Test
     public void handlesColonsFollowedByIntegerInStringLiteral() {
 
@@ -1781,6 +2167,19 @@ public class UserRepositoryTest {
             .containsExactly("Nickoon");
     }
 
+    @Test
+    public void executeNativeQueryWithSortedPage() {
+
+        flushTestUsers();
+
+        Page<User> firstPage = repository.findByNativQueryWithPageable(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "firstname")));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(4);
+        assertThat(firstPage.getContent())
+            .extracting(User::getFirstname)
+            .containsExactly("Nickoon", "Jinie", "Diego");
+    }
+
     @Ignore("아직 List<Tuple> 을 원하는 수형으로 변환하는 기능을 제공하지 않습니다.")
     @Test
     public void executeNativeQueryWithPageWorkaround() {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.config;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.RandomData;
+import org.springframework.data.requery.domain.basic.BasicUser;
+import org.springframework.data.requery.repository.ReactiveRequeryRepository;
+import org.springframework.data.requery.repository.RequeryRepository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link EnableReactiveRequeryRepositories} 로 reactive repository 를 등록하는 테스트
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@RunWith(SpringRunner.class)
+@ContextConfiguration
+public class ReactiveRepositoriesJavaConfigTest {
+
+    private static final Scheduler scheduler = ReactiveRequeryTemplate.newJdbcScheduler(2);
+
+    @AfterClass
+    public static void afterClass() {
+        scheduler.dispose();
+    }
+
+    @Configuration
+    @EnableRequeryRepositories(basePackageClasses = ReactiveRepositoriesJavaConfigTest.class,
+                               considerNestedRepositories = true)
+    @EnableReactiveRequeryRepositories(basePackageClasses = ReactiveRepositoriesJavaConfigTest.class,
+                                       considerNestedRepositories = true)
+    static class TestConfiguration extends InfrastructureConfig {
+
+        @Bean
+        public ReactiveRequeryTemplate reactiveRequeryTemplate(RequeryOperations operations) {
+            return new ReactiveRequeryTemplate(operations, scheduler);
+        }
+    }
+
+    @Autowired ApplicationContext context;
+
+    @Autowired ReactiveUserRepository reactiveUserRepository;
+    @Autowired BlockingUserRepository blockingUserRepository;
+
+    @Test
+    public void registersEachRepositoryOnlyOnce() {
+        assertThat(context.getBeanNamesForType(ReactiveUserRepository.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(BlockingUserRepository.class)).hasSize(1);
+    }
+
+    @Test
+    public void reactiveRepositoryIsUsable() {
+        reactiveUserRepository.deleteAll().block();
+
+        BasicUser user = reactiveUserRepository.save(RandomData.randomUser()).block();
+
+        assertThat(user.getId()).isNotNull();
+        assertThat(reactiveUserRepository.findByEmail(user.getEmail()).block()).isEqualTo(user);
+        assertThat(blockingUserRepository.findById(user.getId())).contains(user);
+
+        reactiveUserRepository.deleteAll().block();
+    }
+
+    interface ReactiveUserRepository extends ReactiveRequeryRepository<BasicUser, Long> {
+
+        Mono<BasicUser> findByEmail(String email);
+    }
+
+    interface BlockingUserRepository extends RequeryRepository<BasicUser, Long> {}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.query;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * org.springframework.data.requery.repository.query.DerivedCountQueryTest
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+public class DerivedCountQueryTest {
+
+    @Test
+    public void replaceSelectListAndDropOrderBy() {
+        DerivedCountQuery countQuery =
+            DerivedCountQuery.of("SELECT u.* FROM SD_User u WHERE 'x' = ? ORDER BY CASE WHEN (u.firstname >= ?) THEN 0 ELSE 1 END, u.firstname");
+
+        assertThat(countQuery.getQuery()).isEqualTo("select count(*) FROM SD_User u WHERE 'x' = ?");
+        assertThat(countQuery.bind(new Object[] { "x", "Debop" })).containsExactly("x");
+    }
+
+    @Test
+    public void dropParametersInSelectList() {
+        DerivedCountQuery countQuery =
+            DerivedCountQuery.of("select u.id, (select count(*) from SD_User m where m.manager = u.id and m.age > ?) from SD_User u where u.lastname = ?;");
+
+        assertThat(countQuery.getQuery()).isEqualTo("select count(*) from SD_User u where u.lastname = ?");
+        assertThat(countQuery.bind(new Object[] { 10, "Bae" })).containsExactly("Bae");
+    }
+
+    @Test
+    public void wrapDistinctAndGroupedQuery() {
+        assertThat(DerivedCountQuery.of("select distinct u.lastname from SD_User u order by u.lastname").getQuery())
+            .isEqualTo("select count(*) from (select distinct u.lastname from SD_User u) cnt_tbl");
+
+        assertThat(DerivedCountQuery.of("select u.lastname from SD_User u group by u.lastname ").getQuery())
+            .isEqualTo("select count(*) from (select u.lastname from SD_User u group by u.lastname) cnt_tbl");
+
+        assertThat(DerivedCountQuery.of("select id from SD_User union select id from SD_Role").getQuery())
+            .isEqualTo("select count(*) from (select id from SD_User union select id from SD_Role) cnt_tbl");
+    }
+
+    @Test
+    public void keepOrderByOfLimitedQuery() {
+        DerivedCountQuery countQuery = DerivedCountQuery.of("select * from SD_User order by age limit ?");
+
+        assertThat(countQuery.getQuery()).isEqualTo("select count(*) from (select * from SD_User order by age limit ?) cnt_tbl");
+        assertThat(countQuery.bind(new Object[] { 5 })).containsExactly(5);
+    }
+
+    @Test
+    public void ignoreKeywordsInLiteralsAndComments() {
+        DerivedCountQuery countQuery =
+            DerivedCountQuery.of("select 'order by ?' as label /* from */ from SD_User u where u.firstname = ? -- order by\n order by u.id");
+
+        assertThat(countQuery.getQuery()).isEqualTo("select count(*) from SD_User u where u.firstname = ? -- order by");
+        assertThat(countQuery.bind(new Object[] { "Debop" })).containsExactly("Debop");
+    }
+}
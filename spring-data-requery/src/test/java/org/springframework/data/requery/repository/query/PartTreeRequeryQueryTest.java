@@ -16,6 +16,7 @@
 
 package org.springframework.data.requery.repository.query;
 
+import io.requery.query.Condition;
 import io.requery.query.Operator;
 import io.requery.query.Result;
 import io.requery.query.element.QueryElement;
@@ -31,6 +32,8 @@ import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.requery.core.InListBindingMode;
+import org.springframework.data.requery.core.RequeryTemplate;
 import org.springframework.data.requery.domain.AbstractDomainTest;
 import org.springframework.data.requery.domain.sample.User;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -40,6 +43,7 @@ import org.springframework.util.Assert;
 import javax.annotation.Nonnull;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -111,6 +115,115 @@ public class PartTreeRequeryQueryTest extends AbstractDomainTest {
         ((QueryElement<? extends Result<?>>) query).get().toList();
     }
 
+    @Test
+    public void bindsValuesToCompiledConditionsOnEachCall() throws Exception {
+
+        RequeryQueryMethod queryMethod = getQueryMethod("findByFirstnameOrLastname", String.class, String.class);
+        PartTreeRequeryQuery requeryQuery = new PartTreeRequeryQuery(queryMethod, requeryOperations);
+
+        QueryElement<?> first = requeryQuery.createQueryElement(new Object[] { "Debop", "Bae" });
+        QueryElement<?> second = requeryQuery.createQueryElement(new Object[] { "Diego", "Ahn" });
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getWhereElements()).hasSize(1);
+        assertThat(first.getWhereElements().iterator().next().getCondition().getOperator()).isEqualTo(Operator.OR);
+
+        ((QueryElement<? extends Result<?>>) first).get().toList();
+        ((QueryElement<? extends Result<?>>) second).get().toList();
+    }
+
+    @Test
+    public void padsInListToBucketSize() throws Exception {
+
+        RequeryTemplate paddedOperations = new RequeryTemplate(requeryOperations.getDataStore(),
+                                                               requeryOperations.getMappingContext());
+        paddedOperations.setInListBindingMode(InListBindingMode.PADDED);
+
+        RequeryQueryMethod queryMethod = getQueryMethod("findByIdIn", Collection.class);
+        PartTreeRequeryQuery requeryQuery = new PartTreeRequeryQuery(queryMethod, paddedOperations);
+
+        QueryElement<?> query = requeryQuery.createQueryElement(new Object[] { Arrays.asList(1, 2, 3) });
+        Condition<?, ?> condition = query.getWhereElements().iterator().next().getCondition();
+
+        assertThat(condition.getOperator()).isEqualTo(Operator.IN);
+        assertThat((Collection<?>) condition.getRightOperand()).containsExactly(1, 2, 3, 3);
+
+        ((QueryElement<? extends Result<?>>) query).get().toList();
+    }
+
+    @Test
+    public void bindsInListAsArrayParameterOnPostgreSQL() throws Exception {
+
+        RequeryTemplate arrayOperations = new RequeryTemplate(requeryOperations.getDataStore(),
+                                                              requeryOperations.getMappingContext()) {
+            @Override
+            public String getDatabaseProductName() {
+                return "PostgreSQL";
+            }
+        };
+        arrayOperations.setInListBindingMode(InListBindingMode.ARRAY);
+        assertThat(arrayOperations.getInListBindingMode()).isEqualTo(InListBindingMode.ARRAY);
+
+        RequeryQueryMethod queryMethod = getQueryMethod("findByIdIn", Collection.class);
+        PartTreeRequeryQuery requeryQuery = new PartTreeRequeryQuery(queryMethod, arrayOperations);
+
+        QueryElement<?> query = requeryQuery.createQueryElement(new Object[] { Arrays.asList(1, 2, 3) });
+        Condition<?, ?> condition = query.getWhereElements().iterator().next().getCondition();
+
+        assertThat(condition.getOperator()).isEqualTo(Operator.EQUAL);
+        assertThat(condition.getRightOperand()).isInstanceOf(ArrayParameterFunction.class);
+
+        ArrayParameterFunction<?> function = (ArrayParameterFunction<?>) condition.getRightOperand();
+        assertThat(function.getName()).isEqualTo("any");
+        assertThat(function.arguments()).hasSize(1);
+        assertThat(function.arguments()[0]).isInstanceOf(Integer[].class);
+        assertThat((Integer[]) function.arguments()[0]).containsExactly(1, 2, 3);
+
+        query = requeryQuery.createQueryElement(new Object[] { Arrays.asList(4, 5) });
+        function = (ArrayParameterFunction<?>) query.getWhereElements().iterator().next().getCondition().getRightOperand();
+        assertThat((Integer[]) function.arguments()[0]).containsExactly(4, 5);
+    }
+
+    @Test
+    public void fallsBackToPaddedInListWithoutArrayParameterSupport() throws Exception {
+
+        RequeryTemplate arrayOperations = new RequeryTemplate(requeryOperations.getDataStore(),
+                                                              requeryOperations.getMappingContext());
+        arrayOperations.setInListBindingMode(InListBindingMode.ARRAY);
+
+        // H2 는 배열 parameter 를 사용하지 않습니다.
+        assertThat(arrayOperations.getDatabaseProductName()).isEqualTo("H2");
+        assertThat(arrayOperations.getInListBindingMode()).isEqualTo(InListBindingMode.PADDED);
+
+        RequeryQueryMethod queryMethod = getQueryMethod("findByIdIn", Collection.class);
+        PartTreeRequeryQuery requeryQuery = new PartTreeRequeryQuery(queryMethod, arrayOperations);
+
+        QueryElement<?> query = requeryQuery.createQueryElement(new Object[] { Arrays.asList(1, 2, 3) });
+        Condition<?, ?> condition = query.getWhereElements().iterator().next().getCondition();
+
+        assertThat(condition.getOperator()).isEqualTo(Operator.IN);
+        assertThat((Collection<?>) condition.getRightOperand()).containsExactly(1, 2, 3, 3);
+
+        ((QueryElement<? extends Result<?>>) query).get().toList();
+    }
+
+    @Test
+    public void arrayParameterSupportByDatabaseProductName() {
+        assertThat(InListBindingMode.supportsArrayParameter("PostgreSQL")).isTrue();
+        assertThat(InListBindingMode.supportsArrayParameter("H2")).isFalse();
+        assertThat(InListBindingMode.supportsArrayParameter("MySQL")).isFalse();
+        assertThat(InListBindingMode.supportsArrayParameter(null)).isFalse();
+    }
+
+    @Test
+    public void inListBucketSizes() {
+        assertThat(InListBindingMode.bucketSize(1)).isEqualTo(1);
+        assertThat(InListBindingMode.bucketSize(3)).isEqualTo(4);
+        assertThat(InListBindingMode.bucketSize(8)).isEqualTo(8);
+        assertThat(InListBindingMode.bucketSize(1000)).isEqualTo(1024);
+        assertThat(InListBindingMode.bucketSize(1025)).isEqualTo(2048);
+    }
+
     @Test
     public void shouldLimitExistsProjectionQueries() throws Exception {
 
@@ -233,6 +346,10 @@ public class PartTreeRequeryQueryTest extends AbstractDomainTest {
 
         boolean existsByFirstname(String firstname);
 
+        List<User> findByFirstnameOrLastname(String firstname, String lastname);
+
+        List<User> findByIdIn(Collection<Integer> ids);
+
         List<User> findByCreatedAtAfter(@Param("refDate") Date refDate);
 
         List<User> findByRolesIsEmpty();
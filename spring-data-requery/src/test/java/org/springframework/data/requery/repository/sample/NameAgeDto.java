@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.sample;
+
+import lombok.Data;
+import org.springframework.data.annotation.PersistenceConstructor;
+
+/**
+ * 인자 수가 같은 생성자를 여럿 가진 DTO
+ *
+ * @author debop
+ * @since 18. 10. 17
+ */
+@Data
+public class NameAgeDto {
+
+    String firstname;
+    String lastname;
+    Integer age;
+
+    @PersistenceConstructor
+    public NameAgeDto(String lastname, String firstname) {
+        this.lastname = lastname;
+        this.firstname = firstname;
+    }
+
+    public NameAgeDto(String firstname, Integer age) {
+        this.firstname = firstname;
+        this.age = age;
+    }
+}
@@ -22,7 +22,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.requery.annotation.FetchAssociations;
+import org.springframework.data.requery.annotation.Modifying;
 import org.springframework.data.requery.annotation.Query;
+import org.springframework.data.requery.domain.LazyPage;
 import org.springframework.data.requery.domain.sample.AbstractRole;
 import org.springframework.data.requery.domain.sample.Role;
 import org.springframework.data.requery.domain.sample.SpecialUser;
@@ -37,6 +40,7 @@ import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -88,12 +92,13 @@ public interface UserRepository extends RequeryRepository<User, Integer>, UserRe
 
     Page<User> findByFirstnameIn(Pageable pageable, String... firstnames);
 
+    LazyPage<User> findLazilyByActiveTrue(Pageable pageable);
+
     List<User> findByFirstnameNotIn(Collection<String> firstname);
 
     @Query("select * from SD_User u where u.firstname like ?")
     List<User> findByFirstnameLike(String firstname);
 
-    // NOTE: Not supported Named Parameter
     @Query("select * from SD_User u where u.firstname like :firstname%")
     List<User> findByFirstnameLikeNamed(@Param("firstname") String firstname);
 
@@ -128,18 +133,25 @@ public interface UserRepository extends RequeryRepository<User, Integer>, UserRe
 
     List<User> findByLastnameNot(String lastname);
 
-    // NOTE: Not supported associated query, use direct join query instead.
     List<User> findByManagerLastname(String name);
 
-    // NOTE: Not supported associated query, use direct join query instead.
     List<User> findByColleaguesLastname(String lastname);
 
+    @FetchAssociations({ "manager", "colleagues" })
+    List<User> findFetchedByLastname(String lastname);
+
     List<User> findByLastnameNotNull();
 
     List<User> findByLastnameNull();
 
     List<User> findByEmailAddressLike(String email, Sort sort);
 
+    @Query("select * from SD_User u where u.emailAddress like ?")
+    List<User> findByEmailAddressLikeDeclared(String email, Sort sort);
+
+    @Query("select * from SD_User u where u.emailAddress like ? limit 2")
+    List<User> findLimitedByEmailAddressLikeDeclared(String email, Sort sort);
+
     List<SpecialUser> findSpecialUsersByLastname(String lastname);
 
 //    List<User> findBySpringDataNamedQuery(String lastname);
@@ -209,6 +221,12 @@ public interface UserRepository extends RequeryRepository<User, Integer>, UserRe
     // DATAJPA-920
     boolean existsByLastname(String lastname);
 
+    @Transactional
+    int updateActiveByLastname(boolean active, String lastname);
+
+    @Transactional
+    int updateFirstnameAndAgeByLastnameAndActive(String firstname, int age, String lastname, boolean active);
+
     // DATAJPA-391
     @Query("select u.firstname from SD_User u where u.lastname = ?")
     List<String> findFirstnamesByLastname(String lastname);
@@ -232,6 +250,18 @@ public interface UserRepository extends RequeryRepository<User, Integer>, UserRe
     @Query("update SD_User u set u.active = ? where u.id in ?")
     void updateUserActiveState(boolean activeState, Integer... ids);
 
+    @Modifying
+    @Query("update SD_User u set u.active = ? where u.lastname = ?")
+    int updateActiveStateByLastnameDeclared(boolean activeState, String lastname);
+
+    @Modifying
+    @Query("update SD_User u set u.active = ? where u.id = ?")
+    int[] updateActiveStates(List<Object[]> activeStateAndIds);
+
+    @Modifying
+    @Query("update SD_User u set u.active = :active where u.lastname = :lastname")
+    long updateActiveStatesByLastname(List<Map<String, Object>> activeStateAndLastnames);
+
     // DATAJPA-405
     List<User> findAllByOrderByLastnameAsc();
 
@@ -434,12 +464,26 @@ public interface UserRepository extends RequeryRepository<User, Integer>, UserRe
 
     <T> List<T> findAsListByFirstnameLike(String name, Class<T> projectionType);
 
+    List<NameOnly> findNameOnlyByLastname(String lastname);
+
+    List<NameOnlyDto> findNameOnlyDtoByFirstnameLike(String firstname);
+
+    EmailOnly findEmailOnlyById(Integer id);
+
     @Query("SELECT u.firstname, u.lastname from SD_User u WHERE u.id=?")
     NameOnly findByNativeQuery(Integer id);
 
     @Query("SELECT u.emailaddress from SD_User u WHERE u.id=?")
     EmailOnly findEmailOnlyByNativeQuery(Integer id);
 
+    @Query("SELECT u.firstname, u.lastname from SD_User u WHERE u.lastname=?")
+    List<NameOnlyDto> findNameOnlyDtosByNativeQuery(String lastname);
+
+    List<NameAgeDto> findNameAgeDtoByLastname(String lastname);
+
+    @Query("SELECT u.firstname, u.age from SD_User u WHERE u.lastname=?")
+    List<NameAgeDto> findNameAgeDtosByNativeQuery(String lastname);
+
     // NOTE: Not Supported
 
     @Query("SELECT u.* FROM SD_User u where u.firstname >= ? and u.lastname = '000:1'")
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Coupang Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.requery.repository.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.requery.configs.RequeryTestConfiguration;
+import org.springframework.data.requery.core.ReactiveRequeryTemplate;
+import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.domain.RandomData;
+import org.springframework.data.requery.domain.basic.BasicUser;
+import org.springframework.data.requery.repository.ReactiveRequeryRepository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = { RequeryTestConfiguration.class })
+public class ReactiveRequeryRepositoryTest {
+
+    private static final Scheduler scheduler = ReactiveRequeryTemplate.newJdbcScheduler(4);
+
+    @AfterClass
+    public static void afterClass() {
+        scheduler.dispose();
+    }
+
+    @Autowired RequeryOperations operations;
+
+    ReactiveUserRepository repository;
+
+    @Before
+    public void setup() {
+        ReactiveRequeryTemplate template = new ReactiveRequeryTemplate(operations, scheduler);
+        repository = new ReactiveRequeryRepositoryFactory(template).getRepository(ReactiveUserRepository.class);
+
+        assertThat(repository).isNotNull();
+        repository.deleteAll().block();
+    }
+
+    @Test
+    public void crudOperations() {
+        BasicUser user = repository.save(RandomData.randomUser()).block();
+
+        assertThat(user.getId()).isNotNull();
+        assertThat(repository.existsById(user.getId()).block()).isTrue();
+        assertThat(repository.count().block()).isEqualTo(1L);
+        assertThat(repository.findById(Mono.just(user.getId())).block()).isEqualTo(user);
+
+        repository.delete(user).block();
+        assertThat(repository.findById(user.getId()).block()).isNull();
+        assertThat(repository.count().block()).isEqualTo(0L);
+    }
+
+    @Test
+    public void saveAndFindAllWithPublisher() {
+        List<BasicUser> users = repository.saveAll(Flux.fromIterable(RandomData.randomUsers(5))).collectList().block();
+        assertThat(users).hasSize(5);
+
+        List<BasicUser> loaded = repository.findAll(Sort.by("id")).collectList().block();
+        assertThat(loaded).hasSize(5).isEqualTo(users);
+
+        List<BasicUser> found = repository.findAllById(Flux.just(users.get(0).getId(), users.get(4).getId()))
+                                          .collectList()
+                                          .block();
+        assertThat(found).containsOnly(users.get(0), users.get(4));
+
+        repository.deleteAll(Flux.fromIterable(users)).block();
+        assertThat(repository.findAll().collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void executeQueryMethods() {
+        BasicUser user = RandomData.randomUser();
+        BasicUser other = RandomData.randomUser();
+        repository.saveAll(Arrays.asList(user, other)).blockLast();
+
+        assertThat(repository.findByEmail(user.getEmail()).block()).isEqualTo(user);
+        assertThat(repository.findByEmail("not-exists").block()).isNull();
+        assertThat(repository.findByIdIn(Arrays.asList(user.getId(), other.getId())).collectList().block())
+            .containsOnly(user, other);
+    }
+
+    interface ReactiveUserRepository extends ReactiveRequeryRepository<BasicUser, Long> {
+
+        Mono<BasicUser> findByEmail(String email);
+
+        Flux<BasicUser> findByIdIn(List<Long> ids);
+    }
+}
@@ -16,35 +16,67 @@
 
 package org.springframework.data.requery.repository.support;
 
+import io.requery.meta.Attribute;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.support.TransactionalRepositoryProxyPostProcessor;
 import org.springframework.data.requery.annotation.Query;
+import org.springframework.data.requery.annotation.QueryHints;
 import org.springframework.data.requery.configs.RequeryTestConfiguration;
 import org.springframework.data.requery.core.RequeryOperations;
+import org.springframework.data.requery.core.RequeryTemplate;
+import org.springframework.data.requery.domain.KeysetPageable;
+import org.springframework.data.requery.domain.KeysetWindow;
 import org.springframework.data.requery.domain.RandomData;
 import org.springframework.data.requery.domain.basic.BasicGroup;
 import org.springframework.data.requery.domain.basic.BasicUser;
 import org.springframework.data.requery.repository.RequeryRepository;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Slf4j
 @RunWith(SpringRunner.class)
 @ContextConfiguration(classes = { RequeryTestConfiguration.class })
 public class RequeryRepositoryTest {
 
+    private static final String QUERY_THREAD_PREFIX = "requery-query-";
+
     @Autowired RequeryOperations operations;
+    @Autowired ListableBeanFactory beanFactory;
+    @Autowired PlatformTransactionManager transactionManager;
 
     SampleEntityRepository repository;
     GroupEntityRepository groupRepository;
@@ -123,12 +155,357 @@ public class RequeryRepositoryTest {
         assertThat(repository.count()).isEqualTo(0L);
     }
 
+    @Test
+    public void findAllByKeysetPageable() {
+
+        int userCount = 25;
+        repository.saveAll(RandomData.randomUsers(userCount));
+
+        List<BasicUser> users = new ArrayList<>();
+        KeysetPageable pageable = KeysetPageable.of(10);
+        int windowCount = 0;
+
+        while (true) {
+            KeysetWindow<BasicUser> window = repository.findAll(pageable);
+            users.addAll(window.getContent());
+            windowCount++;
+
+            if (!window.hasNext()) {
+                break;
+            }
+            assertThat(window.size()).isEqualTo(10);
+            pageable = window.nextPageable();
+        }
+
+        assertThat(windowCount).isEqualTo(3);
+        assertThat(users).hasSize(userCount).doesNotHaveDuplicates();
+        assertThat(users).isSortedAccordingTo((u1, u2) -> u1.getId().compareTo(u2.getId()));
+    }
+
+    @Test
+    public void findAllByKeysetPageableWithSort() {
+
+        int userCount = 25;
+        repository.saveAll(RandomData.randomUsers(userCount));
+
+        List<BasicUser> users = new ArrayList<>();
+        KeysetPageable pageable = KeysetPageable.of(7, Sort.by(Sort.Direction.DESC, "name"));
+
+        KeysetWindow<BasicUser> window;
+        do {
+            window = repository.findAll(pageable);
+            users.addAll(window.getContent());
+            if (window.hasNext()) {
+                pageable = window.nextPageable();
+            }
+        } while (window.hasNext());
+
+        assertThat(users).hasSize(userCount).doesNotHaveDuplicates();
+        assertThat(users).isSortedAccordingTo((u1, u2) -> {
+            int compared = u2.getName().compareTo(u1.getName());
+            return (compared != 0) ? compared : u2.getId().compareTo(u1.getId());
+        });
+    }
+
+    @Test
+    public void findAllByKeysetPageableWithNullableSortProperty() {
+
+        List<BasicUser> saved = new ArrayList<>(RandomData.randomUsers(25));
+        for (int i = 0; i < saved.size(); i++) {
+            // 여러 Window 경계에 null 값이 걸리도록 age 의 1/3 은 null 로 둡니다.
+            saved.get(i).setAge((i % 3 == 0) ? null : i % 5);
+        }
+        repository.saveAll(saved);
+
+        // null 처리 방식이 없으면 NULLS LAST 로 정렬합니다.
+        List<BasicUser> users = findAllWindows(KeysetPageable.of(4, Sort.by("age")));
+
+        assertThat(users).hasSize(saved.size()).doesNotHaveDuplicates();
+        assertThat(users).isSortedAccordingTo(
+            Comparator.comparing(BasicUser::getAge, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(BasicUser::getId));
+
+        users = findAllWindows(KeysetPageable.of(4, Sort.by(Sort.Order.desc("age").nullsFirst())));
+
+        assertThat(users).hasSize(saved.size()).doesNotHaveDuplicates();
+        assertThat(users).isSortedAccordingTo(
+            Comparator.comparing(BasicUser::getAge, Comparator.nullsFirst(Comparator.<Integer>reverseOrder()))
+                .thenComparing(BasicUser::getId, Comparator.reverseOrder()));
+    }
+
+    private List<BasicUser> findAllWindows(KeysetPageable pageable) {
+        List<BasicUser> users = new ArrayList<>();
+
+        KeysetWindow<BasicUser> window;
+        do {
+            window = repository.findAll(pageable);
+            users.addAll(window.getContent());
+            if (window.hasNext()) {
+                pageable = window.nextPageable();
+            }
+        } while (window.hasNext());
+
+        return users;
+    }
+
+    @Test
+    public void findAllByIdWithChunkedInList() {
+
+        List<BasicUser> users = repository.saveAll(RandomData.randomUsers(10));
+        List<Long> ids = users.stream().map(BasicUser::getId).collect(Collectors.toList());
+        Collections.reverse(ids);
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            template.setInListChunkSize(3);
+
+            List<BasicUser> loaded = repository.findAllById(ids, true);
+            assertThat(loaded).extracting(BasicUser::getId).containsExactlyElementsOf(ids);
+
+            template.setQueryExecutor(executor);
+
+            loaded = repository.findAllById(ids, true);
+            assertThat(loaded).extracting(BasicUser::getId).containsExactlyElementsOf(ids);
+            assertThat(repository.findAllById(ids)).hasSize(ids.size());
+        } finally {
+            template.setInListChunkSize(RequeryOperations.DEFAULT_IN_LIST_CHUNK_SIZE);
+            template.setQueryExecutor(null);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void executeCompletableFutureMethodsOnQueryExecutor() {
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        ExecutorService executor = Executors.newFixedThreadPool(2, new CustomizableThreadFactory(QUERY_THREAD_PREFIX));
+        AtomicInteger submitted = new AtomicInteger();
+        try {
+            template.setQueryExecutor(command -> {
+                submitted.incrementAndGet();
+                executor.execute(command);
+            });
+
+            CompletableFuture<List<BasicUser>> saved = repository.saveAllAsync(RandomData.randomUsers(5));
+            List<BasicUser> users = saved.join();
+            assertThat(users).hasSize(5).allMatch(user -> user.getId() != null);
+
+            BasicUser first = users.get(0);
+            CompletableFuture<Optional<BasicUser>> found = repository.findByIdAsync(first.getId());
+            CompletableFuture<Long> count = repository.countAsync();
+            CompletableFuture<List<BasicUser>> byEmail = repository.findByEmail(first.getEmail());
+            CompletableFuture<Page<BasicUser>> page = repository.findByIdNotNull(PageRequest.of(0, 2, Sort.by("id")));
+
+            assertThat(found.join()).hasValue(first);
+            assertThat(count.join()).isEqualTo(5L);
+            assertThat(byEmail.join()).containsOnly(first);
+            assertThat(page.join().getContent()).hasSize(2);
+            assertThat(page.join().getTotalElements()).isEqualTo(5L);
+
+            // 비동기 method 호출마다 한 번씩 executor 에 제출되어야 합니다.
+            assertThat(submitted.get()).isEqualTo(5);
+
+            String callerThread = Thread.currentThread().getName();
+            assertThat(repository.findExecutingThreadAsync().join().getKey())
+                .startsWith(QUERY_THREAD_PREFIX)
+                .isNotEqualTo(callerThread);
+            assertThat(submitted.get()).isEqualTo(6);
+
+            // executor 가 없으면 호출한 thread 에서 수행합니다.
+            template.setQueryExecutor(null);
+            assertThat(repository.findExecutingThreadAsync().join().getKey()).isEqualTo(callerThread);
+        } finally {
+            template.setQueryExecutor(null);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void transactionOfAsyncMethodRunsOnQueryExecutor() {
+
+        RequeryRepositoryFactory factory = new RequeryRepositoryFactory(operations);
+        factory.addRepositoryProxyPostProcessor(new TransactionalRepositoryProxyPostProcessor(beanFactory, "transactionManager", true));
+        SampleEntityRepository transactionalRepository = factory.getRepository(SampleEntityRepository.class);
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory(QUERY_THREAD_PREFIX));
+        try {
+            template.setQueryExecutor(executor);
+
+            // Async 처리가 transaction interceptor 보다 바깥에 있으므로, transaction 은 executor 의 thread 에서 시작됩니다.
+            Map.Entry<String, Boolean> execution = transactionalRepository.findExecutingThreadAsync().join();
+            assertThat(execution.getKey()).startsWith(QUERY_THREAD_PREFIX);
+            assertThat(execution.getValue()).isTrue();
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+
+            List<BasicUser> users = transactionalRepository.saveAllAsync(RandomData.randomUsers(3)).join();
+            assertThat(transactionalRepository.countAsync().join()).isEqualTo(3L);
+            assertThat(transactionalRepository.findByIdAsync(users.get(0).getId()).join()).hasValue(users.get(0));
+        } finally {
+            template.setQueryExecutor(null);
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void limitRowsByQueryHints() {
+
+        repository.saveAll(RandomData.randomUsers(5));
+
+        assertThat(repository.findByEmailNotNull()).hasSize(2);
+        assertThat(repository.findAll()).hasSize(3);
+        assertThat(repository.findAll(Sort.by("id"))).hasSize(5);
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        try {
+            template.setMaxRows(4);
+            assertThat(repository.findAll(Sort.by("id"))).hasSize(4);
+            assertThat(repository.findByEmailNotNull()).hasSize(2);
+        } finally {
+            template.setMaxRows(0);
+        }
+    }
+
+    @Test
+    public void saveAllWithBatches() {
+
+        RequeryTemplate template = (RequeryTemplate) operations;
+        try {
+            template.setBatchUpdateSize(3);
+
+            List<BasicUser> users = repository.saveAll(RandomData.randomUsers(10));
+            assertThat(users).hasSize(10).allMatch(user -> user.getId() != null);
+
+            users.forEach(user -> user.setName("updated-" + user.getId()));
+            List<BasicUser> mixed = new ArrayList<>(users);
+            mixed.addAll(RandomData.randomUsers(5));
+
+            List<BasicUser> saved = repository.saveAll(mixed);
+            assertThat(saved).containsExactlyElementsOf(mixed);
+            assertThat(repository.count()).isEqualTo(15);
+
+            users.forEach(user -> assertThat(repository.findById(user.getId()))
+                .hasValueSatisfying(loaded -> assertThat(loaded.getName()).isEqualTo("updated-" + user.getId())));
+        } finally {
+            template.setBatchUpdateSize(RequeryOperations.DEFAULT_BATCH_UPDATE_SIZE);
+        }
+    }
+
+    @Test
+    public void updateAllWithConditions() {
+
+        List<BasicUser> users = repository.saveAll(RandomData.randomUsers(10));
+        String name = users.get(0).getName();
+
+        Map<Attribute<BasicUser, ?>, Object> assignments = new HashMap<>();
+        assignments.put(BasicUser.ABOUT, "bulk updated");
+        assignments.put(BasicUser.AGE, 99);
+
+        int updatedCount = repository.updateAll(Collections.singletonList(BasicUser.NAME.eq(name)), assignments);
+        assertThat(updatedCount).isGreaterThanOrEqualTo(1);
+
+        List<BasicUser> updated = repository.findAll(Collections.singletonList(BasicUser.ABOUT.eq("bulk updated")));
+        assertThat(updated).hasSize(updatedCount).allMatch(user -> name.equals(user.getName()) && user.getAge() == 99);
+    }
+
+    @Test
+    @Transactional
+    public void streamAllEntities() {
+
+        int userCount = 20;
+        repository.saveAll(RandomData.randomUsers(userCount));
+
+        try (Stream<BasicUser> stream = repository.streamAll()) {
+            assertThat(stream.count()).isEqualTo(userCount);
+        }
+
+        try (Stream<BasicUser> stream = repository.streamAll(Sort.by(Sort.Direction.DESC, "id"))) {
+            List<Long> ids = stream.map(BasicUser::getId).collect(Collectors.toList());
+            assertThat(ids).hasSize(userCount).isSortedAccordingTo(Comparator.reverseOrder());
+        }
+
+        BasicUser user = repository.findAll().get(0);
+        try (Stream<BasicUser> stream = repository.streamAll(Collections.singletonList(BasicUser.ID.eq(user.getId())))) {
+            assertThat(stream.collect(Collectors.toList())).containsExactly(user);
+        }
+    }
+
+    @Test
+    public void streamingRequiresSurroundingTransaction() {
+
+        repository.saveAll(RandomData.randomUsers(3));
+
+        assertThatThrownBy(() -> repository.streamAll())
+            .isInstanceOf(InvalidDataAccessApiUsageException.class);
+        assertThatThrownBy(() -> repository.iterateAll(2))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class);
+        assertThatThrownBy(() -> repository.readAllByNameNotNull())
+            .isInstanceOf(InvalidDataAccessApiUsageException.class);
+
+        Long count = operations.runInTransaction(() -> {
+            try (Stream<BasicUser> stream = repository.readAllByNameNotNull()) {
+                return stream.count();
+            }
+        });
+        assertThat(count).isEqualTo(3L);
+    }
+
+    @Test
+    public void streamInsideReadOnlyTransaction() {
+
+        repository.saveAll(RandomData.randomUsers(3));
+
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+
+        Long count = readOnlyTemplate.execute(status -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+            try (Stream<BasicUser> stream = repository.readAllByNameNotNull()) {
+                return stream.count();
+            }
+        });
+        assertThat(count).isEqualTo(3L);
+
+        List<BasicUser> users = readOnlyTemplate.execute(status -> {
+            try (Stream<BasicUser> stream = repository.streamAll()) {
+                return stream.collect(Collectors.toList());
+            }
+        });
+        assertThat(users).hasSize(3);
+
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(operations.transaction().active()).isFalse();
+    }
+
     private interface SampleEntityRepository extends RequeryRepository<BasicUser, Long> {
 
         @Query("select * from basic_user u where u.email = ?")
         @Transactional(readOnly = true)
         BasicUser findByAnnotatedQuery(String email);
 
+        CompletableFuture<List<BasicUser>> findByEmail(String email);
+
+        CompletableFuture<Page<BasicUser>> findByIdNotNull(Pageable pageable);
+
+        @QueryHints(maxRows = 2)
+        List<BasicUser> findByEmailNotNull();
+
+        @QueryHints(maxRows = 3)
+        @Override
+        List<BasicUser> findAll();
+
+        Stream<BasicUser> readAllByNameNotNull();
+
+        /**
+         * 수행한 thread 의 이름과 transaction 진행 여부를 반환합니다.
+         */
+        @Transactional(readOnly = true)
+        default CompletableFuture<Map.Entry<String, Boolean>> findExecutingThreadAsync() {
+            return CompletableFuture.completedFuture(
+                new AbstractMap.SimpleImmutableEntry<>(Thread.currentThread().getName(),
+                                                       TransactionSynchronizationManager.isActualTransactionActive()));
+        }
     }
 
     private interface GroupEntityRepository extends RequeryRepository<BasicGroup, Integer> {
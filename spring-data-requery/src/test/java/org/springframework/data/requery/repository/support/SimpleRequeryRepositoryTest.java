@@ -16,7 +16,10 @@
 
 package org.springframework.data.requery.repository.support;
 
+import io.requery.PreDelete;
+import io.requery.meta.Attribute;
 import io.requery.meta.EntityModel;
+import io.requery.meta.Type;
 import io.requery.sql.EntityDataStore;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,9 +29,19 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.data.requery.core.RequeryOperations;
 import org.springframework.data.requery.domain.basic.BasicUser;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -67,4 +80,53 @@ public class SimpleRequeryRepositoryTest {
         // repo.findAll(PageRequest.of(2, 10));
     }
 
+    @Test
+    public void deleteAllByIdsForEntityWithoutDeleteCallbacks() {
+        SimpleRequeryRepository<PlainEntity, Long> plainRepo = createRepository(PlainEntity.class);
+        List<PlainEntity> entities = Arrays.asList(new PlainEntity(), new PlainEntity());
+
+        plainRepo.deleteAll(entities);
+
+        verify(operations).deleteAllById(eq(PlainEntity.class), any());
+        verify(operations, never()).deleteAll(entities);
+    }
+
+    @Test
+    public void deleteAllThroughEntityDataStoreForEntityWithDeleteCallbacks() {
+        SimpleRequeryRepository<CallbackEntity, Long> callbackRepo = createRepository(CallbackEntity.class);
+        List<CallbackEntity> entities = Arrays.asList(new CallbackEntity(), new CallbackEntity());
+
+        callbackRepo.deleteAll(entities);
+        callbackRepo.deleteInBatch(entities);
+
+        verify(operations, never()).deleteAllById(any(), any());
+        verify(operations, times(2)).deleteAll(entities);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> SimpleRequeryRepository<E, Long> createRepository(final Class<E> domainClass) {
+        RequeryEntityInformation<E, Long> entityInformation = mock(RequeryEntityInformation.class);
+        when(entityInformation.getJavaType()).thenReturn(domainClass);
+        when(entityInformation.getId(any())).thenReturn(1L, 2L);
+
+        // 단일 key 만 가진 entity 수형
+        Attribute<E, Long> keyAttribute = mock(Attribute.class);
+        Type<E> type = mock(Type.class);
+        doReturn(Collections.singleton(keyAttribute)).when(type).getKeyAttributes();
+        doReturn(Collections.singleton(keyAttribute)).when(type).getAttributes();
+        doReturn(type).when(entityModel).typeOf(domainClass);
+
+        return new SimpleRequeryRepository<>(entityInformation, operations);
+    }
+
+    static class PlainEntity {
+    }
+
+    static class CallbackEntity {
+
+        @PreDelete
+        public void onPreDelete() {
+        }
+    }
+
 }
@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -50,4 +51,17 @@ public class IterablesTest {
         Set<Integer> set = Iterables.toSet(numbers);
         assertThat(set).hasSize(5).containsAll(numbers);
     }
+
+    @Test
+    public void chunkedIterable() {
+        Iterable<Integer> numbers = Arrays.asList(1, 2, 3, 4, 5);
+
+        List<List<Integer>> chunks = Iterables.chunked(numbers, 2);
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.get(0)).containsExactly(1, 2);
+        assertThat(chunks.get(2)).containsExactly(5);
+
+        assertThat(Iterables.chunked(numbers, 0)).hasSize(1);
+        assertThat(Iterables.chunked(Collections.emptyList(), 2)).isEmpty();
+    }
 }